@@ -0,0 +1,243 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi.benchmark;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Simple micro-benchmark harness that measures duration of an operation on the current thread.
+ * <p>
+ * Each benchmark first executes the measured operation for the specified count of warm up batches
+ * so the JIT compiler has a chance to compile it, and then measures duration of the specified
+ * count of batches. Each batch executes the operation for the specified count of times, so also
+ * very short operations may be measured with reasonable precision via {@link System#nanoTime()}.
+ *
+ * <pre>
+ * final BenchmarkResult result = new Benchmark("delegate.isPaused")
+ *         .warmUpBatches(10)
+ *         .measuredBatches(50)
+ *         .operationsPerBatch(10_000)
+ *         .run(new Benchmark.Operation() {
+ *             &#64;Override public void execute() {
+ *                 delegate.isPaused();
+ *             }
+ *         });
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see BenchmarkReport
+ */
+public final class Benchmark {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "Benchmark";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Operation of which duration is measured by {@link Benchmark}.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface Operation {
+
+		/**
+		 * Executes this operation once.
+		 *
+		 * @throws Exception If execution of the operation fails.
+		 */
+		void execute() throws Exception;
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Value updated by results of measured operations so the JIT compiler cannot eliminate them.
+	 */
+	private static volatile int sink;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Name of this benchmark.
+	 */
+	private final String name;
+
+	/**
+	 * Count of batches executed before measurement.
+	 */
+	private int warmUpBatches = 5;
+
+	/**
+	 * Count of measured batches.
+	 */
+	private int measuredBatches = 20;
+
+	/**
+	 * Count of operations executed within a single batch.
+	 */
+	private int operationsPerBatch = 1000;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of Benchmark with the specified <var>name</var>.
+	 *
+	 * @param name Name of the benchmark used in its result.
+	 */
+	public Benchmark(@NonNull final String name) {
+		this.name = name;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Consumes the given <var>value</var> so the JIT compiler cannot eliminate its computation.
+	 *
+	 * @param value The value to consume. May be {@code null}.
+	 */
+	public static void consume(final Object value) {
+		sink += value == null ? 0 : 1;
+	}
+
+	/**
+	 * Consumes the given boolean <var>value</var> so the JIT compiler cannot eliminate its computation.
+	 *
+	 * @param value The value to consume.
+	 */
+	public static void consume(final boolean value) {
+		sink += value ? 1 : 0;
+	}
+
+	/**
+	 * Specifies count of batches to be executed before measurement.
+	 *
+	 * @param batches The desired count of warm up batches.
+	 * @return This benchmark to allow methods chaining.
+	 */
+	public Benchmark warmUpBatches(@IntRange(from = 0) final int batches) {
+		this.warmUpBatches = batches;
+		return this;
+	}
+
+	/**
+	 * Specifies count of batches to be measured.
+	 *
+	 * @param batches The desired count of measured batches.
+	 * @return This benchmark to allow methods chaining.
+	 */
+	public Benchmark measuredBatches(@IntRange(from = 1) final int batches) {
+		this.measuredBatches = batches;
+		return this;
+	}
+
+	/**
+	 * Specifies count of operations to be executed within a single batch.
+	 *
+	 * @param operations The desired count of operations per batch.
+	 * @return This benchmark to allow methods chaining.
+	 */
+	public Benchmark operationsPerBatch(@IntRange(from = 1) final int operations) {
+		this.operationsPerBatch = operations;
+		return this;
+	}
+
+	/**
+	 * Runs this benchmark for the given <var>operation</var>.
+	 *
+	 * @param operation The operation of which duration to measure.
+	 * @return Result of this benchmark.
+	 * @throws Exception If execution of the operation fails.
+	 */
+	@NonNull public BenchmarkResult run(@NonNull final Operation operation) throws Exception {
+		for (int i = 0; i < warmUpBatches; i++) {
+			runBatch(operation);
+		}
+		final double[] nanosPerOperation = new double[measuredBatches];
+		for (int i = 0; i < measuredBatches; i++) {
+			nanosPerOperation[i] = (double) runBatch(operation) / operationsPerBatch;
+		}
+		Arrays.sort(nanosPerOperation);
+		double sum = 0;
+		for (final double nanos : nanosPerOperation) {
+			sum += nanos;
+		}
+		return new BenchmarkResult(
+				name,
+				(long) measuredBatches * operationsPerBatch,
+				sum / measuredBatches,
+				nanosPerOperation[0],
+				percentile(nanosPerOperation, 50),
+				percentile(nanosPerOperation, 90)
+		);
+	}
+
+	/**
+	 * Executes a single batch of the given <var>operation</var>.
+	 *
+	 * @param operation The operation to execute.
+	 * @return Duration of the batch in nanoseconds.
+	 * @throws Exception If execution of the operation fails.
+	 */
+	private long runBatch(final Operation operation) throws Exception {
+		final long start = System.nanoTime();
+		for (int i = 0; i < operationsPerBatch; i++) {
+			operation.execute();
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Returns the specified <var>percentile</var> of the given sorted <var>values</var>.
+	 *
+	 * @param values     The sorted values.
+	 * @param percentile The desired percentile.
+	 * @return Value of the percentile.
+	 */
+	private static double percentile(final double[] values, final int percentile) {
+		final int index = (int) Math.ceil(percentile / 100d * values.length) - 1;
+		return values[Math.max(0, Math.min(values.length - 1, index))];
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,211 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi.benchmark;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Report collecting {@link BenchmarkResult BenchmarkResults} which may be written as JSON file,
+ * so results of benchmarks may be compared between releases.
+ * <p>
+ * Reports are written into directory specified via {@link #PROPERTY_REPORTS_DIR} system property
+ * or into {@code build/reports/benchmarks} if not specified. Format of the written file is:
+ * <pre>
+ * {
+ *   "suite": "UniversiContextDelegateBenchmarkTest",
+ *   "timestamp": 1530000000000,
+ *   "benchmarks": [
+ *     {"name": "...", "operations": 1000, "meanNanos": 1.5, "minNanos": 1.2, "medianNanos": 1.4, "p90Nanos": 1.9}
+ *   ]
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class BenchmarkReport {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "BenchmarkReport";
+
+	/**
+	 * Name of the system property specifying directory into which should be reports written.
+	 */
+	public static final String PROPERTY_REPORTS_DIR = "universi.benchmark.reportsDir";
+
+	/**
+	 * Default directory into which are reports written.
+	 */
+	private static final String DEFAULT_REPORTS_DIR = "build/reports/benchmarks";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Name of the suite of benchmarks of which results are collected by this report.
+	 */
+	private final String suite;
+
+	/**
+	 * List containing all collected results.
+	 */
+	private final List<BenchmarkResult> results = new ArrayList<>();
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of BenchmarkReport for the specified <var>suite</var>.
+	 *
+	 * @param suite Name of the suite of benchmarks. Also used as name of the report file.
+	 */
+	public BenchmarkReport(@NonNull final String suite) {
+		this.suite = suite;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Adds the given <var>result</var> into this report.
+	 *
+	 * @param result The desired result to add.
+	 */
+	public synchronized void add(@NonNull final BenchmarkResult result) {
+		this.results.add(result);
+	}
+
+	/**
+	 * Returns a copy of all results collected by this report.
+	 *
+	 * @return List of collected results.
+	 */
+	@NonNull public synchronized List<BenchmarkResult> getResults() {
+		return new ArrayList<>(results);
+	}
+
+	/**
+	 * Writes this report as JSON file named by its suite into the reports directory.
+	 *
+	 * @return The written file.
+	 * @throws IOException If writing of the report fails.
+	 *
+	 * @see #PROPERTY_REPORTS_DIR
+	 */
+	@NonNull public File write() throws IOException {
+		final File directory = new File(System.getProperty(PROPERTY_REPORTS_DIR, DEFAULT_REPORTS_DIR));
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new IOException("Failed to create reports directory(" + directory + ").");
+		}
+		final File file = new File(directory, suite + ".json");
+		final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writer.write(toJson());
+		} finally {
+			writer.close();
+		}
+		return file;
+	}
+
+	/**
+	 * Creates JSON representation of this report.
+	 *
+	 * @return This report as JSON.
+	 */
+	@NonNull public synchronized String toJson() {
+		final StringBuilder json = new StringBuilder(128 + results.size() * 128);
+		json.append("{\n");
+		json.append("  \"suite\": ").append(quote(suite)).append(",\n");
+		json.append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n");
+		json.append("  \"benchmarks\": [");
+		for (int i = 0; i < results.size(); i++) {
+			final BenchmarkResult result = results.get(i);
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append(String.format(
+					Locale.US,
+					"    {\"name\": %s, \"operations\": %d, \"meanNanos\": %.3f, \"minNanos\": %.3f, \"medianNanos\": %.3f, \"p90Nanos\": %.3f}",
+					quote(result.name),
+					result.operations,
+					result.meanNanos,
+					result.minNanos,
+					result.medianNanos,
+					result.p90Nanos
+			));
+		}
+		json.append(results.isEmpty() ? "]\n" : "\n  ]\n");
+		json.append("}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Quotes the given <var>value</var> as JSON string.
+	 *
+	 * @param value The value to quote.
+	 * @return Quoted value.
+	 */
+	private static String quote(final String value) {
+		final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			final char character = value.charAt(i);
+			switch (character) {
+				case '"':
+				case '\\':
+					quoted.append('\\').append(character);
+					break;
+				case '\n':
+					quoted.append("\\n");
+					break;
+				default:
+					if (character < 0x20) quoted.append(String.format(Locale.US, "\\u%04x", (int) character));
+					else quoted.append(character);
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,125 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi.benchmark;
+
+import android.support.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Immutable result of a single {@link Benchmark} run. All durations are in nanoseconds per a single
+ * operation.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class BenchmarkResult {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "BenchmarkResult";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Name of the benchmark.
+	 */
+	public final String name;
+
+	/**
+	 * Total count of measured operations.
+	 */
+	public final long operations;
+
+	/**
+	 * Mean duration of an operation.
+	 */
+	public final double meanNanos;
+
+	/**
+	 * Minimum duration of an operation.
+	 */
+	public final double minNanos;
+
+	/**
+	 * Median duration of an operation.
+	 */
+	public final double medianNanos;
+
+	/**
+	 * 90th percentile of duration of an operation.
+	 */
+	public final double p90Nanos;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of BenchmarkResult with the specified measured values.
+	 */
+	BenchmarkResult(
+			final String name,
+			final long operations,
+			final double meanNanos,
+			final double minNanos,
+			final double medianNanos,
+			final double p90Nanos
+	) {
+		this.name = name;
+		this.operations = operations;
+		this.meanNanos = meanNanos;
+		this.minNanos = minNanos;
+		this.medianNanos = medianNanos;
+		this.p90Nanos = p90Nanos;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override @NonNull public String toString() {
+		return String.format(
+				Locale.US,
+				"%s: mean=%.1fns, min=%.1fns, median=%.1fns, p90=%.1fns (%d ops)",
+				name, meanNanos, minNanos, medianNanos, p90Nanos, operations
+		);
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,120 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.view.Menu;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.robolectric.Robolectric;
+import org.robolectric.fakes.RoboMenu;
+
+import universum.studios.android.fragment.annotation.FragmentAnnotations;
+import universum.studios.android.fragment.annotation.MenuOptions;
+import universum.studios.android.test.local.RobolectricTestCase;
+import universum.studios.android.universi.benchmark.Benchmark;
+import universum.studios.android.universi.benchmark.BenchmarkReport;
+import universum.studios.android.universi.benchmark.R;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class UniversiActivityBenchmarkTest extends RobolectricTestCase {
+
+	private static final BenchmarkReport REPORT = new BenchmarkReport(UniversiActivityBenchmarkTest.class.getSimpleName());
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		FragmentAnnotations.setEnabled(true);
+		AnnotationHandlerCache.clear();
+		OptionsMenuCache.release();
+	}
+
+	@AfterClass public static void writeReport() throws Exception {
+		REPORT.write();
+	}
+
+	@Test public void benchmarkAnnotationHandlerCreationCold() throws Exception {
+		final TestActivity activity = new TestActivity();
+		REPORT.add(new Benchmark("activity.onCreateAnnotationHandler[cold]").operationsPerBatch(100).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				AnnotationHandlerCache.clear();
+				Benchmark.consume(activity.onCreateAnnotationHandler());
+			}
+		}));
+	}
+
+	@Test public void benchmarkAnnotationHandlerCreationCached() throws Exception {
+		final TestActivity activity = new TestActivity();
+		REPORT.add(new Benchmark("activity.onCreateAnnotationHandler[cached]").operationsPerBatch(10000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				Benchmark.consume(activity.onCreateAnnotationHandler());
+			}
+		}));
+	}
+
+	@Test public void benchmarkActivityInstantiation() throws Exception {
+		REPORT.add(new Benchmark("activity.<init>").operationsPerBatch(100).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				Benchmark.consume(new TestActivity());
+			}
+		}));
+	}
+
+	@Test public void benchmarkRequestBindData() throws Exception {
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().resume().get();
+		REPORT.add(new Benchmark("activity.requestBindData[main thread]").operationsPerBatch(1000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				activity.requestBindData();
+			}
+		}));
+	}
+
+	@Test public void benchmarkOnCreateOptionsMenu() throws Exception {
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().resume().get();
+		final Menu menu = new RoboMenu(activity);
+		REPORT.add(new Benchmark("activity.onCreateOptionsMenu[inflated]").operationsPerBatch(100).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				menu.clear();
+				Benchmark.consume(activity.onCreateOptionsMenu(menu));
+			}
+		}));
+	}
+
+	@Test public void benchmarkOnCreateOptionsMenuWithCaching() throws Exception {
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().resume().get();
+		activity.setOptionsMenuCachingEnabled(true);
+		final Menu menu = new RoboMenu(activity);
+		REPORT.add(new Benchmark("activity.onCreateOptionsMenu[cached]").operationsPerBatch(100).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				menu.clear();
+				Benchmark.consume(activity.onCreateOptionsMenu(menu));
+			}
+		}));
+	}
+
+	@MenuOptions(R.menu.benchmark_options)
+	public static final class TestActivity extends UniversiActivity {}
+}
@@ -0,0 +1,124 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.DialogFragment;
+import android.app.FragmentManager;
+import android.support.annotation.NonNull;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.Robolectric;
+
+import universum.studios.android.dialog.manage.DialogFactory;
+import universum.studios.android.test.local.RobolectricTestCase;
+import universum.studios.android.test.local.TestActivity;
+import universum.studios.android.universi.benchmark.Benchmark;
+import universum.studios.android.universi.benchmark.BenchmarkReport;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class UniversiContextDelegateBenchmarkTest extends RobolectricTestCase {
+
+	private static final BenchmarkReport REPORT = new BenchmarkReport(UniversiContextDelegateBenchmarkTest.class.getSimpleName());
+
+	@AfterClass public static void writeReport() throws Exception {
+		REPORT.write();
+	}
+
+	@Test public void benchmarkPrivateFlags() throws Exception {
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(Robolectric.setupActivity(TestActivity.class));
+		REPORT.add(new Benchmark("delegate.setPaused+isPaused").operationsPerBatch(10000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				delegate.setPaused(true);
+				Benchmark.consume(delegate.isPaused());
+				delegate.setPaused(false);
+			}
+		}));
+	}
+
+	@Test public void benchmarkRequestFlags() throws Exception {
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(Robolectric.setupActivity(TestActivity.class));
+		REPORT.add(new Benchmark("delegate.registerRequest+unregisterRequest").operationsPerBatch(10000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				delegate.registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
+				Benchmark.consume(delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA));
+				delegate.unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
+			}
+		}));
+	}
+
+	@Test public void benchmarkDirtyDataSections() throws Exception {
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(Robolectric.setupActivity(TestActivity.class));
+		REPORT.add(new Benchmark("delegate.markDataSectionsDirty+consume").operationsPerBatch(10000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				delegate.markDataSectionsDirty(0x00000001);
+				Benchmark.consume(delegate.consumeDirtyDataSections());
+			}
+		}));
+	}
+
+	@Test public void benchmarkShowAndDismissDialog() throws Exception {
+		final TestActivity activity = Robolectric.setupActivity(TestActivity.class);
+		final FragmentManager fragmentManager = activity.getFragmentManager();
+		final DialogFactory mockFactory = mock(DialogFactory.class, withSettings().stubOnly());
+		when(mockFactory.isDialogProvided(1)).thenReturn(true);
+		when(mockFactory.createDialogTag(1)).thenReturn("Dialog.TAG.1");
+		when(mockFactory.createDialog(1, null)).thenAnswer(new Answer<DialogFragment>() {
+
+			@Override public DialogFragment answer(@NonNull final InvocationOnMock invocation) {
+				return new DialogFragment();
+			}
+		});
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(activity);
+		delegate.setDialogFactory(mockFactory);
+		REPORT.add(new Benchmark("delegate.showDialogWithId+dismissDialogWithId").operationsPerBatch(100).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				Benchmark.consume(delegate.showDialogWithId(1, null));
+				fragmentManager.executePendingTransactions();
+				Benchmark.consume(delegate.dismissDialogWithId(1));
+				fragmentManager.executePendingTransactions();
+			}
+		}));
+	}
+
+	@Test public void benchmarkDeferredShowDialog() throws Exception {
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(Robolectric.setupActivity(TestActivity.class));
+		delegate.setDialogFactory(mock(DialogFactory.class, withSettings().stubOnly()));
+		delegate.setDialogRequestsDeferralEnabled(true);
+		delegate.setPaused(true);
+		REPORT.add(new Benchmark("delegate.showDialogWithId[paused]").operationsPerBatch(1000).run(new Benchmark.Operation() {
+
+			@Override public void execute() {
+				Benchmark.consume(delegate.showDialogWithId(1, null));
+			}
+		}));
+	}
+}
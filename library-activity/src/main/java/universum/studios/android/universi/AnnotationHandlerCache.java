@@ -0,0 +1,279 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2017 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Activity;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import universum.studios.android.fragment.annotation.FragmentAnnotations;
+import universum.studios.android.fragment.annotation.handler.ActionBarAnnotationHandlers;
+import universum.studios.android.fragment.annotation.handler.ActionBarFragmentAnnotationHandler;
+
+/**
+ * Process-wide cache of annotation handlers of Universi activities keyed by class of the activities,
+ * so annotations of each activity class are processed only once.
+ * <p>
+ * Handlers for activities which are expected to be launched soon after start of the application,
+ * may be resolved ahead on a background thread via {@link #warmUp(Class[])}, ideally from
+ * {@code Application.onCreate()}, so their launch does not need to wait for processing of their
+ * annotations on the main thread. Count of handlers that have been resolved cold and count of
+ * handlers that have been served from the cache may be obtained via {@link #getColdCount()} and
+ * {@link #getCachedCount()}.
+ * <p>
+ * Handlers may be also supplied without any reflection at all by registering a {@link HandlerFactory}
+ * for an activity class via {@link #registerHandlerFactory(Class, HandlerFactory)}, ideally from
+ * code generated at compile time or from {@code Application.onCreate()}. Handlers for such classes
+ * are created via their registered factory instead of processing of the class annotations and their
+ * count may be obtained via {@link #getRegisteredCount()}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class AnnotationHandlerCache {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "AnnotationHandlerCache";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Factory which may be registered via {@link #registerHandlerFactory(Class, HandlerFactory)} in
+	 * order to supply annotation handler for a specific activity class without reflective processing
+	 * of annotations of that class.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface HandlerFactory {
+
+		/**
+		 * Creates a new annotation handler for the activity class for which has been this factory
+		 * registered.
+		 * <p>
+		 * <b>Note</b> that this may be invoked on a background thread when handlers are being warmed
+		 * up via {@link #warmUp(Executor, Class[])}.
+		 *
+		 * @return Annotation handler with values of the activity class.
+		 */
+		@NonNull ActionBarFragmentAnnotationHandler createHandler();
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Map holding the resolved handlers keyed by class of their activity.
+	 */
+	private static final ConcurrentHashMap<Class<?>, ActionBarFragmentAnnotationHandler> HANDLERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Map holding the registered handler factories keyed by class of their activity.
+	 */
+	private static final ConcurrentHashMap<Class<?>, HandlerFactory> FACTORIES = new ConcurrentHashMap<>();
+
+	/**
+	 * Count of handlers resolved cold, that is by processing of annotations of their activity class.
+	 */
+	private static final AtomicInteger COLD_COUNT = new AtomicInteger();
+
+	/**
+	 * Count of handlers served from the cache.
+	 */
+	private static final AtomicInteger CACHED_COUNT = new AtomicInteger();
+
+	/**
+	 * Count of handlers created via their registered factories.
+	 */
+	private static final AtomicInteger REGISTERED_COUNT = new AtomicInteger();
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private AnnotationHandlerCache() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Registers the given <var>factory</var> for the specified <var>activityClass</var>, so annotation
+	 * handler for that class is created via the factory instead of reflective processing of the class
+	 * annotations. Any handler already cached for the class is discarded, so the next request for it
+	 * is served by the registered factory.
+	 *
+	 * @param activityClass Class of the activity for which to register the factory.
+	 * @param factory       The factory that should create handler for the activity class.
+	 */
+	public static void registerHandlerFactory(@NonNull final Class<? extends Activity> activityClass, @NonNull final HandlerFactory factory) {
+		FACTORIES.put(activityClass, factory);
+		HANDLERS.remove(activityClass);
+	}
+
+	/**
+	 * Obtains the annotation handler for the specified <var>activityClass</var>. The handler is
+	 * resolved if it is not cached yet.
+	 *
+	 * @param activityClass Class of the activity for which to obtain its annotation handler.
+	 * @return Annotation handler for the requested class or {@code null} if annotations processing
+	 * is not enabled.
+	 */
+	@Nullable public static ActionBarFragmentAnnotationHandler obtainHandler(@NonNull final Class<?> activityClass) {
+		if (!FragmentAnnotations.isEnabled()) {
+			return null;
+		}
+		final ActionBarFragmentAnnotationHandler cachedHandler = HANDLERS.get(activityClass);
+		if (cachedHandler != null) {
+			CACHED_COUNT.incrementAndGet();
+			return cachedHandler;
+		}
+		return resolveHandler(activityClass);
+	}
+
+	/**
+	 * Resolves the annotation handler for the specified <var>activityClass</var> and stores it into
+	 * the cache. The handler is created via factory registered for the class, if any, otherwise by
+	 * processing of the class annotations. If there is already handler cached for the class, the
+	 * cached one is returned.
+	 *
+	 * @param activityClass Class of the activity for which to resolve its annotation handler.
+	 * @return Resolved annotation handler or {@code null} if annotations processing is not enabled.
+	 */
+	private static ActionBarFragmentAnnotationHandler resolveHandler(final Class<?> activityClass) {
+		final HandlerFactory factory = FACTORIES.get(activityClass);
+		final ActionBarFragmentAnnotationHandler handler;
+		if (factory == null) {
+			handler = ActionBarAnnotationHandlers.obtainActionBarFragmentHandler(activityClass);
+			if (handler == null) {
+				return null;
+			}
+			COLD_COUNT.incrementAndGet();
+		} else {
+			handler = factory.createHandler();
+			REGISTERED_COUNT.incrementAndGet();
+		}
+		final ActionBarFragmentAnnotationHandler cachedHandler = HANDLERS.putIfAbsent(activityClass, handler);
+		return cachedHandler == null ? handler : cachedHandler;
+	}
+
+	/**
+	 * Same as {@link #warmUp(Executor, Class[])} with {@link UniversiExecutors#background()} executor.
+	 */
+	@SafeVarargs public static void warmUp(@NonNull final Class<? extends Activity>... activityClasses) {
+		warmUp(UniversiExecutors.background(), activityClasses);
+	}
+
+	/**
+	 * Resolves annotation handlers for the specified <var>activityClasses</var> via the given
+	 * <var>executor</var>, so the handlers are served from the cache when the activities are being
+	 * launched. Classes for which are the handlers already cached are skipped.
+	 *
+	 * @param executor        The executor used to resolve the handlers.
+	 * @param activityClasses Classes of the activities for which to resolve their handlers.
+	 */
+	@SafeVarargs public static void warmUp(@NonNull final Executor executor, @NonNull final Class<? extends Activity>... activityClasses) {
+		if (activityClasses.length == 0 || !FragmentAnnotations.isEnabled()) {
+			return;
+		}
+		final Class<?>[] classes = activityClasses.clone();
+		executor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				for (final Class<?> activityClass : classes) {
+					if (!HANDLERS.containsKey(activityClass)) resolveHandler(activityClass);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the count of handlers that have been resolved cold, that is by processing of annotations
+	 * of their activity class, including handlers resolved via {@link #warmUp(Class[])}.
+	 *
+	 * @return Count of cold resolutions.
+	 *
+	 * @see #getCachedCount()
+	 */
+	public static int getColdCount() {
+		return COLD_COUNT.get();
+	}
+
+	/**
+	 * Returns the count of requests for handlers that have been served from the cache.
+	 *
+	 * @return Count of cache hits.
+	 *
+	 * @see #getColdCount()
+	 */
+	public static int getCachedCount() {
+		return CACHED_COUNT.get();
+	}
+
+	/**
+	 * Returns the count of handlers that have been created via factories registered via
+	 * {@link #registerHandlerFactory(Class, HandlerFactory)}. Such handlers are not included in
+	 * {@link #getColdCount()}.
+	 *
+	 * @return Count of handlers created without reflection.
+	 */
+	public static int getRegisteredCount() {
+		return REGISTERED_COUNT.get();
+	}
+
+	/**
+	 * Clears all cached handlers, registered factories and resets the counters.
+	 */
+	@VisibleForTesting static void clear() {
+		HANDLERS.clear();
+		FACTORIES.clear();
+		COLD_COUNT.set(0);
+		CACHED_COUNT.set(0);
+		REGISTERED_COUNT.set(0);
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,582 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2017 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.XmlResourceParser;
+import android.support.annotation.MenuRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+import android.util.LruCache;
+import android.util.SparseIntArray;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.SubMenu;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application-scoped cache of parsed options menu descriptions shared by all Universi activities,
+ * so menu Xml files are not parsed again whenever options menu of an activity is invalidated.
+ * <p>
+ * Each menu resource is parsed only once into a lightweight description from which are the menu
+ * items then rebuilt via {@link #inflate(int, Menu)}. Titles and icons are kept as resource ids, so
+ * they are resolved by the target menu. Only menus that use the common subset of menu attributes
+ * (ids, titles, icons, ordering, categories, visibility, enabled and checkable states and
+ * {@code showAsAction}), groups and sub-menus may be cached. For menus using any other attribute
+ * {@link #inflate(int, Menu)} returns {@code false} and such menus should be inflated via
+ * {@link android.view.MenuInflater MenuInflater} as usual.
+ * <p>
+ * Count of cached descriptions is bounded via LRU policy and the cache is invalidated whenever
+ * configuration of the application changes, so menus declared with configuration qualifiers are
+ * parsed again. Count of cache hits and misses may be obtained via {@link #getHitCount()} and
+ * {@link #getMissCount()}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class OptionsMenuCache {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "OptionsMenuCache";
+
+	/**
+	 * Maximum count of menu descriptions that may be held by the cache.
+	 */
+	private static final int MAX_SIZE = 32;
+
+	/**
+	 * Namespace of the Android framework attributes.
+	 */
+	private static final String NAMESPACE_ANDROID = "http://schemas.android.com/apk/res/android";
+
+	/**
+	 * Namespace of the application attributes.
+	 */
+	private static final String NAMESPACE_APP = "http://schemas.android.com/apk/res-auto";
+
+	/**
+	 * Value of {@code checkableBehavior} attribute of a group with exclusively checkable items.
+	 */
+	private static final int CHECKABLE_BEHAVIOR_SINGLE = 2;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize access to the {@link #instance}.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Application-scoped instance of the cache.
+	 */
+	private static OptionsMenuCache instance;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Context used to access resources of the cached menus.
+	 */
+	private final Context context;
+
+	/**
+	 * Cache holding the parsed descriptions keyed by resource id of their menu.
+	 */
+	private final LruCache<Integer, MenuDescription> descriptions = new LruCache<Integer, MenuDescription>(MAX_SIZE) {
+
+		/**
+		 */
+		@Override protected MenuDescription create(final Integer resource) {
+			return parseDescription(context.getResources(), resource);
+		}
+	};
+
+	/**
+	 * Callbacks used to invalidate the cache whenever configuration of the application changes.
+	 */
+	private final ComponentCallbacks componentCallbacks = new ComponentCallbacks() {
+
+		/**
+		 */
+		@Override public void onConfigurationChanged(final Configuration newConfig) {
+			evictAll();
+		}
+
+		/**
+		 */
+		@Override public void onLowMemory() {
+			evictAll();
+		}
+	};
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of OptionsMenuCache with the specified <var>context</var>.
+	 *
+	 * @param context The context used to access resources of the cached menus.
+	 */
+	private OptionsMenuCache(final Context context) {
+		this.context = context;
+		this.context.registerComponentCallbacks(componentCallbacks);
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Obtains the application-scoped instance of OptionsMenuCache.
+	 *
+	 * @param context Context used to access the application context if the cache is not created yet.
+	 * @return Options menu cache ready to be used.
+	 */
+	@NonNull public static OptionsMenuCache obtain(@NonNull final Context context) {
+		synchronized (LOCK) {
+			if (instance == null) {
+				final Context applicationContext = context.getApplicationContext();
+				instance = new OptionsMenuCache(applicationContext == null ? context : applicationContext);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Releases the application-scoped instance of OptionsMenuCache (if created).
+	 */
+	@VisibleForTesting static void release() {
+		synchronized (LOCK) {
+			if (instance != null) {
+				instance.context.unregisterComponentCallbacks(instance.componentCallbacks);
+				instance.evictAll();
+				instance = null;
+			}
+		}
+	}
+
+	/**
+	 * Adds items described by the menu with the specified <var>resource</var> into the given
+	 * <var>menu</var>. The menu resource is parsed if its description is not cached yet.
+	 *
+	 * @param resource    Resource id of the desired menu.
+	 * @param menu        The menu into which to add the items.
+	 * @param supportMenu {@code True} if the menu is menu of support library (that is, options menu
+	 *                    of AppCompat activity), so application attributes should be used where
+	 *                    appropriate, {@code false} otherwise.
+	 * @return {@code True} if the items have been added, {@code false} if the requested menu cannot
+	 * be cached and it should be inflated via {@link android.view.MenuInflater MenuInflater}.
+	 */
+	public boolean inflate(@MenuRes final int resource, @NonNull final Menu menu, final boolean supportMenu) {
+		final MenuDescription description = descriptions.get(resource);
+		if (description.cacheable) {
+			description.applyTo(menu, supportMenu);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Parses description of the menu with the specified <var>resource</var>.
+	 *
+	 * @param resources Resources used to access the menu.
+	 * @param resource  Resource id of the menu to parse.
+	 * @return Parsed description. Description of menu which cannot be cached is marked as such.
+	 */
+	@VisibleForTesting static MenuDescription parseDescription(final Resources resources, final int resource) {
+		final MenuDescription description = new MenuDescription();
+		final XmlResourceParser parser = resources.getXml(resource);
+		try {
+			int eventType = parser.getEventType();
+			while (eventType != XmlPullParser.START_TAG && eventType != XmlPullParser.END_DOCUMENT) {
+				eventType = parser.next();
+			}
+			if (eventType == XmlPullParser.START_TAG && "menu".equals(parser.getName())) {
+				parseMenu(resources, parser, description, description);
+			} else {
+				description.cacheable = false;
+			}
+		} catch (XmlPullParserException | IOException e) {
+			// Let the menu be inflated via MenuInflater which will report the error properly.
+			description.cacheable = false;
+		} finally {
+			parser.close();
+		}
+		return description;
+	}
+
+	/**
+	 * Parses content of the {@code menu} tag at which is the given <var>parser</var> positioned
+	 * into the specified <var>menu</var> description.
+	 *
+	 * @param resources Resources used to resolve texts of the menu items.
+	 * @param parser    The parser positioned at start of the menu tag.
+	 * @param menu      The description into which to parse the menu items.
+	 * @param root      The root description which to mark as not cacheable whenever unsupported
+	 *                  attribute or tag is found.
+	 */
+	private static void parseMenu(final Resources resources, final XmlResourceParser parser, final MenuDescription menu, final MenuDescription root) throws XmlPullParserException, IOException {
+		if (!checkAttributes(parser, root)) {
+			return;
+		}
+		final int menuDepth = parser.getDepth();
+		GroupDescription group = new GroupDescription();
+		int eventType = parser.next();
+		while (root.cacheable && eventType != XmlPullParser.END_DOCUMENT && !(eventType == XmlPullParser.END_TAG && parser.getDepth() == menuDepth)) {
+			if (eventType == XmlPullParser.START_TAG) {
+				final String tagName = parser.getName();
+				if ("group".equals(tagName)) {
+					if (!checkAttributes(parser, root)) return;
+					group = parseGroup(parser);
+					if (group.checkableBehavior == CHECKABLE_BEHAVIOR_SINGLE) {
+						menu.exclusiveGroups.put(group.id, group.id);
+					}
+				} else if ("item".equals(tagName)) {
+					if (!checkAttributes(parser, root)) return;
+					final ItemDescription item = parseItem(resources, parser, group);
+					menu.items.add(item);
+					final int itemDepth = parser.getDepth();
+					eventType = parser.next();
+					while (root.cacheable && eventType != XmlPullParser.END_DOCUMENT && !(eventType == XmlPullParser.END_TAG && parser.getDepth() == itemDepth)) {
+						if (eventType == XmlPullParser.START_TAG) {
+							if ("menu".equals(parser.getName()) && item.subMenu == null) {
+								item.subMenu = new MenuDescription();
+								parseMenu(resources, parser, item.subMenu, root);
+							} else {
+								root.cacheable = false;
+							}
+						}
+						eventType = parser.next();
+					}
+				} else {
+					root.cacheable = false;
+				}
+			} else if (eventType == XmlPullParser.END_TAG && "group".equals(parser.getName())) {
+				group = new GroupDescription();
+			}
+			eventType = parser.next();
+		}
+	}
+
+	/**
+	 * Checks whether all attributes of the current tag of the given <var>parser</var> are supported
+	 * by the cache.
+	 *
+	 * @param parser The parser positioned at start of a tag.
+	 * @param root   The root description which to mark as not cacheable if there is any unsupported
+	 *               attribute.
+	 * @return {@code True} if all attributes are supported, {@code false} otherwise.
+	 */
+	private static boolean checkAttributes(final XmlResourceParser parser, final MenuDescription root) {
+		for (int i = 0; i < parser.getAttributeCount(); i++) {
+			final String namespace = parser.getAttributeNamespace(i);
+			final String name = parser.getAttributeName(i);
+			final String value = parser.getAttributeValue(i);
+			final boolean supported;
+			if (NAMESPACE_ANDROID.equals(namespace)) {
+				switch (name) {
+					case "id":
+					case "title":
+					case "titleCondensed":
+					case "icon":
+					case "orderInCategory":
+					case "menuCategory":
+					case "visible":
+					case "enabled":
+					case "checkable":
+					case "checked":
+					case "checkableBehavior":
+					case "showAsAction":
+						supported = true;
+						break;
+					default:
+						supported = false;
+						break;
+				}
+			} else {
+				supported = NAMESPACE_APP.equals(namespace) && "showAsAction".equals(name);
+			}
+			// Theme attribute references cannot be resolved without the target context.
+			if (!supported || (value != null && value.startsWith("?"))) {
+				root.cacheable = false;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parses group description from the current tag of the given <var>parser</var>.
+	 *
+	 * @param parser The parser positioned at start of a group tag.
+	 * @return Parsed group description.
+	 */
+	private static GroupDescription parseGroup(final XmlResourceParser parser) {
+		final GroupDescription group = new GroupDescription();
+		group.id = parser.getAttributeResourceValue(NAMESPACE_ANDROID, "id", Menu.NONE);
+		group.category = parser.getAttributeIntValue(NAMESPACE_ANDROID, "menuCategory", 0);
+		group.orderInCategory = parser.getAttributeIntValue(NAMESPACE_ANDROID, "orderInCategory", 0);
+		group.checkableBehavior = parser.getAttributeIntValue(NAMESPACE_ANDROID, "checkableBehavior", 0);
+		group.visible = parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "visible", true);
+		group.enabled = parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "enabled", true);
+		return group;
+	}
+
+	/**
+	 * Parses item description from the current tag of the given <var>parser</var>.
+	 *
+	 * @param resources Resources used to resolve the condensed title of the item.
+	 * @param parser    The parser positioned at start of an item tag.
+	 * @param group     Description of the group in which is the item declared.
+	 * @return Parsed item description.
+	 */
+	private static ItemDescription parseItem(final Resources resources, final XmlResourceParser parser, final GroupDescription group) {
+		final ItemDescription item = new ItemDescription();
+		item.groupId = group.id;
+		item.id = parser.getAttributeResourceValue(NAMESPACE_ANDROID, "id", Menu.NONE);
+		final int category = parser.getAttributeIntValue(NAMESPACE_ANDROID, "menuCategory", group.category);
+		final int orderInCategory = parser.getAttributeIntValue(NAMESPACE_ANDROID, "orderInCategory", group.orderInCategory);
+		item.order = (category & Menu.CATEGORY_MASK) | (orderInCategory & Menu.USER_MASK);
+		item.titleRes = parser.getAttributeResourceValue(NAMESPACE_ANDROID, "title", 0);
+		item.title = item.titleRes == 0 ? parser.getAttributeValue(NAMESPACE_ANDROID, "title") : null;
+		final int titleCondensedRes = parser.getAttributeResourceValue(NAMESPACE_ANDROID, "titleCondensed", 0);
+		item.titleCondensed = titleCondensedRes == 0 ?
+				parser.getAttributeValue(NAMESPACE_ANDROID, "titleCondensed") :
+				resources.getText(titleCondensedRes);
+		item.iconRes = parser.getAttributeResourceValue(NAMESPACE_ANDROID, "icon", 0);
+		item.showAsAction = parser.getAttributeIntValue(NAMESPACE_ANDROID, "showAsAction", -1);
+		item.compatShowAsAction = parser.getAttributeIntValue(NAMESPACE_APP, "showAsAction", -1);
+		item.checkable = parser.getAttributeValue(NAMESPACE_ANDROID, "checkable") == null ?
+				group.checkableBehavior > 0 :
+				parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "checkable", false);
+		item.checked = parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "checked", false);
+		item.visible = parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "visible", group.visible);
+		item.enabled = parser.getAttributeBooleanValue(NAMESPACE_ANDROID, "enabled", group.enabled);
+		return item;
+	}
+
+	/**
+	 * Returns the count of descriptions currently held by this cache.
+	 *
+	 * @return Count of cached descriptions.
+	 */
+	public int size() {
+		return descriptions.size();
+	}
+
+	/**
+	 * Evicts all descriptions from this cache.
+	 */
+	public void evictAll() {
+		this.descriptions.evictAll();
+	}
+
+	/**
+	 * Returns the count of requests for menus that have been served from this cache.
+	 *
+	 * @return Count of cache hits.
+	 *
+	 * @see #getMissCount()
+	 */
+	public int getHitCount() {
+		return descriptions.hitCount();
+	}
+
+	/**
+	 * Returns the count of requests for menus that required the menu resource to be parsed.
+	 *
+	 * @return Count of cache misses.
+	 *
+	 * @see #getHitCount()
+	 */
+	public int getMissCount() {
+		return descriptions.missCount();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Description of a parsed menu.
+	 */
+	@VisibleForTesting static final class MenuDescription {
+
+		/**
+		 * Descriptions of items of the menu in order in which have been declared.
+		 */
+		final List<ItemDescription> items = new ArrayList<>();
+
+		/**
+		 * Ids of groups of which items are checkable exclusively.
+		 */
+		final SparseIntArray exclusiveGroups = new SparseIntArray(0);
+
+		/**
+		 * Boolean flag indicating whether the menu may be built from this description or it needs
+		 * to be inflated via MenuInflater.
+		 */
+		boolean cacheable = true;
+
+		/**
+		 * Adds items of this description into the given <var>menu</var>.
+		 *
+		 * @param menu        The menu into which to add the items.
+		 * @param supportMenu {@code True} if the menu is menu of support library, so application
+		 *                    attributes should be used where appropriate.
+		 */
+		void applyTo(final Menu menu, final boolean supportMenu) {
+			final MenuItem[] menuItems = new MenuItem[items.size()];
+			for (int i = 0; i < menuItems.length; i++) {
+				final ItemDescription item = items.get(i);
+				final MenuItem menuItem;
+				if (item.subMenu == null) {
+					menuItem = item.titleRes == 0 ?
+							menu.add(item.groupId, item.id, item.order, item.title) :
+							menu.add(item.groupId, item.id, item.order, item.titleRes);
+				} else {
+					final SubMenu subMenu = item.titleRes == 0 ?
+							menu.addSubMenu(item.groupId, item.id, item.order, item.title) :
+							menu.addSubMenu(item.groupId, item.id, item.order, item.titleRes);
+					item.subMenu.applyTo(subMenu, supportMenu);
+					menuItem = subMenu.getItem();
+				}
+				item.applyTo(menuItem, supportMenu);
+				menuItems[i] = menuItem;
+			}
+			// Marking of group as exclusive makes all its items checkable, so checkable states of
+			// the items need to be applied afterwards.
+			for (int i = 0; i < exclusiveGroups.size(); i++) {
+				menu.setGroupCheckable(exclusiveGroups.keyAt(i), true, true);
+			}
+			for (int i = 0; i < menuItems.length; i++) {
+				items.get(i).applyCheckStates(menuItems[i]);
+			}
+		}
+	}
+
+	/**
+	 * Description of a group within parsed menu.
+	 */
+	private static final class GroupDescription {
+
+		/**
+		 * Attributes of the group shared by its items.
+		 */
+		int id = Menu.NONE, category, orderInCategory, checkableBehavior;
+
+		/**
+		 * Visible and enabled states of the group shared by its items.
+		 */
+		boolean visible = true, enabled = true;
+	}
+
+	/**
+	 * Description of an item within parsed menu.
+	 */
+	@VisibleForTesting static final class ItemDescription {
+
+		/**
+		 * Ids and order of the item.
+		 */
+		int groupId, id, order;
+
+		/**
+		 * Resource ids of the title and icon of the item.
+		 */
+		int titleRes, iconRes;
+
+		/**
+		 * Literal title used if its resource id is not specified and resolved condensed title of the item.
+		 */
+		CharSequence title, titleCondensed;
+
+		/**
+		 * Flags specifying how to show the item in action bar or {@code -1} if not specified.
+		 */
+		int showAsAction, compatShowAsAction;
+
+		/**
+		 * States of the item.
+		 */
+		boolean checkable, checked, visible, enabled;
+
+		/**
+		 * Description of sub-menu of the item or {@code null} if the item does not have sub-menu.
+		 */
+		MenuDescription subMenu;
+
+		/**
+		 * Applies attributes of this description, except checkable and checked states, to the given
+		 * <var>menuItem</var>.
+		 *
+		 * @param menuItem    The menu item to which to apply the attributes.
+		 * @param supportMenu {@code True} if the item belongs to a menu of support library.
+		 *
+		 * @see #applyCheckStates(MenuItem)
+		 */
+		void applyTo(final MenuItem menuItem, final boolean supportMenu) {
+			if (titleCondensed != null) {
+				menuItem.setTitleCondensed(titleCondensed);
+			}
+			menuItem.setVisible(visible);
+			menuItem.setEnabled(enabled);
+			if (iconRes != 0) {
+				menuItem.setIcon(iconRes);
+			}
+			final int flags = supportMenu ? compatShowAsAction : showAsAction;
+			if (flags >= 0) {
+				menuItem.setShowAsAction(flags);
+			}
+		}
+
+		/**
+		 * Applies checkable and checked states of this description to the given <var>menuItem</var>.
+		 *
+		 * @param menuItem The menu item to which to apply the states.
+		 */
+		void applyCheckStates(final MenuItem menuItem) {
+			menuItem.setCheckable(checkable);
+			menuItem.setChecked(checked);
+		}
+	}
+}
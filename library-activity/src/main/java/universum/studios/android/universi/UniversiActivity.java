@@ -23,6 +23,7 @@ import android.app.ActionBar;
 import android.app.Activity;
 import android.app.Fragment;
 import android.app.LoaderManager;
+import android.content.ComponentCallbacks2;
 import android.content.Loader;
 import android.content.pm.PackageManager;
 import android.os.Build;
@@ -37,9 +38,13 @@ import android.support.annotation.RequiresApi;
 import android.support.annotation.RequiresPermission;
 import android.support.annotation.UiThread;
 import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
 import android.support.annotation.XmlRes;
 import android.support.v4.app.ActivityCompat;
+import android.support.v4.view.AsyncLayoutInflater;
 import android.view.Menu;
+import android.view.View;
+import android.view.ViewGroup;
 import android.widget.Toolbar;
 
 import universum.studios.android.dialog.DialogOptions;
@@ -48,9 +53,9 @@ import universum.studios.android.dialog.manage.DialogFactory;
 import universum.studios.android.fragment.ActionBarDelegate;
 import universum.studios.android.fragment.BackPressWatcher;
 import universum.studios.android.fragment.annotation.ActionBarOptions;
+import universum.studios.android.fragment.annotation.ContentView;
 import universum.studios.android.fragment.annotation.FragmentAnnotations;
 import universum.studios.android.fragment.annotation.MenuOptions;
-import universum.studios.android.fragment.annotation.handler.ActionBarAnnotationHandlers;
 import universum.studios.android.fragment.annotation.handler.ActionBarFragmentAnnotationHandler;
 import universum.studios.android.fragment.manage.FragmentController;
 import universum.studios.android.fragment.manage.FragmentFactory;
@@ -67,7 +72,8 @@ import universum.studios.android.transition.BaseNavigationalTransition;
  * to be bound to a view hierarchy of a specific instance of UniversiActivity, {@link #requestBindData()}
  * need to be called. <b>This method can be invoked from any thread.</b> If data binding request has
  * been registered, UniversiActivity will invoke {@link #onBindData()} method whenever its view
- * hierarchy is already created or waits until it is created.
+ * hierarchy is already created or waits until it is created. Enter transition of the activity may
+ * be postponed until the first data binding is performed via {@link #postponeEnterTransitionUntilDataBound(long)}.
  *
  * <h3>1) Permissions</h3>
  * This activity class has support for a new permissions management model introduced in the
@@ -81,7 +87,7 @@ import universum.studios.android.transition.BaseNavigationalTransition;
  * @see UniversiCompatActivity
  * @see UniversiFragment
  */
-public abstract class UniversiActivity extends Activity implements UniversiActivityContext {
+public abstract class UniversiActivity extends Activity implements UniversiActivityContext, BackPressWatcherRegistry.Host {
 
 	/*
 	 * Constants ===================================================================================
@@ -116,6 +122,24 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		}
 	};
 
+	/**
+	 * Callback used to prepare data of this activity on a background thread and to bind them afterwards.
+	 */
+	private final DataPreparer.Callback DATA_PREPARER_CALLBACK = new DataPreparer.Callback() {
+
+		/**
+		 */
+		@Override public void onPrepareData(final int sections) {
+			UniversiActivity.this.onPrepareData(sections);
+		}
+
+		/**
+		 */
+		@Override public void onDataPrepared(final int sections) {
+			bindData(sections);
+		}
+	};
+
 	/**
 	 * Handler responsible for processing of all annotations of this class and also for handling all
 	 * annotations related operations for this class.
@@ -126,7 +150,7 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	 * Delegate that is used to handle requests specific for the Universi context made upon this activity
 	 * like showing and dismissing of dialogs or showing and hiding of fragments.
 	 */
-	private UniversiActivityDelegate delegate;
+	private volatile UniversiActivityDelegate delegate;
 
 	/*
 	 * Constructors ================================================================================
@@ -148,11 +172,24 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 
 	/**
 	 * Invoked to create annotations handler for this instance.
+	 * <p>
+	 * This is invoked directly from the constructor, thus during instantiation of this activity,
+	 * which happens on the main thread as part of the activity launch. Default implementation
+	 * obtains the handler for this activity class from {@link AnnotationHandlerCache} which requires
+	 * reflective scanning of the class annotations the first time it is requested for that class,
+	 * unless the handler has been resolved ahead via {@link AnnotationHandlerCache#warmUp(Class[])}
+	 * or a factory creating the handler without any reflection at all has been registered for this
+	 * activity class via {@link AnnotationHandlerCache#registerHandlerFactory(Class, AnnotationHandlerCache.HandlerFactory)}.
+	 * Inheritance hierarchies may also override this method and return such handler directly.
+	 * <p>
+	 * <b>Note</b> that this method is invoked before constructors of inheritance hierarchies, so
+	 * any implementation must not depend on instance members of such hierarchies.
 	 *
-	 * @return Annotations handler specific for this class.
+	 * @return Annotations handler specific for this class. May be {@code null} if annotations
+	 * processing is not enabled.
 	 */
-	ActionBarFragmentAnnotationHandler onCreateAnnotationHandler() {
-		return ActionBarAnnotationHandlers.obtainActionBarFragmentHandler(getClass());
+	@Nullable protected ActionBarFragmentAnnotationHandler onCreateAnnotationHandler() {
+		return AnnotationHandlerCache.obtainHandler(getClass());
 	}
 
 	/**
@@ -180,7 +217,13 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	 * Ensures that the context delegate is initialized for this activity.
 	 */
 	private void ensureContextDelegate() {
-		if (delegate == null) this.delegate = UniversiActivityDelegate.create(this);
+		if (delegate == null) {
+			// Data binding may be requested from a background thread, so ensure that only one
+			// delegate is ever created.
+			synchronized (this) {
+				if (delegate == null) this.delegate = UniversiActivityDelegate.create(this);
+			}
+		}
 	}
 
 	/**
@@ -197,12 +240,109 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	 */
 	@Override protected void onCreate(@Nullable final Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
+		if (savedInstanceState != null) {
+			this.ensureContextDelegate();
+			this.delegate.restoreInstanceState(savedInstanceState);
+		}
 		if (annotationHandler != null) {
 			final int viewResource = annotationHandler.getContentViewResource(-1);
-			if (viewResource != -1) {
+			if (viewResource == -1) {
+				return;
+			}
+			if (delegate != null && delegate.isAsyncContentViewInflationEnabled()) {
+				this.inflateContentViewAsync(viewResource);
+			} else {
+				final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_SET_CONTENT_VIEW);
 				setContentView(viewResource);
+				UniversiTrace.endSection(UniversiTrace.SECTION_SET_CONTENT_VIEW, traceStart);
+			}
+		}
+	}
+
+	/**
+	 */
+	@Override public void onAttachFragment(@NonNull final Fragment fragment) {
+		super.onAttachFragment(fragment);
+		// Delegate may not be created yet if fragments are being restored in super.onCreate(Bundle),
+		// in which case there is no current fragment cached that would need to be invalidated.
+		if (delegate != null) {
+			this.delegate.onFragmentAttached(fragment);
+		}
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether content view of this activity declared via {@link ContentView @ContentView}
+	 * annotation should be inflated on a background thread.
+	 * <p>
+	 * When enabled, placeholder created via {@link #onCreateContentViewPlaceholder()} (if any) is set
+	 * as content view of this activity until the declared layout is inflated. The inflated view is
+	 * then set as content view of this activity and {@link #onContentChanged()} followed by
+	 * {@link #onBindViews()} and by any pending data binding is performed as usual.
+	 * <p>
+	 * <b>Note</b> that this needs to be called before {@code super.onCreate(Bundle)} in order to take
+	 * effect. Also note that this option is not available for {@link UniversiCompatActivity}, as
+	 * views inflated on a background thread would bypass the view factory of AppCompat.
+	 *
+	 * @param enabled {@code True} to enable asynchronous inflation, {@code false} otherwise.
+	 */
+	protected void setAsyncContentViewInflationEnabled(final boolean enabled) {
+		this.ensureContextDelegate();
+		this.delegate.setAsyncContentViewInflationEnabled(enabled);
+	}
+
+	/**
+	 * Starts asynchronous inflation of content view with the specified <var>resource</var>.
+	 *
+	 * @param resource Resource id of the layout to be inflated.
+	 */
+	private void inflateContentViewAsync(final int resource) {
+		this.delegate.registerRequest(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
+		final View placeholder = onCreateContentViewPlaceholder();
+		if (placeholder != null) {
+			setContentView(placeholder);
+		}
+		final ViewGroup parent = (ViewGroup) findViewById(android.R.id.content);
+		new AsyncLayoutInflater(this).inflate(resource, parent, new AsyncLayoutInflater.OnInflateFinishedListener() {
+
+			/**
+			 */
+			@Override public void onInflateFinished(@NonNull final View view, final int resid, @Nullable final ViewGroup parent) {
+				onContentViewInflated(view);
 			}
+		});
+	}
+
+	/**
+	 * Invoked to create a lightweight placeholder view to be displayed while content view of this
+	 * activity is being inflated asynchronously.
+	 * <p>
+	 * Default implementation returns {@code null} so only window background is displayed meanwhile.
+	 *
+	 * @return Placeholder view or {@code null} to not display any placeholder.
+	 *
+	 * @see #setAsyncContentViewInflationEnabled(boolean)
+	 */
+	@Nullable protected View onCreateContentViewPlaceholder() {
+		return null;
+	}
+
+	/**
+	 * Invoked whenever asynchronous inflation of content view of this activity is finished.
+	 *
+	 * @param view The inflated content view.
+	 */
+	final void onContentViewInflated(final View view) {
+		if (isFinishing() || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1 && isDestroyed())) {
+			return;
+		}
+		this.ensureContextDelegate();
+		if (!delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW)) {
+			return;
 		}
+		this.delegate.unregisterRequest(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_SET_CONTENT_VIEW);
+		setContentView(view);
+		UniversiTrace.endSection(UniversiTrace.SECTION_SET_CONTENT_VIEW, traceStart);
 	}
 
 	/**
@@ -249,19 +389,42 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		this.delegate.destroyLoader(id);
 	}
 
+	/**
+	 * Sets a time window within which should be restarts of already started loaders requested via
+	 * {@link #startLoader(int, Bundle, LoaderManager.LoaderCallbacks)} debounced, so only the latest
+	 * request made within the window actually restarts the loader.
+	 *
+	 * @param windowMillis The desired time window in milliseconds. May be {@code 0} to restart
+	 *                     loaders immediately.
+	 *
+	 * @see UniversiActivityDelegate#setLoaderRestartWindow(long)
+	 */
+	protected void setLoaderRestartWindow(@IntRange(from = 0) final long windowMillis) {
+		this.ensureContextDelegate();
+		this.delegate.setLoaderRestartWindow(windowMillis);
+	}
+
 	/**
 	 */
 	@Override public void onContentChanged() {
 		super.onContentChanged();
 		this.ensureContextDelegate();
+		if (delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW)) {
+			// Only placeholder has been set, wait until the actual content view is inflated.
+			return;
+		}
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_CONTENT_CHANGED);
 		this.delegate.setViewCreated(true);
 		this.configureActionBar(getActionBar());
+		final long bindViewsTraceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_VIEWS);
 		onBindViews();
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_VIEWS, bindViewsTraceStart);
 		// Check if there was requested data binding before view creation, if it was, perform binding now.
 		if (delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA)) {
 			this.delegate.unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
-			onBindData();
+			this.bindDirtyData();
 		}
+		UniversiTrace.endSection(UniversiTrace.SECTION_CONTENT_CHANGED, traceStart);
 	}
 
 	/**
@@ -279,7 +442,9 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		if (actionBar == null || annotationHandler == null) {
 			return;
 		}
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_CONFIGURE_ACTION_BAR);
 		this.annotationHandler.configureActionBar(ActionBarDelegate.create(this, actionBar));
+		UniversiTrace.endSection(UniversiTrace.SECTION_CONFIGURE_ACTION_BAR, traceStart);
 	}
 
 	/**
@@ -293,6 +458,19 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	/**
 	 */
 	@Override public boolean onCreateOptionsMenu(@NonNull final Menu menu) {
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_CREATE_OPTIONS_MENU);
+		final boolean created = createOptionsMenu(menu);
+		UniversiTrace.endSection(UniversiTrace.SECTION_CREATE_OPTIONS_MENU, traceStart);
+		return created;
+	}
+
+	/**
+	 * Creates the options menu according to the {@link MenuOptions @MenuOptions} annotation (if presented).
+	 *
+	 * @param menu The menu to be created.
+	 * @return {@code True} if the menu should be displayed, {@code false} otherwise.
+	 */
+	private boolean createOptionsMenu(final Menu menu) {
 		if (annotationHandler == null || !annotationHandler.hasOptionsMenu()) {
 			return false;
 		}
@@ -305,21 +483,95 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		}
 		switch (annotationHandler.getOptionsMenuFlags(0)) {
 			case MenuOptions.IGNORE_SUPER:
-				getMenuInflater().inflate(menuResource, menu);
+				this.inflateOptionsMenu(menuResource, menu);
 				break;
 			case MenuOptions.BEFORE_SUPER:
-				getMenuInflater().inflate(menuResource, menu);
+				this.inflateOptionsMenu(menuResource, menu);
 				super.onCreateOptionsMenu(menu);
 				break;
 			case MenuOptions.DEFAULT:
 			default:
 				super.onCreateOptionsMenu(menu);
-				getMenuInflater().inflate(menuResource, menu);
+				this.inflateOptionsMenu(menuResource, menu);
 				break;
 		}
 		return true;
 	}
 
+	/**
+	 * Inflates menu with the specified <var>resource</var> into the given <var>menu</var>. If options
+	 * menu caching is enabled, the menu is built from description cached by {@link OptionsMenuCache}
+	 * whenever possible.
+	 *
+	 * @param resource Resource id of the menu to inflate.
+	 * @param menu     The menu into which to inflate the menu resource.
+	 */
+	private void inflateOptionsMenu(final int resource, final Menu menu) {
+		if (delegate != null && delegate.isOptionsMenuCachingEnabled() && OptionsMenuCache.obtain(this).inflate(resource, menu, false)) {
+			return;
+		}
+		getMenuInflater().inflate(resource, menu);
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether options menu of this activity declared via {@link MenuOptions @MenuOptions}
+	 * annotation should be built from a menu description parsed only once and cached by {@link OptionsMenuCache}
+	 * instead of being inflated from its Xml resource whenever the menu is invalidated.
+	 * <p>
+	 * Menus using attributes not supported by the cache are still inflated via {@link #getMenuInflater()}.
+	 *
+	 * @param enabled {@code True} to enable options menu caching, {@code false} otherwise.
+	 */
+	protected void setOptionsMenuCachingEnabled(final boolean enabled) {
+		this.ensureContextDelegate();
+		this.delegate.setOptionsMenuCachingEnabled(enabled);
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether fragments provided by the factory specified via
+	 * {@link #setFragmentFactory(FragmentFactory)} should be instantiated ahead of time while the
+	 * main thread is idle.
+	 *
+	 * @param enabled {@code True} to enable fragments prefetching, {@code false} otherwise.
+	 *
+	 * @see #prefetchFragments(int...)
+	 * @see UniversiActivityDelegate#setFragmentPrefetchingEnabled(boolean)
+	 */
+	protected void setFragmentPrefetchingEnabled(final boolean enabled) {
+		this.ensureContextDelegate();
+		this.delegate.setFragmentPrefetchingEnabled(enabled);
+	}
+
+	/**
+	 * Requests fragments with the specified <var>fragmentIds</var>, which are likely to be shown
+	 * next, to be instantiated while the main thread is idle.
+	 * <p>
+	 * This method does nothing if fragments prefetching is not enabled.
+	 *
+	 * @param fragmentIds Ids of the desired fragments to be prefetched.
+	 *
+	 * @see #setFragmentPrefetchingEnabled(boolean)
+	 * @see UniversiActivityDelegate#prefetchFragments(int...)
+	 */
+	protected void prefetchFragments(@NonNull final int... fragmentIds) {
+		this.ensureContextDelegate();
+		this.delegate.prefetchFragments(fragmentIds);
+	}
+
+	/**
+	 */
+	@Override @NonNull public TaskManager getTaskManager() {
+		this.ensureContextDelegate();
+		return delegate.getTaskManager();
+	}
+
+	/**
+	 */
+	@Override @NonNull public BackPressWatcherRegistry getBackPressWatcherRegistry() {
+		this.ensureContextDelegate();
+		return delegate.getBackPressWatcherRegistry();
+	}
+
 	/**
 	 */
 	@Override public void setNavigationalTransition(@Nullable final BaseNavigationalTransition transition) {
@@ -398,39 +650,168 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	}
 
 	/**
-	 * Requests performing of data binding specific for this activity via {@link #onBindData()}.
-	 * If this activity has its view hierarchy already created {@link #onBindData()} will be invoked
-	 * immediately, otherwise will wait until {@link #onContentChanged()} is invoked.
-	 * <p>
-	 * <b>This method may be invoked also from a background-thread</b>.
+	 * Same as {@link #requestBindData(int)} with {@link UniversiContextDelegate#DATA_SECTIONS_ALL}
+	 * so all data sections of this activity will be bound.
 	 */
 	protected void requestBindData() {
-		// Check whether this call has been made on the UI thread, if not post on the UI thread the request runnable.
+		requestBindData(UniversiContextDelegate.DATA_SECTIONS_ALL);
+	}
+
+	/**
+	 * Requests performing of data binding specific for this activity via {@link #onBindData(int)}
+	 * for the specified data <var>sections</var>. If this activity has its view hierarchy already
+	 * created {@link #onBindData(int)} will be invoked immediately, otherwise will wait until
+	 * {@link #onContentChanged()} is invoked.
+	 * <p>
+	 * Data sections are represented by bits specified by the activity itself, like for example
+	 * header, list and footer section, so only the sections which data have changed need to be
+	 * bound again. Sections requested before the binding is performed are merged together.
+	 * <p>
+	 * <b>This method may be invoked also from a background-thread</b>. Requests made from a background
+	 * thread are coalesced via {@link BindDataScheduler} so a burst of such requests results only
+	 * in a single call to {@link #onBindData(int)} performed when the next frame is being rendered.
+	 *
+	 * @param sections The data sections that should be bound.
+	 */
+	protected void requestBindData(final int sections) {
+		this.ensureContextDelegate();
+		this.delegate.markDataSectionsDirty(sections);
+		// Check whether this call has been made on the UI thread, if not schedule the request runnable
+		// so it is coalesced with other requests made before the next frame.
 		if (Looper.getMainLooper().equals(Looper.myLooper())) {
 			this.requestBindDataInner();
 		} else {
-			runOnUiThread(REQUEST_BIND_DATA_INNER);
+			this.delegate.getBindDataScheduler().schedule(REQUEST_BIND_DATA_INNER);
 		}
 	}
 
 	/**
-	 * Performs data binding of this activity. Will invoke {@link #onBindData()} if view hierarchy of
+	 * Performs data binding of this activity. Will invoke {@link #onBindData(int)} if view hierarchy of
 	 * this activity is already created, otherwise will register a binding request via {@link UniversiContextDelegate#registerRequest(int)}.
 	 */
 	final void requestBindDataInner() {
 		this.ensureContextDelegate();
 		if (delegate.isViewCreated()) {
-			onBindData();
+			this.bindDirtyData();
 			return;
 		}
 		this.delegate.registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
 	}
 
+	/**
+	 * Invokes {@link #onBindData(int)} for all data sections that have been requested to be bound
+	 * since the last binding (if any). If data preparation is enabled, the data are first prepared
+	 * on a background thread via {@link #onPrepareData(int)}.
+	 */
+	private void bindDirtyData() {
+		final int sections = delegate.consumeDirtyDataSections();
+		if (sections == 0) {
+			return;
+		}
+		if (delegate.isDataPreparationEnabled()) {
+			this.delegate.getDataPreparer().prepare(sections, DATA_PREPARER_CALLBACK);
+		} else {
+			this.bindData(sections);
+		}
+	}
+
+	/**
+	 * Invokes {@link #onBindData(int)} for the specified <var>sections</var> within traced section.
+	 *
+	 * @param sections The data sections to be bound.
+	 */
+	private void bindData(final int sections) {
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_DATA);
+		onBindData(sections);
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_DATA, traceStart);
+		// Views are populated now, so the enter transition (if postponed) may be finally started.
+		this.delegate.startPostponedEnterTransition();
+	}
+
+	/**
+	 * Postpones enter transition of this activity until its data are bound for the first time via
+	 * {@link #onBindData(int)} or the specified <var>timeoutMillis</var> expires, whichever comes
+	 * first, so the transition does not animate views that are not populated yet.
+	 * <p>
+	 * This should be called in {@link #onCreate(Bundle)}. Duration for which has been the enter
+	 * transition postponed may be obtained via {@link #getEnterTransitionPostponedDuration()}.
+	 *
+	 * @param timeoutMillis The time in milliseconds after which should be the transition started
+	 *                      even if no data have been bound.
+	 *
+	 * @see UniversiActivityDelegate#postponeEnterTransition(long)
+	 */
+	protected void postponeEnterTransitionUntilDataBound(@IntRange(from = 1) final long timeoutMillis) {
+		this.ensureContextDelegate();
+		this.delegate.postponeEnterTransition(timeoutMillis);
+	}
+
+	/**
+	 * Returns the duration for which has been the enter transition of this activity postponed via
+	 * {@link #postponeEnterTransitionUntilDataBound(long)}.
+	 *
+	 * @return Duration in milliseconds or {@code -1} if the postponed transition has not been started yet.
+	 *
+	 * @see UniversiActivityDelegate#getEnterTransitionPostponedDuration()
+	 */
+	protected long getEnterTransitionPostponedDuration() {
+		this.ensureContextDelegate();
+		return delegate.getEnterTransitionPostponedDuration();
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether data of this activity should be prepared on a background
+	 * thread via {@link #onPrepareData(int)} before they are bound via {@link #onBindData(int)}.
+	 * <p>
+	 * When enabled, binding is performed in two phases. First {@link #onPrepareData(int)} is invoked
+	 * on a shared background executor to prepare data for the requested sections and then
+	 * {@link #onBindData(int)} is invoked on the UI thread to only apply the prepared data. Preparation
+	 * that becomes stale due to a newer binding request or due to destroyed view hierarchy of this
+	 * activity is cancelled and its results are not delivered.
+	 *
+	 * @param enabled {@code True} to enable data preparation, {@code false} otherwise.
+	 */
+	protected void setDataPreparationEnabled(final boolean enabled) {
+		this.ensureContextDelegate();
+		this.delegate.setDataPreparationEnabled(enabled);
+	}
+
+	/**
+	 * Invoked on a background thread to prepare data for the specified <var>sections</var> before
+	 * they are bound via {@link #onBindData(int)}. This is invoked only if data preparation has
+	 * been enabled via {@link #setDataPreparationEnabled(boolean)}.
+	 * <p>
+	 * <b>Note</b> that implementations must not touch any views here.
+	 *
+	 * @param sections The data sections for which to prepare data.
+	 */
+	@WorkerThread protected void onPrepareData(final int sections) {
+		// Inheritance hierarchies may load or transform here data to be bound.
+	}
+
+	/**
+	 * Invoked due to call to {@link #requestBindData(int)} to perform data binding of the specified
+	 * data <var>sections</var> specific for this activity instance.
+	 * <p>
+	 * Default implementation invokes {@link #onBindData()} so all data are bound regardless of the
+	 * requested sections. Inheritance hierarchies that split their data into sections should override
+	 * this method and bind only the requested ones.
+	 * <p>
+	 * <b>This is always invoked on the UI thread.</b>
+	 *
+	 * @param sections The data sections that should be bound. This is always non-zero value.
+	 */
+	@UiThread protected void onBindData(final int sections) {
+		onBindData();
+	}
+
 	/**
 	 * Invoked due to call to {@link #requestBindData()} to perform data binding specific for this
 	 * activity instance.
 	 * <p>
 	 * <b>This is always invoked on the UI thread.</b>
+	 *
+	 * @see #onBindData(int)
 	 */
 	@UiThread protected void onBindData() {
 		// Inheritance hierarchies may perform theirs specific data binding logic here.
@@ -441,6 +822,9 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	@Override protected void onResume() {
 		super.onResume();
 		this.ensureContextDelegate();
+		// Permissions may have been changed by the user while this activity was not in foreground, so
+		// they are invalidated before any deferred work that may check them is resumed.
+		this.delegate.invalidatePermissionStates();
 		this.delegate.setStateSaved(false);
 		this.delegate.setPaused(false);
 	}
@@ -463,10 +847,31 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 
 	/**
 	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	@Override public void registerOnNetworkStateChangeListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		this.ensureContextDelegate();
+		this.delegate.registerOnNetworkStateChangeListener(listener);
+	}
+
+	/**
+	 */
+	@Override public void unregisterOnNetworkStateChangeListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		this.ensureContextDelegate();
+		this.delegate.unregisterOnNetworkStateChangeListener(listener);
+	}
+
+	/**
+	 * Grant states of permissions are cached, so repeated checks are served from memory. The cache
+	 * is invalidated whenever this activity is resumed or receives result of a permissions request.
+	 *
+	 * @see UniversiActivityDelegate#checkSelfPermission(String)
+	 */
 	@Override public int checkSelfPermission(@NonNull final String permission) {
-		return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M ?
-				super.checkSelfPermission(permission) :
-				PackageManager.PERMISSION_GRANTED;
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+			this.ensureContextDelegate();
+			return delegate.checkSelfPermission(permission);
+		}
+		return PackageManager.PERMISSION_GRANTED;
 	}
 
 	/**
@@ -492,6 +897,8 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	/**
 	 */
 	@Override public void onRequestPermissionsResult(final int requestCode, @NonNull final String[] permissions, @NonNull final int[] grantResults) {
+		this.ensureContextDelegate();
+		this.delegate.invalidatePermissionStates();
 		super.onRequestPermissionsResult(requestCode, permissions, grantResults);
 	}
 
@@ -560,14 +967,23 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 	 * Dispatches back press event to all currently visible fragments displayed in context of this
 	 * activity.
 	 * <p>
-	 * This implementation calls {@link #dispatchBackPressToCurrentFragment()} and returns its result.
+	 * This implementation first dispatches the event through chain of watchers registered in
+	 * {@link #getBackPressWatcherRegistry()}, which are all resumed and visible Universi fragments
+	 * including the nested ones, starting with the most recently resumed one. Only if there are
+	 * no watchers registered at all, the event is dispatched to the current fragment via
+	 * {@link #dispatchBackPressToCurrentFragment()}, so fragments which do not register themselves
+	 * still receive it.
 	 *
 	 * @return {@code True} if some of the visible fragments has consumed the back press event,
 	 * {@code false} otherwise.
 	 * @see BackPressWatcher#dispatchBackPress()
 	 */
 	protected boolean dispatchBackPressToFragments() {
-		return dispatchBackPressToCurrentFragment();
+		this.ensureContextDelegate();
+		if (delegate.dispatchBackPressToWatchers()) {
+			return true;
+		}
+		return !delegate.hasBackPressWatchers() && dispatchBackPressToCurrentFragment();
 	}
 
 	/**
@@ -616,6 +1032,7 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		super.onSaveInstanceState(state);
 		this.ensureContextDelegate();
 		this.delegate.setStateSaved(true);
+		this.delegate.saveInstanceState(state);
 	}
 
 	/**
@@ -646,11 +1063,45 @@ public abstract class UniversiActivity extends Activity implements UniversiActiv
 		return false;
 	}
 
+	/**
+	 */
+	@Override public void onTrimMemory(final int level) {
+		super.onTrimMemory(level);
+		if (delegate != null) delegate.trimMemory(level);
+		onReleaseCaches(level);
+	}
+
+	/**
+	 */
+	@Override public void onLowMemory() {
+		super.onLowMemory();
+		if (delegate != null) delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		onReleaseCaches(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+	}
+
+	/**
+	 * Invoked whenever the system requests this activity to trim its memory via {@link #onTrimMemory(int)}
+	 * or {@link #onLowMemory()}, after the context delegate of this activity has released its idle
+	 * controllers and cached dialog factories.
+	 * <p>
+	 * Inheritance hierarchies may override this method in order to release their own caches that
+	 * can be created again whenever they are needed.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 *              {@link ComponentCallbacks2#TRIM_MEMORY_COMPLETE} for {@link #onLowMemory()}.
+	 */
+	protected void onReleaseCaches(final int level) {
+		// Inheritance hierarchies may release here their own caches.
+	}
+
 	/**
 	 */
 	@Override protected void onDestroy() {
 		super.onDestroy();
-		if (delegate != null) delegate.setViewCreated(false);
+		if (delegate != null) {
+			this.delegate.setViewCreated(false);
+			this.delegate.destroy(isChangingConfigurations());
+		}
 	}
 
 	/*
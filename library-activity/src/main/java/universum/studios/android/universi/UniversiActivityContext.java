@@ -63,7 +63,7 @@ public interface UniversiActivityContext {
 	 * @see #restartLoader(int, Bundle, LoaderManager.LoaderCallbacks)
 	 * @see #destroyLoader(int)
 	 *
-	 * @deprecated Use {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
+	 * @deprecated Use {@link #getTaskManager()}, {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
 	 */
 	@Deprecated
 	@Nullable <D> Loader<D> startLoader(@IntRange(from = 0) int id, @Nullable Bundle params, @NonNull LoaderManager.LoaderCallbacks<D> callbacks);
@@ -85,7 +85,7 @@ public interface UniversiActivityContext {
 	 * @see #destroyLoader(int)
 	 * @see LoaderManager#initLoader(int, Bundle, LoaderManager.LoaderCallbacks)
 	 *
-	 * @deprecated Use {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
+	 * @deprecated Use {@link #getTaskManager()}, {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
 	 */
 	@Deprecated
 	@Nullable <D> Loader<D> initLoader(@IntRange(from = 0) int id, @Nullable Bundle params, @NonNull LoaderManager.LoaderCallbacks<D> callbacks);
@@ -107,7 +107,7 @@ public interface UniversiActivityContext {
 	 * @see #destroyLoader(int)
 	 * @see LoaderManager#restartLoader(int, Bundle, LoaderManager.LoaderCallbacks)
 	 *
-	 * @deprecated Use {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
+	 * @deprecated Use {@link #getTaskManager()}, {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
 	 */
 	@Deprecated
 	@Nullable <D> Loader<D> restartLoader(@IntRange(from = 0) int id, @Nullable Bundle params, @NonNull LoaderManager.LoaderCallbacks<D> callbacks);
@@ -123,11 +123,28 @@ public interface UniversiActivityContext {
 	 * @see #restartLoader(int, Bundle, LoaderManager.LoaderCallbacks)
 	 * @see LoaderManager#destroyLoader(int)
 	 *
-	 * @deprecated Use {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
+	 * @deprecated Use {@link #getTaskManager()}, {@code getLoaderManager()} directly or preferably {@link LiveData} instead.
 	 */
 	@Deprecated
 	void destroyLoader(@IntRange(from = 0) int id);
 
+	/**
+	 * Returns the manager that may be used to execute keyed asynchronous tasks within this activity
+	 * context as replacement for the deprecated loaders API.
+	 * <p>
+	 * Tasks of the manager are retained across configuration changes of this activity, their results
+	 * are delivered only while this activity is not paused and they are cancelled whenever this
+	 * activity is destroyed for good.
+	 *
+	 * @return Task manager of this activity context.
+	 *
+	 * @see TaskManager#startTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#initTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#restartTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#destroyTask(int)
+	 */
+	@NonNull TaskManager getTaskManager();
+
 	/**
 	 * Sets a navigational transition that will be used to finish this activity context whenever
 	 * its {@link Activity#finishAfterTransition()} is invoked.
@@ -332,6 +349,27 @@ public interface UniversiActivityContext {
 	 */
 	boolean isNetworkConnected(int networkType);
 
+	/**
+	 * Registers a listener to be notified about changes in connection of the active network.
+	 * <p>
+	 * Changes are delivered on the main thread, debounced and not delivered while this activity is
+	 * paused. The latest change made while paused is delivered whenever this activity is resumed.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see #unregisterOnNetworkStateChangeListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	void registerOnNetworkStateChangeListener(@NonNull UniversiContextDelegate.OnNetworkStateChangeListener listener);
+
+	/**
+	 * Unregisters the given listener from the registered ones.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #registerOnNetworkStateChangeListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	void unregisterOnNetworkStateChangeListener(@NonNull UniversiContextDelegate.OnNetworkStateChangeListener listener);
+
 	/**
 	 * Finishes this activity with navigational transition specified via {@link #setNavigationalTransition(BaseNavigationalTransition)}
 	 * (if any).
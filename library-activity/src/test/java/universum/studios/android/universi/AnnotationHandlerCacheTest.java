@@ -0,0 +1,159 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import universum.studios.android.fragment.annotation.FragmentAnnotations;
+import universum.studios.android.fragment.annotation.handler.ActionBarFragmentAnnotationHandler;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class AnnotationHandlerCacheTest extends RobolectricTestCase {
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		// Ensure that we have always annotations processing enabled.
+		FragmentAnnotations.setEnabled(true);
+		AnnotationHandlerCache.clear();
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		AnnotationHandlerCache.clear();
+	}
+
+	@Test public void testObtainHandler() {
+		// Act:
+		final ActionBarFragmentAnnotationHandler handler = AnnotationHandlerCache.obtainHandler(TestActivity.class);
+		// Assert:
+		assertThat(handler, is(notNullValue()));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(1));
+		assertThat(AnnotationHandlerCache.getCachedCount(), is(0));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(handler));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(1));
+		assertThat(AnnotationHandlerCache.getCachedCount(), is(1));
+	}
+
+	@Test public void testObtainHandlerWhenAnnotationsAreDisabled() {
+		// Arrange:
+		FragmentAnnotations.setEnabled(false);
+		// Act + Assert:
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(nullValue()));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(0));
+	}
+
+	@Test public void testObtainRegisteredHandler() {
+		// Arrange:
+		final ActionBarFragmentAnnotationHandler mockHandler = mock(ActionBarFragmentAnnotationHandler.class);
+		final AnnotationHandlerCache.HandlerFactory mockFactory = mock(AnnotationHandlerCache.HandlerFactory.class);
+		when(mockFactory.createHandler()).thenReturn(mockHandler);
+		AnnotationHandlerCache.registerHandlerFactory(TestActivity.class, mockFactory);
+		// Act + Assert:
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(mockHandler));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(mockHandler));
+		assertThat(AnnotationHandlerCache.getRegisteredCount(), is(1));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(0));
+		assertThat(AnnotationHandlerCache.getCachedCount(), is(1));
+		verify(mockFactory, times(1)).createHandler();
+	}
+
+	@Test public void testRegisterHandlerFactoryDiscardsCachedHandler() {
+		// Arrange:
+		final ActionBarFragmentAnnotationHandler coldHandler = AnnotationHandlerCache.obtainHandler(TestActivity.class);
+		final ActionBarFragmentAnnotationHandler mockHandler = mock(ActionBarFragmentAnnotationHandler.class);
+		final AnnotationHandlerCache.HandlerFactory mockFactory = mock(AnnotationHandlerCache.HandlerFactory.class);
+		when(mockFactory.createHandler()).thenReturn(mockHandler);
+		// Act:
+		AnnotationHandlerCache.registerHandlerFactory(TestActivity.class, mockFactory);
+		// Assert:
+		assertThat(coldHandler, is(notNullValue()));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(mockHandler));
+		assertThat(AnnotationHandlerCache.getRegisteredCount(), is(1));
+	}
+
+	@Test public void testWarmUpRegisteredHandler() {
+		// Arrange:
+		final ActionBarFragmentAnnotationHandler mockHandler = mock(ActionBarFragmentAnnotationHandler.class);
+		final AnnotationHandlerCache.HandlerFactory mockFactory = mock(AnnotationHandlerCache.HandlerFactory.class);
+		when(mockFactory.createHandler()).thenReturn(mockHandler);
+		AnnotationHandlerCache.registerHandlerFactory(TestActivity.class, mockFactory);
+		// Act:
+		AnnotationHandlerCache.warmUp(DIRECT_EXECUTOR, TestActivity.class);
+		// Assert:
+		assertThat(AnnotationHandlerCache.getRegisteredCount(), is(1));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(0));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(mockHandler));
+	}
+
+	@Test public void testWarmUp() {
+		// Act:
+		AnnotationHandlerCache.warmUp(DIRECT_EXECUTOR, TestActivity.class, TestCompatActivity.class);
+		// Assert:
+		assertThat(AnnotationHandlerCache.getColdCount(), is(2));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestActivity.class), is(notNullValue()));
+		assertThat(AnnotationHandlerCache.obtainHandler(TestCompatActivity.class), is(notNullValue()));
+		assertThat(AnnotationHandlerCache.getColdCount(), is(2));
+		assertThat(AnnotationHandlerCache.getCachedCount(), is(2));
+	}
+
+	@Test public void testWarmUpAlreadyCachedHandler() {
+		// Arrange:
+		AnnotationHandlerCache.obtainHandler(TestActivity.class);
+		// Act:
+		AnnotationHandlerCache.warmUp(DIRECT_EXECUTOR, TestActivity.class);
+		// Assert:
+		assertThat(AnnotationHandlerCache.getColdCount(), is(1));
+	}
+
+	@Test public void testWarmUpWhenAnnotationsAreDisabled() {
+		// Arrange:
+		FragmentAnnotations.setEnabled(false);
+		// Act:
+		AnnotationHandlerCache.warmUp(DIRECT_EXECUTOR, TestActivity.class);
+		// Assert:
+		assertThat(AnnotationHandlerCache.getColdCount(), is(0));
+	}
+
+	public static final class TestActivity extends UniversiActivity {}
+
+	public static final class TestCompatActivity extends UniversiCompatActivity {}
+}
@@ -0,0 +1,177 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.SubMenu;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class OptionsMenuCacheTest extends RobolectricTestCase {
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		OptionsMenuCache.release();
+	}
+
+	@Test public void testObtain() {
+		// Act:
+		final OptionsMenuCache cache = OptionsMenuCache.obtain(application);
+		// Assert:
+		assertThat(cache, is(notNullValue()));
+		assertThat(OptionsMenuCache.obtain(application), is(cache));
+		assertThat(cache.size(), is(0));
+		assertThat(cache.getHitCount(), is(0));
+		assertThat(cache.getMissCount(), is(0));
+	}
+
+	@Test public void testRelease() {
+		// Arrange:
+		final OptionsMenuCache cache = OptionsMenuCache.obtain(application);
+		// Act:
+		OptionsMenuCache.release();
+		// Assert:
+		assertThat(OptionsMenuCache.obtain(application), is(not(cache)));
+	}
+
+	@Test public void testApplyDescription() {
+		// Arrange:
+		final OptionsMenuCache.MenuDescription description = new OptionsMenuCache.MenuDescription();
+		final OptionsMenuCache.ItemDescription item = new OptionsMenuCache.ItemDescription();
+		item.id = 1;
+		item.order = 2;
+		item.titleRes = 3;
+		item.iconRes = 4;
+		item.showAsAction = MenuItem.SHOW_AS_ACTION_IF_ROOM;
+		item.compatShowAsAction = -1;
+		item.visible = true;
+		item.enabled = true;
+		description.items.add(item);
+		final Menu mockMenu = mock(Menu.class);
+		final MenuItem mockItem = mock(MenuItem.class);
+		when(mockMenu.add(Menu.NONE, 1, 2, 3)).thenReturn(mockItem);
+		// Act:
+		description.applyTo(mockMenu, false);
+		// Assert:
+		verify(mockMenu).add(Menu.NONE, 1, 2, 3);
+		verifyNoMoreInteractions(mockMenu);
+		verify(mockItem).setCheckable(false);
+		verify(mockItem).setChecked(false);
+		verify(mockItem).setVisible(true);
+		verify(mockItem).setEnabled(true);
+		verify(mockItem).setIcon(4);
+		verify(mockItem).setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
+		verifyNoMoreInteractions(mockItem);
+	}
+
+	@Test public void testApplyDescriptionToSupportMenu() {
+		// Arrange:
+		final OptionsMenuCache.MenuDescription description = new OptionsMenuCache.MenuDescription();
+		final OptionsMenuCache.ItemDescription item = new OptionsMenuCache.ItemDescription();
+		item.id = 1;
+		item.title = "Title";
+		item.showAsAction = MenuItem.SHOW_AS_ACTION_IF_ROOM;
+		item.compatShowAsAction = -1;
+		description.items.add(item);
+		final Menu mockMenu = mock(Menu.class);
+		final MenuItem mockItem = mock(MenuItem.class);
+		when(mockMenu.add(Menu.NONE, 1, 0, "Title")).thenReturn(mockItem);
+		// Act:
+		description.applyTo(mockMenu, true);
+		// Assert:
+		verify(mockMenu).add(Menu.NONE, 1, 0, "Title");
+		verify(mockItem, never()).setShowAsAction(anyInt());
+	}
+
+	@Test public void testApplyDescriptionWithSubMenuAndExclusiveGroup() {
+		// Arrange:
+		final OptionsMenuCache.MenuDescription description = new OptionsMenuCache.MenuDescription();
+		final OptionsMenuCache.ItemDescription item = new OptionsMenuCache.ItemDescription();
+		item.id = 1;
+		item.titleRes = 2;
+		item.showAsAction = item.compatShowAsAction = -1;
+		item.subMenu = new OptionsMenuCache.MenuDescription();
+		item.subMenu.exclusiveGroups.put(10, 10);
+		description.items.add(item);
+		final Menu mockMenu = mock(Menu.class);
+		final SubMenu mockSubMenu = mock(SubMenu.class);
+		final MenuItem mockItem = mock(MenuItem.class);
+		when(mockMenu.addSubMenu(Menu.NONE, 1, 0, 2)).thenReturn(mockSubMenu);
+		when(mockSubMenu.getItem()).thenReturn(mockItem);
+		// Act:
+		description.applyTo(mockMenu, false);
+		// Assert:
+		verify(mockMenu).addSubMenu(Menu.NONE, 1, 0, 2);
+		verify(mockSubMenu).setGroupCheckable(10, true, true);
+		verify(mockSubMenu).getItem();
+		verifyNoMoreInteractions(mockSubMenu);
+	}
+
+	@Test public void testApplyDescriptionWithNotCheckableItemInExclusiveGroup() {
+		// Arrange:
+		final OptionsMenuCache.MenuDescription description = new OptionsMenuCache.MenuDescription();
+		final OptionsMenuCache.ItemDescription item = new OptionsMenuCache.ItemDescription();
+		item.groupId = 10;
+		item.id = 1;
+		item.titleRes = 2;
+		item.showAsAction = item.compatShowAsAction = -1;
+		item.checkable = false;
+		description.items.add(item);
+		description.exclusiveGroups.put(10, 10);
+		final Menu mockMenu = mock(Menu.class);
+		final MenuItem mockItem = mock(MenuItem.class);
+		when(mockMenu.add(10, 1, 0, 2)).thenReturn(mockItem);
+		// Act:
+		description.applyTo(mockMenu, false);
+		// Assert:
+		final InOrder inOrder = inOrder(mockMenu, mockItem);
+		inOrder.verify(mockMenu).add(10, 1, 0, 2);
+		inOrder.verify(mockMenu).setGroupCheckable(10, true, true);
+		inOrder.verify(mockItem).setCheckable(false);
+		inOrder.verify(mockItem).setChecked(false);
+	}
+
+	@Test public void testEvictAll() {
+		// Arrange:
+		final OptionsMenuCache cache = OptionsMenuCache.obtain(application);
+		// Act:
+		cache.evictAll();
+		// Assert:
+		assertThat(cache.size(), is(0));
+	}
+}
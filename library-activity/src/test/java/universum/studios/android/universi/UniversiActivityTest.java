@@ -19,8 +19,11 @@
 package universum.studios.android.universi;
 
 import android.Manifest;
+import android.app.Activity;
 import android.app.Fragment;
+import android.app.FragmentManager;
 import android.app.LoaderManager;
+import android.content.ComponentCallbacks2;
 import android.content.pm.PackageManager;
 import android.net.ConnectivityManager;
 import android.os.Build;
@@ -28,8 +31,10 @@ import android.os.Bundle;
 import android.os.PersistableBundle;
 import android.os.Process;
 import android.view.Menu;
+import android.widget.FrameLayout;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.robolectric.Robolectric;
 import org.robolectric.annotation.Config;
 
@@ -43,6 +48,7 @@ import universum.studios.android.fragment.annotation.FragmentAnnotations;
 import universum.studios.android.fragment.annotation.handler.ActionBarFragmentAnnotationHandler;
 import universum.studios.android.fragment.manage.FragmentController;
 import universum.studios.android.fragment.manage.FragmentFactory;
+import universum.studios.android.test.local.AllocationCounter;
 import universum.studios.android.test.local.RobolectricTestCase;
 import universum.studios.android.test.local.TestFragment;
 import universum.studios.android.transition.BaseNavigationalTransition;
@@ -52,8 +58,11 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -81,11 +90,15 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		final TestActivity activity = new TestActivity();
 		activity.setContextDelegate(mockDelegate);
 		when(mockDelegate.isViewCreated()).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		// Act:
 		activity.REQUEST_BIND_DATA_INNER.run();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(true));
 		verify(mockDelegate).isViewCreated();
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
+		verify(mockDelegate).startPostponedEnterTransition();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -114,6 +127,13 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		assertThat(activity.getAnnotationHandler(), is(not(nullValue())));
 	}
 
+	@Test public void testAnnotationHandlerProvidedByInheritanceHierarchy() {
+		// Act:
+		final PreparedHandlerActivity activity = new PreparedHandlerActivity();
+		// Assert:
+		assertThat(activity.getAnnotationHandler(), is(PreparedHandlerActivity.ANNOTATION_HANDLER));
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void testAnnotationHandlerWhenAnnotationsAreDisabled() {
 		// Arrange:
@@ -290,6 +310,7 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.onContentChanged();
 		// Assert:
 		assertThat(activity.onBindViewsInvoked, is(true));
+		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
 		verify(mockDelegate).setViewCreated(true);
 		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA);
 		verifyNoMoreInteractions(mockDelegate);
@@ -300,15 +321,164 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().get();
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
 		when(mockDelegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA)).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		activity.setContextDelegate(mockDelegate);
 		// Act:
 		activity.onContentChanged();
 		// Assert:
 		assertThat(activity.onBindViewsInvoked, is(true));
 		assertThat(activity.onBindDataInvoked, is(true));
+		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
 		verify(mockDelegate).setViewCreated(true);
 		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA);
 		verify(mockDelegate).unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
+		verify(mockDelegate).startPostponedEnterTransition();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnContentChangedWhileInflatingContentView() {
+		// Arrange:
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().get();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		when(mockDelegate.isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW)).thenReturn(true);
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onContentChanged();
+		// Assert:
+		assertThat(activity.onBindViewsInvoked, is(false));
+		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testAsyncContentViewInflationEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setAsyncContentViewInflationEnabled(true);
+		// Assert:
+		verify(mockDelegate).setAsyncContentViewInflationEnabled(true);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testTaskManager() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TaskManager taskManager = new TaskManager();
+		when(mockDelegate.getTaskManager()).thenReturn(taskManager);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act + Assert:
+		assertThat(activity.getTaskManager(), is(taskManager));
+		verify(mockDelegate).getTaskManager();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testLoaderRestartWindow() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setLoaderRestartWindow(300);
+		// Assert:
+		verify(mockDelegate).setLoaderRestartWindow(300);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testFragmentPrefetchingEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setFragmentPrefetchingEnabled(true);
+		// Assert:
+		verify(mockDelegate).setFragmentPrefetchingEnabled(true);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testPrefetchFragments() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.prefetchFragments(1, 2);
+		// Assert:
+		verify(mockDelegate).prefetchFragments(1, 2);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testPostponeEnterTransitionUntilDataBound() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.postponeEnterTransitionUntilDataBound(500);
+		// Assert:
+		verify(mockDelegate).postponeEnterTransition(500);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testGetEnterTransitionPostponedDuration() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.getEnterTransitionPostponedDuration()).thenReturn(120L);
+		// Act + Assert:
+		assertThat(activity.getEnterTransitionPostponedDuration(), is(120L));
+		verify(mockDelegate).getEnterTransitionPostponedDuration();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOptionsMenuCachingEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setOptionsMenuCachingEnabled(true);
+		// Assert:
+		verify(mockDelegate).setOptionsMenuCachingEnabled(true);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnCreateContentViewPlaceholder() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		// Act + Assert:
+		assertThat(activity.onCreateContentViewPlaceholder(), is(nullValue()));
+	}
+
+	@Test public void testOnContentViewInflated() {
+		// Arrange:
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().get();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		when(mockDelegate.isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW)).thenReturn(true);
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onContentViewInflated(new FrameLayout(activity));
+		// Assert:
+		verify(mockDelegate, times(2)).isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
+		verify(mockDelegate).unregisterRequest(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
+	}
+
+	@Test public void testOnContentViewInflatedWhenNotRequested() {
+		// Arrange:
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().get();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onContentViewInflated(new FrameLayout(activity));
+		// Assert:
+		assertThat(activity.onBindViewsInvoked, is(false));
+		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_INFLATE_CONTENT_VIEW);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -320,11 +490,44 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		// Act:
 		activity.onResume();
 		// Assert:
-		verify(mockDelegate).setStateSaved(false);
-		verify(mockDelegate).setPaused(false);
+		final InOrder inOrder = inOrder(mockDelegate);
+		inOrder.verify(mockDelegate).invalidatePermissionStates();
+		inOrder.verify(mockDelegate).setStateSaved(false);
+		inOrder.verify(mockDelegate).setPaused(false);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testLifecycleWithoutDialogsDoesNotAllocateMoreThanPlainActivity() {
+		assumeTrue(AllocationCounter.isExpectedToBeSupported());
+		// Arrange:
+		final PlainActivity plainActivity = Robolectric.buildActivity(PlainActivity.class).create().start().resume().get();
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().resume().get();
+		final Bundle plainState = new Bundle();
+		final Bundle state = new Bundle();
+		final Runnable plainLifecycle = new Runnable() {
+
+			@Override public void run() {
+				plainActivity.onPause();
+				plainActivity.onSaveInstanceState(plainState);
+				plainActivity.onResume();
+			}
+		};
+		final Runnable lifecycle = new Runnable() {
+
+			@Override public void run() {
+				activity.onPause();
+				activity.onSaveInstanceState(state);
+				activity.onResume();
+			}
+		};
+		// Act:
+		final long plainAllocatedBytes = AllocationCounter.measure(plainLifecycle, 5);
+		final long allocatedBytes = AllocationCounter.measure(lifecycle, 5);
+		// Assert:
+		assertThat(allocatedBytes, is(lessThanOrEqualTo(plainAllocatedBytes)));
+		assertThat(activity.getContextDelegate().hasDialogController(), is(false));
+	}
+
 	@Test public void testRequestBindData() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -335,6 +538,7 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.requestBindData();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(false));
+		verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		verify(mockDelegate).isViewCreated();
 		verify(mockDelegate).registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
 		verifyNoMoreInteractions(mockDelegate);
@@ -345,12 +549,17 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		final TestActivity activity = new TestActivity();
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
 		when(mockDelegate.isViewCreated()).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		activity.setContextDelegate(mockDelegate);
 		// Act:
 		activity.requestBindData();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(true));
+		verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		verify(mockDelegate).isViewCreated();
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
+		verify(mockDelegate).startPostponedEnterTransition();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -364,6 +573,26 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		assertThat(activity.onBindDataInvoked, is(true));
 	}
 
+	@Test public void testRequestBindDataFromMultipleBackgroundThreadsUsesSingleDelegate() throws Throwable {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			final int section = 1 << i;
+			threads[i] = new Thread(new Runnable() {
+
+				@Override public void run() {
+					activity.requestBindData(section);
+				}
+			});
+		}
+		// Act:
+		for (final Thread thread : threads) thread.start();
+		for (final Thread thread : threads) thread.join();
+		// Assert:
+		assertThat(activity.getContextDelegate().consumeDirtyDataSections(), is(0xFF));
+	}
+
 	@Test public void testIsActiveNetworkConnected() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -386,6 +615,32 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testRegisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		activity.registerOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).registerOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testUnregisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		activity.unregisterOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).unregisterOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testCheckSelfPermission() {
 		// Arrange:
 		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().resume().get();
@@ -426,7 +681,8 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		// Act:
 		activity.onRequestPermissionsResult(1, new String[0], new int[0]);
 		// Assert:
-		verifyZeroInteractions(mockDelegate);
+		verify(mockDelegate).invalidatePermissionStates();
+		verifyNoMoreInteractions(mockDelegate);
 	}
 
 	@Test public void testShowDialogWithId() {
@@ -506,6 +762,26 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testOnAttachFragment() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final Fragment mockFragment = mock(TestFragment.class);
+		// Act:
+		activity.onAttachFragment(mockFragment);
+		// Assert:
+		verify(mockDelegate).onFragmentAttached(mockFragment);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnAttachFragmentWithoutDelegateCreated() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		// Act:
+		activity.onAttachFragment(mock(TestFragment.class));
+	}
+
 	@Test public void testOnBackPressed() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -517,6 +793,8 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.onBackPressed();
 		// Assert:
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verify(mockDelegate).finishWithNavigationalTransition();
@@ -534,6 +812,8 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.onBackPressed();
 		// Assert:
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verify(mockDelegate, times(0)).finishWithNavigationalTransition();
@@ -549,11 +829,42 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(false));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testOnBackPressHandledByFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.onBackPress(), is(true));
+		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnBackPressNotHandledByFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(false);
+		when(mockDelegate.hasBackPressWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.onBackPress(), is(false));
+		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
+		verify(mockDelegate).popFragmentsBackStack();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testOnBackPressHandledByCurrentFragment() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -565,6 +876,8 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(true));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verifyNoMoreInteractions(mockDelegate);
 		verify(mockFragment).dispatchBackPress();
@@ -582,6 +895,8 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(false));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verifyNoMoreInteractions(mockDelegate);
@@ -606,6 +921,18 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 	}
 
 	@Test public void testDispatchBackPressToFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.dispatchBackPressToFragments(), is(true));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testDispatchBackPressToFragmentsWithoutRegisteredWatchers() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
@@ -615,12 +942,67 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		when(mockDelegate.findCurrentFragment()).thenReturn(mockFragment);
 		// Act + Assert:
 		assertThat(activity.dispatchBackPressToFragments(), is(true));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verifyNoMoreInteractions(mockDelegate);
 		verify(mockFragment).dispatchBackPress();
 		verifyNoMoreInteractions(mockFragment);
 	}
 
+	@Test public void testDispatchBackPressToFragmentsWithRegisteredWatchersDoesNotLookUpCurrentFragment() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final TestBackPressWatcherFragment mockFragment = mock(TestBackPressWatcherFragment.class);
+		when(mockFragment.dispatchBackPress()).thenReturn(true);
+		when(mockDelegate.findCurrentFragment()).thenReturn(mockFragment);
+		when(mockDelegate.hasBackPressWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.dispatchBackPressToFragments(), is(false));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+		verifyZeroInteractions(mockFragment);
+	}
+
+	@Test public void testDispatchBackPressToFragmentsUsesCachedCurrentFragment() {
+		// Arrange:
+		final FragmentManager mockManager = mock(FragmentManager.class);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mockManager);
+		final TestBackPressWatcherFragment mockFragment = mock(TestBackPressWatcherFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		final FragmentController mockController = mock(FragmentController.class);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(delegate);
+		// Act + Assert:
+		activity.dispatchBackPressToFragments();
+		activity.dispatchBackPressToFragments();
+		verify(mockController).findCurrentFragment();
+		activity.onAttachFragment(mock(TestFragment.class));
+		activity.dispatchBackPressToFragments();
+		verify(mockController, times(2)).findCurrentFragment();
+		verify(mockFragment, times(3)).dispatchBackPress();
+	}
+
+	@Test public void testGetBackPressWatcherRegistry() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		when(mockDelegate.getBackPressWatcherRegistry()).thenReturn(registry);
+		// Act + Assert:
+		assertThat(activity.getBackPressWatcherRegistry(), is(registry));
+		verify(mockDelegate).getBackPressWatcherRegistry();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testDispatchBackPressToCurrentFragment() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -713,6 +1095,7 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.onSaveInstanceState(savedState);
 		// Assert:
 		verify(mockDelegate).setStateSaved(true);
+		verify(mockDelegate).saveInstanceState(savedState);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -728,6 +1111,7 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 		activity.onSaveInstanceState(savedState, savedStatePersistable);
 		// Assert:
 		verify(mockDelegate, times(2)).setStateSaved(true);
+		verify(mockDelegate).saveInstanceState(savedState);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -765,9 +1149,45 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 			homeAsUpIndicator = android.R.drawable.ic_delete
 	)
 	@ContentView(android.R.layout.simple_list_item_1)
+	@Test public void testOnTrimMemory() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		// Assert:
+		verify(mockDelegate).trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		verifyNoMoreInteractions(mockDelegate);
+		assertThat(activity.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+	}
+
+	@Test public void testOnTrimMemoryWithoutContextDelegateInitialized() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		// Act:
+		activity.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		// Assert:
+		assertThat(activity.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+	}
+
+	@Test public void testOnLowMemory() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onLowMemory();
+		// Assert:
+		verify(mockDelegate).trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		verifyNoMoreInteractions(mockDelegate);
+		assertThat(activity.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_COMPLETE));
+	}
+
 	public static final class TestActivity extends UniversiActivity {
 
 		boolean onBindViewsInvoked, onBindDataInvoked;
+		int releasedCachesLevel = -1;
 
 		@Override protected void onBindViews() {
 			super.onBindViews();
@@ -778,6 +1198,35 @@ public final class UniversiActivityTest extends RobolectricTestCase {
 			super.onBindData();
 			this.onBindDataInvoked = true;
 		}
+
+		@Override protected void onReleaseCaches(final int level) {
+			super.onReleaseCaches(level);
+			this.releasedCachesLevel = level;
+		}
+	}
+
+	public static final class PlainActivity extends Activity {
+
+		@Override public void onResume() {
+			super.onResume();
+		}
+
+		@Override public void onSaveInstanceState(final Bundle state) {
+			super.onSaveInstanceState(state);
+		}
+
+		@Override public void onPause() {
+			super.onPause();
+		}
+	}
+
+	public static final class PreparedHandlerActivity extends UniversiActivity {
+
+		static final ActionBarFragmentAnnotationHandler ANNOTATION_HANDLER = mock(ActionBarFragmentAnnotationHandler.class);
+
+		@Override protected ActionBarFragmentAnnotationHandler onCreateAnnotationHandler() {
+			return ANNOTATION_HANDLER;
+		}
 	}
 
 	public static abstract class TestBackPressWatcherFragment extends TestFragment implements BackPressWatcher {}
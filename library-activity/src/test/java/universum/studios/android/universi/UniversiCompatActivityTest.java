@@ -18,7 +18,9 @@
  */
 package universum.studios.android.universi;
 
+import android.app.Activity;
 import android.app.Fragment;
+import android.app.FragmentManager;
 import android.app.LoaderManager;
 import android.net.ConnectivityManager;
 import android.os.Build;
@@ -29,7 +31,9 @@ import android.view.Menu;
 
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.robolectric.Robolectric;
+import org.robolectric.android.controller.ActivityController;
 import org.robolectric.annotation.Config;
 
 import universum.studios.android.dialog.DialogOptions;
@@ -53,6 +57,7 @@ import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -79,12 +84,16 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		final TestActivity activity = new TestActivity();
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
 		when(mockDelegate.isViewCreated()).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		activity.setContextDelegate(mockDelegate);
 		// Act:
 		activity.REQUEST_BIND_DATA_INNER.run();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(true));
 		verify(mockDelegate).isViewCreated();
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
+		verify(mockDelegate).startPostponedEnterTransition();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -113,6 +122,13 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		assertThat(activity.getAnnotationHandler(), is(not(nullValue())));
 	}
 
+	@Test public void testAnnotationHandlerProvidedByInheritanceHierarchy() {
+		// Act:
+		final PreparedHandlerActivity activity = new PreparedHandlerActivity();
+		// Assert:
+		assertThat(activity.getAnnotationHandler(), is(PreparedHandlerActivity.ANNOTATION_HANDLER));
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void testAnnotationHandlerWhenAnnotationsAreDisabled() {
 		// Arrange:
@@ -277,7 +293,121 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 
 	@Test public void testOnContentChangedWithRequestToBindData() {}
 
-	@Test public void testOnResume() {}
+	@Test public void testTaskManager() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TaskManager taskManager = new TaskManager();
+		when(mockDelegate.getTaskManager()).thenReturn(taskManager);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act + Assert:
+		assertThat(activity.getTaskManager(), is(taskManager));
+		verify(mockDelegate).getTaskManager();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testLoaderRestartWindow() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setLoaderRestartWindow(300);
+		// Assert:
+		verify(mockDelegate).setLoaderRestartWindow(300);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testFragmentPrefetchingEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setFragmentPrefetchingEnabled(true);
+		// Assert:
+		verify(mockDelegate).setFragmentPrefetchingEnabled(true);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testPrefetchFragments() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.prefetchFragments(1, 2);
+		// Assert:
+		verify(mockDelegate).prefetchFragments(1, 2);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testPostponeEnterTransitionUntilDataBound() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.postponeEnterTransitionUntilDataBound(500);
+		// Assert:
+		verify(mockDelegate).postponeEnterTransition(500);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testGetEnterTransitionPostponedDuration() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.getEnterTransitionPostponedDuration()).thenReturn(120L);
+		// Act + Assert:
+		assertThat(activity.getEnterTransitionPostponedDuration(), is(120L));
+		verify(mockDelegate).getEnterTransitionPostponedDuration();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOptionsMenuCachingEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.setOptionsMenuCachingEnabled(true);
+		// Assert:
+		verify(mockDelegate).setOptionsMenuCachingEnabled(true);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnResume() {
+		// Arrange:
+		final TestActivity activity = Robolectric.buildActivity(TestActivity.class).create().start().get();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		// Act:
+		activity.onResume();
+		// Assert:
+		final InOrder inOrder = inOrder(mockDelegate);
+		inOrder.verify(mockDelegate).invalidatePermissionStates();
+		inOrder.verify(mockDelegate).setStateSaved(false);
+		inOrder.verify(mockDelegate).setPaused(false);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testDialogRequestDeferredWhileStateSavedIsReplayedOnResume() {
+		// Arrange:
+		final ActivityController<TestActivity> controller = Robolectric.buildActivity(TestActivity.class).create().start().resume();
+		final TestActivity activity = controller.get();
+		final UniversiActivityDelegate delegate = UniversiActivityDelegate.create(activity);
+		activity.setContextDelegate(delegate);
+		activity.setDialogFactory(mock(DialogFactory.class));
+		controller.pause().saveInstanceState(new Bundle()).stop();
+		activity.showDialogWithId(1);
+		assertThat(delegate.getPendingDialogRequestsCount(), is(1));
+		// Act:
+		controller.restart().start().resume();
+		// Assert:
+		assertThat(delegate.getPendingDialogRequestsCount(), is(0));
+	}
 
 	@Test public void testRequestBindData() {
 		// Arrange:
@@ -289,6 +419,7 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		activity.requestBindData();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(false));
+		verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		verify(mockDelegate).isViewCreated();
 		verify(mockDelegate).registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
 		verifyNoMoreInteractions(mockDelegate);
@@ -300,11 +431,16 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
 		activity.setContextDelegate(mockDelegate);
 		when(mockDelegate.isViewCreated()).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		// Act:
 		activity.requestBindData();
 		// Assert:
 		assertThat(activity.onBindDataInvoked, is(true));
+		verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		verify(mockDelegate).isViewCreated();
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
+		verify(mockDelegate).startPostponedEnterTransition();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -330,6 +466,32 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testRegisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		activity.registerOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).registerOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testUnregisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		activity.unregisterOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).unregisterOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Config(sdk = Build.VERSION_CODES.M)
 	@Test public void testSupportRequestPermissions() {
 		// Arrange:
@@ -351,7 +513,8 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		// Act:
 		activity.onRequestPermissionsResult(1, new String[0], new int[0]);
 		// Assert:
-		verifyZeroInteractions(mockDelegate);
+		verify(mockDelegate).invalidatePermissionStates();
+		verifyNoMoreInteractions(mockDelegate);
 	}
 
 	@Test public void testShowDialogWithId() {
@@ -431,6 +594,26 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testOnAttachFragment() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final Fragment mockFragment = mock(TestFragment.class);
+		// Act:
+		activity.onAttachFragment(mockFragment);
+		// Assert:
+		verify(mockDelegate).onFragmentAttached(mockFragment);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnAttachFragmentWithoutDelegateCreated() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		// Act:
+		activity.onAttachFragment(mock(TestFragment.class));
+	}
+
 	@Test public void testOnBackPressed() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -442,6 +625,8 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		activity.onBackPressed();
 		// Assert:
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verify(mockDelegate).finishWithNavigationalTransition();
@@ -459,6 +644,8 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		activity.onBackPressed();
 		// Assert:
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verify(mockDelegate, times(0)).finishWithNavigationalTransition();
@@ -474,11 +661,42 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(false));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testOnBackPressHandledByFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.onBackPress(), is(true));
+		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testOnBackPressNotHandledByFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(false);
+		when(mockDelegate.hasBackPressWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.onBackPress(), is(false));
+		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
+		verify(mockDelegate).popFragmentsBackStack();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testOnBackPressHandledByCurrentFragment() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -490,6 +708,8 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(true));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verifyNoMoreInteractions(mockDelegate);
 		verify(mockFragment).dispatchBackPress();
@@ -507,6 +727,8 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		// Act + Assert:
 		assertThat(activity.onBackPress(), is(false));
 		verify(mockDelegate).isPaused();
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verify(mockDelegate).popFragmentsBackStack();
 		verifyNoMoreInteractions(mockDelegate);
@@ -531,6 +753,18 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 	}
 
 	@Test public void testDispatchBackPressToFragments() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		when(mockDelegate.dispatchBackPressToWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.dispatchBackPressToFragments(), is(true));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testDispatchBackPressToFragmentsWithoutRegisteredWatchers() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
 		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
@@ -540,12 +774,67 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		when(mockDelegate.findCurrentFragment()).thenReturn(mockFragment);
 		// Act + Assert:
 		assertThat(activity.dispatchBackPressToFragments(), is(true));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
 		verify(mockDelegate).findCurrentFragment();
 		verifyNoMoreInteractions(mockDelegate);
 		verify(mockFragment).dispatchBackPress();
 		verifyNoMoreInteractions(mockFragment);
 	}
 
+	@Test public void testDispatchBackPressToFragmentsWithRegisteredWatchersDoesNotLookUpCurrentFragment() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final TestBackPressWatcherFragment mockFragment = mock(TestBackPressWatcherFragment.class);
+		when(mockFragment.dispatchBackPress()).thenReturn(true);
+		when(mockDelegate.findCurrentFragment()).thenReturn(mockFragment);
+		when(mockDelegate.hasBackPressWatchers()).thenReturn(true);
+		// Act + Assert:
+		assertThat(activity.dispatchBackPressToFragments(), is(false));
+		verify(mockDelegate).dispatchBackPressToWatchers();
+		verify(mockDelegate).hasBackPressWatchers();
+		verifyNoMoreInteractions(mockDelegate);
+		verifyZeroInteractions(mockFragment);
+	}
+
+	@Test public void testDispatchBackPressToFragmentsUsesCachedCurrentFragment() {
+		// Arrange:
+		final FragmentManager mockManager = mock(FragmentManager.class);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mockManager);
+		final TestBackPressWatcherFragment mockFragment = mock(TestBackPressWatcherFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		final FragmentController mockController = mock(FragmentController.class);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		final TestActivity activity = new TestActivity();
+		activity.setContextDelegate(delegate);
+		// Act + Assert:
+		activity.dispatchBackPressToFragments();
+		activity.dispatchBackPressToFragments();
+		verify(mockController).findCurrentFragment();
+		activity.onAttachFragment(mock(TestFragment.class));
+		activity.dispatchBackPressToFragments();
+		verify(mockController, times(2)).findCurrentFragment();
+		verify(mockFragment, times(3)).dispatchBackPress();
+	}
+
+	@Test public void testGetBackPressWatcherRegistry() {
+		// Arrange:
+		final TestActivity activity = new TestActivity();
+		final UniversiActivityDelegate mockDelegate = mock(UniversiActivityDelegate.class);
+		activity.setContextDelegate(mockDelegate);
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		when(mockDelegate.getBackPressWatcherRegistry()).thenReturn(registry);
+		// Act + Assert:
+		assertThat(activity.getBackPressWatcherRegistry(), is(registry));
+		verify(mockDelegate).getBackPressWatcherRegistry();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testDispatchBackPressToCurrentFragment() {
 		// Arrange:
 		final TestActivity activity = new TestActivity();
@@ -639,6 +928,7 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		activity.onSaveInstanceState(savedState);
 		// Assert:
 		verify(mockDelegate).setStateSaved(true);
+		verify(mockDelegate).saveInstanceState(savedState);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -655,6 +945,7 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		activity.onSaveInstanceState(savedState, savedStatePersistable);
 		// Assert:
 		verify(mockDelegate, times(2)).setStateSaved(true);
+		verify(mockDelegate).saveInstanceState(savedState);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -696,5 +987,14 @@ public final class UniversiCompatActivityTest extends RobolectricTestCase {
 		}
 	}
 
+	public static final class PreparedHandlerActivity extends UniversiCompatActivity {
+
+		static final ActionBarFragmentAnnotationHandler ANNOTATION_HANDLER = mock(ActionBarFragmentAnnotationHandler.class);
+
+		@Override protected ActionBarFragmentAnnotationHandler onCreateAnnotationHandler() {
+			return ANNOTATION_HANDLER;
+		}
+	}
+
 	public static abstract class TestBackPressWatcherFragment extends TestFragment implements BackPressWatcher {}
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+
+import universum.studios.android.fragment.BackPressWatcher;
+
+/**
+ * Registry of {@link BackPressWatcher BackPressWatchers} to which should be dispatched back press
+ * events within context of a single activity.
+ * <p>
+ * Watchers, like fragments at any level of nesting, register themselves via {@link #register(BackPressWatcher)}
+ * whenever they become resumed and visible and unregister via {@link #unregister(BackPressWatcher)}
+ * whenever they are paused or hidden. Back press events are dispatched via {@link #dispatchBackPress()}
+ * to the registered watchers starting with the most recently registered one, which for nested
+ * fragments is the deepest resumed child, until one of them consumes the event.
+ * <p>
+ * Watchers are held in an array ordered at registration time, so dispatching of back press event
+ * requires no traversal of fragments hierarchy and no allocations.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiActivityDelegate#getBackPressWatcherRegistry()
+ */
+public final class BackPressWatcherRegistry {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "BackPressWatcherRegistry";
+
+	/**
+	 * Empty array of watchers.
+	 */
+	private static final BackPressWatcher[] EMPTY_WATCHERS = new BackPressWatcher[0];
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Interface for hosts, like activities, that provide registry of back press watchers for their
+	 * fragments.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface Host {
+
+		/**
+		 * Returns the registry into which should fragments of this host register themselves in
+		 * order to receive back press events.
+		 *
+		 * @return Back press watcher registry of this host.
+		 */
+		@NonNull BackPressWatcherRegistry getBackPressWatcherRegistry();
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Registered watchers ordered from the most recently registered one.
+	 */
+	private BackPressWatcher[] watchers = EMPTY_WATCHERS;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of empty BackPressWatcherRegistry.
+	 */
+	BackPressWatcherRegistry() {
+		// Registry is created only by the activity delegate.
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Registers the specified <var>watcher</var> to receive back press events before all watchers
+	 * registered before it. If the watcher is already registered, this method does nothing.
+	 *
+	 * @param watcher The desired watcher to register.
+	 *
+	 * @see #unregister(BackPressWatcher)
+	 */
+	@UiThread public void register(@NonNull final BackPressWatcher watcher) {
+		if (indexOf(watcher) != -1) {
+			return;
+		}
+		final BackPressWatcher[] newWatchers = new BackPressWatcher[watchers.length + 1];
+		newWatchers[0] = watcher;
+		System.arraycopy(watchers, 0, newWatchers, 1, watchers.length);
+		this.watchers = newWatchers;
+	}
+
+	/**
+	 * Unregisters the specified <var>watcher</var>, so it will not receive back press events anymore.
+	 *
+	 * @param watcher The desired watcher to unregister.
+	 *
+	 * @see #register(BackPressWatcher)
+	 */
+	@UiThread public void unregister(@NonNull final BackPressWatcher watcher) {
+		final int index = indexOf(watcher);
+		if (index == -1) {
+			return;
+		}
+		if (watchers.length == 1) {
+			this.watchers = EMPTY_WATCHERS;
+			return;
+		}
+		final BackPressWatcher[] newWatchers = new BackPressWatcher[watchers.length - 1];
+		System.arraycopy(watchers, 0, newWatchers, 0, index);
+		System.arraycopy(watchers, index + 1, newWatchers, index, watchers.length - index - 1);
+		this.watchers = newWatchers;
+	}
+
+	/**
+	 * Checks whether the specified <var>watcher</var> is registered.
+	 *
+	 * @param watcher The watcher to check.
+	 * @return {@code True} if the watcher is registered, {@code false} otherwise.
+	 */
+	public boolean isRegistered(@NonNull final BackPressWatcher watcher) {
+		return indexOf(watcher) != -1;
+	}
+
+	/**
+	 * Returns the count of registered watchers.
+	 *
+	 * @return Count of watchers.
+	 */
+	public int size() {
+		return watchers.length;
+	}
+
+	/**
+	 * Returns the index of the specified <var>watcher</var> in the array of registered watchers.
+	 *
+	 * @param watcher The watcher of which index to find.
+	 * @return Index of the watcher or {@code -1} if it is not registered.
+	 */
+	private int indexOf(final BackPressWatcher watcher) {
+		for (int i = 0; i < watchers.length; i++) {
+			if (watchers[i] == watcher) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Dispatches back press event to the registered watchers starting with the most recently
+	 * registered one until one of them consumes the event.
+	 *
+	 * @return {@code True} if one of the watchers has consumed the event, {@code false} otherwise.
+	 */
+	@UiThread public boolean dispatchBackPress() {
+		final BackPressWatcher[] watchers = this.watchers;
+		for (final BackPressWatcher watcher : watchers) {
+			if (watcher.dispatchBackPress()) return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,232 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.view.Choreographer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler that coalesces data binding requests made from background threads into a single
+ * binding pass executed on the main thread, aligned with the next frame via {@link Choreographer}
+ * (on {@link Build.VERSION_CODES#JELLY_BEAN JELLY_BEAN} and above).
+ * <p>
+ * Whether there is already a binding pass scheduled is tracked via {@link UniversiContextDelegate#REQUEST_BIND_DATA_SCHEDULED}
+ * request flag of the associated delegate, so any requests made until the scheduled pass is executed
+ * are collapsed into that single pass. Count of executed and coalesced requests may be obtained via
+ * {@link #getExecutedCount()} and {@link #getCoalescedCount()}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiContextDelegate#getBindDataScheduler()
+ */
+public final class BindDataScheduler {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "BindDataScheduler";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Delegate of which request flags are used to track whether there is binding pass scheduled.
+	 */
+	private final UniversiContextDelegate delegate;
+
+	/**
+	 * Handler used to post scheduled binding passes on the main thread.
+	 */
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * Count of binding requests that have been executed.
+	 */
+	private final AtomicInteger executedCount = new AtomicInteger();
+
+	/**
+	 * Count of binding requests that have been coalesced into already scheduled binding pass.
+	 */
+	private final AtomicInteger coalescedCount = new AtomicInteger();
+
+	/**
+	 * Callback to be invoked for the scheduled binding pass. The latest one specified wins.
+	 */
+	private volatile Runnable bindCallback;
+
+	/**
+	 * Callback used to post the binding pass to the next frame via Choreographer.
+	 */
+	private Object frameCallback;
+
+	/**
+	 * Runnable that posts the binding pass to the next frame or dispatches it immediately when
+	 * Choreographer is not available.
+	 */
+	private final Runnable POST_TO_FRAME = new Runnable() {
+
+		/**
+		 */
+		@Override public void run() {
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+				if (frameCallback == null) frameCallback = new FrameCallback(BindDataScheduler.this);
+				Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) frameCallback);
+			} else {
+				dispatch();
+			}
+		}
+	};
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of BindDataScheduler for the specified <var>delegate</var>.
+	 *
+	 * @param delegate The delegate of which request flags should be used to track pending state of
+	 *                 the scheduled binding pass.
+	 */
+	BindDataScheduler(@NonNull final UniversiContextDelegate delegate) {
+		this.delegate = delegate;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Schedules a binding pass that will invoke the specified <var>callback</var> on the main thread
+	 * when the next frame is being rendered. If there is already binding pass scheduled, this request
+	 * will be coalesced into that pass.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @param callback The callback to be invoked for the binding pass.
+	 * @return {@code True} if a new binding pass has been scheduled, {@code false} if the request
+	 * has been coalesced into an already scheduled one.
+	 */
+	public boolean schedule(@NonNull final Runnable callback) {
+		this.bindCallback = callback;
+		if (delegate.registerRequestIfNotRegistered(UniversiContextDelegate.REQUEST_BIND_DATA_SCHEDULED)) {
+			this.handler.post(POST_TO_FRAME);
+			return true;
+		}
+		this.coalescedCount.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Checks whether there is a binding pass scheduled at this time.
+	 *
+	 * @return {@code True} if there is a binding pass pending, {@code false} otherwise.
+	 */
+	public boolean isScheduled() {
+		return delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA_SCHEDULED);
+	}
+
+	/**
+	 * Dispatches the scheduled binding pass.
+	 */
+	void dispatch() {
+		if (!delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA_SCHEDULED)) {
+			return;
+		}
+		this.delegate.unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA_SCHEDULED);
+		final Runnable callback = bindCallback;
+		if (callback != null) {
+			this.executedCount.incrementAndGet();
+			callback.run();
+		}
+	}
+
+	/**
+	 * Returns the count of binding requests that have been executed by this scheduler.
+	 *
+	 * @return Count of executed requests.
+	 *
+	 * @see #getCoalescedCount()
+	 */
+	public int getExecutedCount() {
+		return executedCount.get();
+	}
+
+	/**
+	 * Returns the count of binding requests that have been coalesced into an already scheduled
+	 * binding pass, that is, requests that did not result in additional binding.
+	 *
+	 * @return Count of coalesced requests.
+	 *
+	 * @see #getExecutedCount()
+	 */
+	public int getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Frame callback that dispatches the scheduled binding pass of its parent scheduler.
+	 */
+	@RequiresApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static final class FrameCallback implements Choreographer.FrameCallback {
+
+		/**
+		 * Scheduler of which binding pass to dispatch.
+		 */
+		private final BindDataScheduler scheduler;
+
+		/**
+		 * Creates a new instance of FrameCallback for the specified <var>scheduler</var>.
+		 *
+		 * @param scheduler The scheduler of which binding pass to dispatch.
+		 */
+		FrameCallback(final BindDataScheduler scheduler) {
+			this.scheduler = scheduler;
+		}
+
+		/**
+		 */
+		@Override public void doFrame(final long frameTimeNanos) {
+			scheduler.dispatch();
+		}
+	}
+}
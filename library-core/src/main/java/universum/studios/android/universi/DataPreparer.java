@@ -0,0 +1,303 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preparer that runs the first phase of two-phase data binding. Data for the requested sections
+ * are prepared via {@link Callback#onPrepareData(int)} on a background thread and then applied
+ * via {@link Callback#onDataPrepared(int)} on the main thread.
+ * <p>
+ * Only the latest preparation is delivered. Whenever a new preparation is requested while there is
+ * another one still running, the stale one is cancelled and its sections are merged into the new
+ * one. Preparation is also cancelled via {@link #cancel()} whenever view hierarchy of the associated
+ * context is destroyed and results of preparations finished after that are dropped.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiContextDelegate#getDataPreparer()
+ */
+public final class DataPreparer {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "DataPreparer";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Callback used by {@link DataPreparer} to prepare and then to apply data for requested sections.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface Callback {
+
+		/**
+		 * Invoked on a background thread to prepare data for the specified <var>sections</var>.
+		 * <p>
+		 * <b>Note</b> that this must not touch any views.
+		 *
+		 * @param sections The data sections for which to prepare data.
+		 */
+		@WorkerThread void onPrepareData(int sections);
+
+		/**
+		 * Invoked on the main thread after data for the specified <var>sections</var> have been
+		 * successfully prepared and the preparation has not been cancelled.
+		 *
+		 * @param sections The data sections for which have been data prepared.
+		 */
+		@UiThread void onDataPrepared(int sections);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Delegate used to check whether view hierarchy of the associated context is still created.
+	 */
+	private final UniversiContextDelegate delegate;
+
+	/**
+	 * Executor used to run preparations.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Handler used to deliver finished preparations on the main thread.
+	 */
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * Generation of the latest requested preparation. Results of preparations with different
+	 * generation are stale.
+	 */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Sections of the currently running preparation.
+	 */
+	private int preparingSections;
+
+	/**
+	 * Future of the currently running preparation.
+	 */
+	private Future<?> future;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Same as {@link #DataPreparer(UniversiContextDelegate, ExecutorService)} with {@link UniversiExecutors#background()}.
+	 */
+	DataPreparer(@NonNull final UniversiContextDelegate delegate) {
+		this(delegate, UniversiExecutors.background());
+	}
+
+	/**
+	 * Creates a new instance of DataPreparer for the specified <var>delegate</var>.
+	 *
+	 * @param delegate The delegate of the context for which to prepare data.
+	 * @param executor The executor to be used to run preparations.
+	 */
+	@VisibleForTesting DataPreparer(@NonNull final UniversiContextDelegate delegate, @NonNull final ExecutorService executor) {
+		this.delegate = delegate;
+		this.executor = executor;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Starts preparation of data for the specified <var>sections</var>. If there is already
+	 * preparation running, it is cancelled and its sections are merged into the new preparation.
+	 *
+	 * @param sections The data sections for which to prepare data.
+	 * @param callback The callback to be used to prepare and apply the data.
+	 */
+	@UiThread public void prepare(final int sections, @NonNull final Callback callback) {
+		final int mergedSections = sections | cancel();
+		this.preparingSections = mergedSections;
+		this.future = executor.submit(new PrepareTask(this, generation.get(), mergedSections, callback));
+	}
+
+	/**
+	 * Checks whether there is preparation running at this time.
+	 *
+	 * @return {@code True} if data are being prepared, {@code false} otherwise.
+	 */
+	@UiThread public boolean isPreparing() {
+		return future != null;
+	}
+
+	/**
+	 * Cancels the currently running preparation (if any). Results of such preparation will not be
+	 * delivered.
+	 *
+	 * @return Sections of the cancelled preparation or {@code 0} if there was no preparation running.
+	 */
+	@UiThread public int cancel() {
+		this.generation.incrementAndGet();
+		final int cancelledSections = preparingSections;
+		if (future != null) {
+			this.future.cancel(true);
+			this.future = null;
+		}
+		this.preparingSections = 0;
+		return cancelledSections;
+	}
+
+	/**
+	 * Invoked on the main thread whenever preparation with the specified <var>preparationGeneration</var>
+	 * is finished.
+	 *
+	 * @param preparationGeneration Generation of the finished preparation.
+	 * @param sections              Sections of the finished preparation.
+	 * @param callback              Callback of the finished preparation.
+	 */
+	@UiThread void onPreparationFinished(final int preparationGeneration, final int sections, final Callback callback) {
+		if (preparationGeneration != generation.get()) {
+			return;
+		}
+		this.future = null;
+		this.preparingSections = 0;
+		if (delegate.isViewCreated()) {
+			callback.onDataPrepared(sections);
+		}
+	}
+
+	/**
+	 * Invoked on the main thread whenever preparation with the specified <var>preparationGeneration</var>
+	 * has failed. The error is re-thrown only if the preparation has not been cancelled meanwhile
+	 * and the associated context is not destroyed, as cancelled preparations are interrupted and
+	 * may fail just due to that interruption.
+	 *
+	 * @param preparationGeneration Generation of the failed preparation.
+	 * @param error                 The error thrown by the failed preparation.
+	 */
+	@UiThread void onPreparationFailed(final int preparationGeneration, final RuntimeException error) {
+		if (preparationGeneration != generation.get() || delegate.getLifecycleState() == UniversiContextDelegate.STATE_DESTROYED) {
+			return;
+		}
+		this.future = null;
+		this.preparingSections = 0;
+		throw error;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Task that prepares data on a background thread and then posts delivery of the results on
+	 * the main thread.
+	 */
+	private static final class PrepareTask implements Runnable {
+
+		/**
+		 * Preparer that has started this task.
+		 */
+		final DataPreparer preparer;
+
+		/**
+		 * Generation of the preparation performed by this task.
+		 */
+		final int generation;
+
+		/**
+		 * Sections for which this task prepares data.
+		 */
+		final int sections;
+
+		/**
+		 * Callback used to prepare and apply the data.
+		 */
+		final Callback callback;
+
+		/**
+		 * Creates a new instance of PrepareTask with the specified parameters.
+		 */
+		PrepareTask(final DataPreparer preparer, final int generation, final int sections, final Callback callback) {
+			this.preparer = preparer;
+			this.generation = generation;
+			this.sections = sections;
+			this.callback = callback;
+		}
+
+		/**
+		 */
+		@Override public void run() {
+			if (generation != preparer.generation.get()) {
+				return;
+			}
+			// Skip preparation of data that would be never delivered as the associated context is gone.
+			if (preparer.delegate.getLifecycleState() == UniversiContextDelegate.STATE_DESTROYED) {
+				return;
+			}
+			try {
+				callback.onPrepareData(sections);
+			} catch (final RuntimeException error) {
+				// Propagate the error on the main thread so it is not silently swallowed by the executor.
+				preparer.handler.post(new Runnable() {
+
+					/**
+					 */
+					@Override public void run() {
+						preparer.onPreparationFailed(generation, error);
+					}
+				});
+				return;
+			}
+			preparer.handler.post(new Runnable() {
+
+				/**
+				 */
+				@Override public void run() {
+					preparer.onPreparationFinished(generation, sections, callback);
+				}
+			});
+		}
+	}
+}
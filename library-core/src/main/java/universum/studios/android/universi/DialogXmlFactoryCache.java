@@ -0,0 +1,364 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Activity;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.XmlRes;
+import android.view.ContextThemeWrapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import universum.studios.android.dialog.manage.DialogXmlFactory;
+
+/**
+ * Application-scoped cache of {@link DialogXmlFactory} instances shared by all {@link UniversiContextDelegate}
+ * instances, so Xml dialog sets are not parsed again for each activity or fragment that uses them.
+ * <p>
+ * Factories are keyed by resource id of their Xml dialogs set along with theme and configuration of
+ * the context for which they are requested, so screens with different themes or configurations do
+ * not share factories parsed with resources of each other. Each factory is created with a context
+ * derived from the application context, so it does not hold reference to any activity. Count of
+ * cached factories is bounded via LRU policy. The cache is invalidated whenever configuration of
+ * the application changes (for example its locale), so the dialogs are parsed again with the new
+ * configuration. Count of cache hits and misses may be obtained via {@link #getHitCount()} and
+ * {@link #getMissCount()}.
+ * <p>
+ * Xml dialog sets which are expected to be used soon after start of the application may be parsed
+ * ahead on a background thread via {@link #warmUp(int...)}, so the first dialog shown from such set
+ * does not need to wait for parsing on the main thread.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class DialogXmlFactoryCache extends SharedCache<DialogXmlFactoryCache.FactoryKey, DialogXmlFactory> {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "DialogXmlFactoryCache";
+
+	/**
+	 * Maximum count of factories that may be held by the cache.
+	 */
+	private static final int MAX_SIZE = 16;
+
+	/**
+	 * Key under which is cached the factory used to inflate Xml files with a single dialog entry.
+	 */
+	private static final int KEY_SINGLE_DIALOG = 0;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize access to the {@link #instance}.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Application-scoped instance of the cache.
+	 */
+	private static DialogXmlFactoryCache instance;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Theme resources of activities keyed by name of their class, so the theme for each activity
+	 * class is resolved via package manager only once.
+	 */
+	private final Map<String, Integer> activityThemes = new ConcurrentHashMap<>();
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of DialogXmlFactoryCache with the specified <var>context</var>.
+	 *
+	 * @param context The context used to create the cached factories.
+	 */
+	private DialogXmlFactoryCache(final Context context) {
+		super(context, MAX_SIZE);
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Obtains the application-scoped instance of DialogXmlFactoryCache.
+	 *
+	 * @param context Context used to access the application context if the cache is not created yet.
+	 * @return Dialog Xml factory cache ready to be used.
+	 */
+	@NonNull public static DialogXmlFactoryCache obtain(@NonNull final Context context) {
+		synchronized (LOCK) {
+			if (instance == null) {
+				final Context applicationContext = context.getApplicationContext();
+				instance = new DialogXmlFactoryCache(applicationContext == null ? context : applicationContext);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Returns the application-scoped instance of DialogXmlFactoryCache without creating it.
+	 *
+	 * @return The cache instance or {@code null} if it has not been created yet.
+	 */
+	@Nullable static DialogXmlFactoryCache peek() {
+		synchronized (LOCK) {
+			return instance;
+		}
+	}
+
+	/**
+	 * Releases the application-scoped instance of DialogXmlFactoryCache (if created).
+	 */
+	@VisibleForTesting static void release() {
+		synchronized (LOCK) {
+			if (instance != null) {
+				instance.dispose();
+				instance = null;
+			}
+		}
+	}
+
+	/**
+	 * Same as {@link #getFactory(Context, int)} with the application context, that is, with theme
+	 * and configuration of the application.
+	 */
+	@NonNull public DialogXmlFactory getFactory(@XmlRes final int xmlDialogsSet) {
+		return getFactory(context, xmlDialogsSet);
+	}
+
+	/**
+	 * Returns the factory that provides dialogs from the specified <var>xmlDialogsSet</var> with
+	 * theme and configuration of the given <var>context</var>. The factory is created if it is not
+	 * cached yet.
+	 *
+	 * @param context       Context (activity) for which to obtain the factory.
+	 * @param xmlDialogsSet Resource id of the desired Xml file containing Xml dialogs that the
+	 *                      factory should provide.
+	 * @return Dialog Xml factory for the requested set.
+	 */
+	@NonNull public DialogXmlFactory getFactory(@NonNull final Context context, @XmlRes final int xmlDialogsSet) {
+		if (xmlDialogsSet == KEY_SINGLE_DIALOG) {
+			throw new IllegalArgumentException("Resource id of Xml dialogs set must be specified.");
+		}
+		return get(createKey(context, xmlDialogsSet));
+	}
+
+	/**
+	 * Same as {@link #getSingleDialogFactory(Context)} with the application context, that is, with
+	 * theme and configuration of the application.
+	 */
+	@NonNull public DialogXmlFactory getSingleDialogFactory() {
+		return getSingleDialogFactory(context);
+	}
+
+	/**
+	 * Returns the factory that may be used to inflate dialogs from Xml files containing a
+	 * <b>single dialog entry</b> with theme and configuration of the given <var>context</var>.
+	 * The factory is created if it is not cached yet.
+	 *
+	 * @param context Context (activity) for which to obtain the factory.
+	 * @return Dialog Xml factory for single dialogs.
+	 */
+	@NonNull public DialogXmlFactory getSingleDialogFactory(@NonNull final Context context) {
+		return get(createKey(context, KEY_SINGLE_DIALOG));
+	}
+
+	/**
+	 * Creates a key for factory of the specified <var>xmlDialogsSet</var> requested for the given
+	 * <var>context</var>.
+	 *
+	 * @param context       Context for which is the factory requested.
+	 * @param xmlDialogsSet Resource id of Xml dialogs set or {@link #KEY_SINGLE_DIALOG} for single dialogs.
+	 * @return Key identifying the factory in this cache.
+	 */
+	private FactoryKey createKey(final Context context, final int xmlDialogsSet) {
+		return new FactoryKey(xmlDialogsSet, resolveTheme(context), context.getResources().getConfiguration());
+	}
+
+	/**
+	 * Resolves resource id of theme of the given <var>context</var>. For activities this is theme
+	 * declared for the activity in the manifest, for any other context theme of the application.
+	 *
+	 * @param context The context of which theme to resolve.
+	 * @return Resource id of the theme or {@code 0} if there is no theme declared.
+	 */
+	private int resolveTheme(final Context context) {
+		if (!(context instanceof Activity)) {
+			return this.context.getApplicationInfo().theme;
+		}
+		final ComponentName component = ((Activity) context).getComponentName();
+		Integer theme = activityThemes.get(component.getClassName());
+		if (theme == null) {
+			try {
+				theme = context.getPackageManager().getActivityInfo(component, 0).getThemeResource();
+			} catch (PackageManager.NameNotFoundException e) {
+				theme = this.context.getApplicationInfo().theme;
+			}
+			this.activityThemes.put(component.getClassName(), theme);
+		}
+		return theme;
+	}
+
+	/**
+	 * Creates a new factory for the specified <var>key</var>. The factory is created with the
+	 * application context wrapped with theme and configuration of the key.
+	 */
+	@Override DialogXmlFactory createValue(final FactoryKey key) {
+		Context factoryContext = context;
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+			factoryContext = factoryContext.createConfigurationContext(key.configuration);
+		}
+		if (key.theme != 0) {
+			factoryContext = new ContextThemeWrapper(factoryContext, key.theme);
+		}
+		return key.xmlDialogsSet == KEY_SINGLE_DIALOG ?
+				new DialogXmlFactory(factoryContext) :
+				new DialogXmlFactory(factoryContext, key.xmlDialogsSet);
+	}
+
+	/**
+	 * Same as {@link #warmUp(Executor, int...)} with {@link UniversiExecutors#background()} executor.
+	 */
+	public void warmUp(@NonNull @XmlRes final int... xmlDialogsSets) {
+		warmUp(UniversiExecutors.background(), xmlDialogsSets);
+	}
+
+	/**
+	 * Creates factories for the specified <var>xmlDialogsSets</var> and parses their dialogs via
+	 * the given <var>executor</var>, so the first request for such factories via {@link #getFactory(int)}
+	 * is served without any parsing on the main thread. Sets for which are the factories already
+	 * cached are skipped.
+	 * <p>
+	 * <b>Note</b> that only Xml dialog sets may be parsed ahead. Xml files with a single dialog
+	 * entry are parsed by {@link DialogXmlFactory} whenever a dialog is being created from them.
+	 * Also the factories are parsed with theme and configuration of the application, so they serve
+	 * only requests made via {@link #getFactory(int)} or from activities with the application theme.
+	 *
+	 * @param executor       The executor used to parse the sets.
+	 * @param xmlDialogsSets Resource ids of the desired Xml dialog sets to parse.
+	 */
+	public void warmUp(@NonNull final Executor executor, @NonNull @XmlRes final int... xmlDialogsSets) {
+		final FactoryKey[] keys = new FactoryKey[xmlDialogsSets.length];
+		for (int i = 0; i < xmlDialogsSets.length; i++) {
+			keys[i] = createKey(context, xmlDialogsSets[i]);
+		}
+		warmUpValues(executor, keys);
+	}
+
+	/**
+	 * Creates factory for the specified <var>key</var> and parses its dialogs. Factories for Xml
+	 * files with a single dialog entry are not prepared.
+	 */
+	@Override DialogXmlFactory prepareValue(final FactoryKey key) {
+		if (key.xmlDialogsSet == KEY_SINGLE_DIALOG) {
+			return null;
+		}
+		final DialogXmlFactory factory = createValue(key);
+		try {
+			// Querying of any dialog forces the factory to parse its Xml dialogs set.
+			factory.isDialogProvided(0);
+		} catch (Resources.NotFoundException e) {
+			// Let the error be thrown whenever the set is actually requested on the main thread.
+			return null;
+		}
+		return factory;
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Key identifying a factory in the cache by resource id of its Xml dialogs set, theme and
+	 * configuration.
+	 */
+	static final class FactoryKey {
+
+		/**
+		 * Resource id of Xml dialogs set of the factory.
+		 */
+		final int xmlDialogsSet;
+
+		/**
+		 * Resource id of theme with which is the factory created.
+		 */
+		final int theme;
+
+		/**
+		 * Configuration with which is the factory created.
+		 */
+		final Configuration configuration;
+
+		/**
+		 * Creates a new instance of FactoryKey with the specified values. The given configuration
+		 * is copied as configuration of a context may change.
+		 */
+		FactoryKey(final int xmlDialogsSet, final int theme, final Configuration configuration) {
+			this.xmlDialogsSet = xmlDialogsSet;
+			this.theme = theme;
+			this.configuration = new Configuration(configuration);
+		}
+
+		/**
+		 */
+		@Override public int hashCode() {
+			int hash = xmlDialogsSet;
+			hash = 31 * hash + theme;
+			hash = 31 * hash + configuration.hashCode();
+			return hash;
+		}
+
+		/**
+		 */
+		@Override public boolean equals(final Object other) {
+			if (other == this) return true;
+			if (!(other instanceof FactoryKey)) return false;
+			final FactoryKey key = (FactoryKey) other;
+			return xmlDialogsSet == key.xmlDialogsSet && theme == key.theme && configuration.equals(key.configuration);
+		}
+	}
+}
@@ -0,0 +1,331 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Fragment;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.VisibleForTesting;
+import android.util.LruCache;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import universum.studios.android.fragment.manage.FragmentController;
+import universum.studios.android.fragment.manage.FragmentFactory;
+
+/**
+ * A {@link FragmentFactory} wrapper that instantiates fragments which are likely to be shown next
+ * ahead of time while the main thread is idle, so navigation between them via {@link FragmentController}
+ * does not need to pay for their instantiation.
+ * <p>
+ * Ids of fragments to be prefetched may be requested via {@link #prefetch(int...)}. Such fragments
+ * are then created via the wrapped factory one by one whenever the message queue of the main thread
+ * becomes idle and are held in a pool bounded via LRU policy until they are requested via
+ * {@link #createFragment(int)}. Each prefetched instance is handed out only once. The pool is
+ * trimmed or evicted whenever the system requests to trim memory. Count of pool hits and misses may
+ * be obtained via {@link #getHitCount()} and {@link #getMissCount()}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiActivityDelegate#setFragmentPrefetchingEnabled(boolean)
+ */
+public final class FragmentPrefetcher implements FragmentFactory {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "FragmentPrefetcher";
+
+	/**
+	 * Default maximum count of prefetched fragments that may be held by the prefetcher.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 3;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Context with which are registered component callbacks of this prefetcher.
+	 */
+	private final Context context;
+
+	/**
+	 * Pool holding the prefetched fragments keyed by their ids.
+	 */
+	private final LruCache<Integer, Fragment> fragments;
+
+	/**
+	 * Queue with ids of fragments waiting to be prefetched.
+	 */
+	private final Queue<Integer> pendingFragmentIds = new ArrayDeque<>();
+
+	/**
+	 * Factory used to create fragment instances.
+	 */
+	private FragmentFactory factory;
+
+	/**
+	 * Boolean flag indicating whether the {@link #idleHandler} is registered at this time.
+	 */
+	private boolean idleHandlerRegistered;
+
+	/**
+	 * Count of fragment requests served from the pool.
+	 */
+	private int hitCount;
+
+	/**
+	 * Count of fragment requests that have not been served from the pool.
+	 */
+	private int missCount;
+
+	/**
+	 * Handler used to prefetch fragments whenever the main thread is idle.
+	 */
+	private final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+
+		/**
+		 */
+		@Override public boolean queueIdle() {
+			final boolean keepRegistered = prefetchNext();
+			if (!keepRegistered) idleHandlerRegistered = false;
+			return keepRegistered;
+		}
+	};
+
+	/**
+	 * Callbacks used to trim the pool whenever the system requests to trim memory.
+	 */
+	private final ComponentCallbacks2 componentCallbacks = new ComponentCallbacks2() {
+
+		/**
+		 */
+		@Override public void onTrimMemory(final int level) {
+			trimMemory(level);
+		}
+
+		/**
+		 */
+		@Override public void onConfigurationChanged(final Configuration newConfig) {
+			// Prefetched fragments are not bound to any configuration until they are attached.
+		}
+
+		/**
+		 */
+		@Override public void onLowMemory() {
+			evictAll();
+		}
+	};
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of FragmentPrefetcher with the specified <var>maxSize</var>.
+	 *
+	 * @param context Context used to register callbacks for memory trimming.
+	 * @param maxSize Maximum count of prefetched fragments that may be held by the prefetcher.
+	 */
+	public FragmentPrefetcher(@NonNull final Context context, @IntRange(from = 1) final int maxSize) {
+		final Context applicationContext = context.getApplicationContext();
+		this.context = applicationContext == null ? context : applicationContext;
+		this.context.registerComponentCallbacks(componentCallbacks);
+		this.fragments = new LruCache<>(maxSize);
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Sets a factory to be used by this prefetcher to create fragment instances. Any fragments
+	 * prefetched via the previous factory are evicted.
+	 *
+	 * @param factory The desired factory. May be {@code null} to clear the current one.
+	 */
+	@UiThread public void setFactory(@Nullable final FragmentFactory factory) {
+		if (this.factory != factory) {
+			this.factory = factory;
+			evictAll();
+		}
+	}
+
+	/**
+	 * Returns the factory used by this prefetcher to create fragment instances.
+	 *
+	 * @return The wrapped factory or {@code null} if there is no factory specified.
+	 */
+	@Nullable public FragmentFactory getFactory() {
+		return factory;
+	}
+
+	/**
+	 * Requests fragments with the specified <var>fragmentIds</var> to be prefetched whenever the main
+	 * thread becomes idle. Fragments that are already prefetched or that are not provided by the
+	 * current factory are ignored.
+	 *
+	 * @param fragmentIds Ids of the desired fragments to be prefetched.
+	 */
+	@UiThread public void prefetch(@NonNull final int... fragmentIds) {
+		for (final int fragmentId : fragmentIds) {
+			if (!pendingFragmentIds.contains(fragmentId)) this.pendingFragmentIds.add(fragmentId);
+		}
+		if (!idleHandlerRegistered && !pendingFragmentIds.isEmpty()) {
+			Looper.myQueue().addIdleHandler(idleHandler);
+			this.idleHandlerRegistered = true;
+		}
+	}
+
+	/**
+	 * Prefetches the next pending fragment (if any).
+	 *
+	 * @return {@code True} if there are more fragments waiting to be prefetched, {@code false} otherwise.
+	 */
+	@VisibleForTesting boolean prefetchNext() {
+		final Integer fragmentId = pendingFragmentIds.poll();
+		if (fragmentId == null || factory == null) {
+			this.pendingFragmentIds.clear();
+			return false;
+		}
+		if (fragments.get(fragmentId) == null && factory.isFragmentProvided(fragmentId)) {
+			final Fragment fragment = factory.createFragment(fragmentId);
+			if (fragment != null) this.fragments.put(fragmentId, fragment);
+		}
+		return !pendingFragmentIds.isEmpty();
+	}
+
+	/**
+	 * Checks whether fragment with the specified <var>fragmentId</var> is prefetched and waiting
+	 * to be requested.
+	 *
+	 * @param fragmentId Id of the desired fragment.
+	 * @return {@code True} if the fragment is prefetched, {@code false} otherwise.
+	 */
+	public boolean isPrefetched(final int fragmentId) {
+		return fragments.get(fragmentId) != null;
+	}
+
+	/**
+	 */
+	@Override public boolean isFragmentProvided(final int fragmentId) {
+		return factory != null && factory.isFragmentProvided(fragmentId);
+	}
+
+	/**
+	 * Returns the prefetched instance of the requested fragment if there is one, otherwise creates
+	 * a new instance via the wrapped factory.
+	 */
+	@Override @Nullable public Fragment createFragment(final int fragmentId) {
+		final Fragment fragment = fragments.remove(fragmentId);
+		if (fragment != null) {
+			this.hitCount++;
+			return fragment;
+		}
+		this.missCount++;
+		return factory == null ? null : factory.createFragment(fragmentId);
+	}
+
+	/**
+	 */
+	@Override @Nullable public String createFragmentTag(final int fragmentId) {
+		return factory == null ? null : factory.createFragmentTag(fragmentId);
+	}
+
+	/**
+	 * Trims the pool of prefetched fragments according to the specified memory trim <var>level</var>.
+	 * The pool is trimmed to half of its size for {@link ComponentCallbacks2#TRIM_MEMORY_RUNNING_MODERATE}
+	 * and evicted entirely for any higher level.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 * @return Count of evicted fragments.
+	 */
+	public int trimMemory(final int level) {
+		final int sizeBefore = fragments.size();
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) evictAll();
+		else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) this.fragments.trimToSize(fragments.maxSize() / 2);
+		return sizeBefore - fragments.size();
+	}
+
+	/**
+	 * Evicts all prefetched fragments from the pool.
+	 */
+	public void evictAll() {
+		this.fragments.evictAll();
+	}
+
+	/**
+	 * Returns the count of fragment requests that have been served from the pool of prefetched fragments.
+	 *
+	 * @return Count of pool hits.
+	 */
+	public int getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the count of fragment requests that have not been served from the pool of prefetched
+	 * fragments.
+	 *
+	 * @return Count of pool misses.
+	 */
+	public int getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Releases this prefetcher. All pending prefetch requests are cancelled, prefetched fragments
+	 * are evicted and the prefetcher stops listening for memory trimming requests.
+	 */
+	@UiThread public void release() {
+		this.pendingFragmentIds.clear();
+		if (idleHandlerRegistered) {
+			Looper.myQueue().removeIdleHandler(idleHandler);
+			this.idleHandlerRegistered = false;
+		}
+		this.context.unregisterComponentCallbacks(componentCallbacks);
+		evictAll();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
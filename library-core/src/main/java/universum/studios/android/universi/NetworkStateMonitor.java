@@ -0,0 +1,476 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.Manifest;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.support.annotation.RequiresPermission;
+import android.support.annotation.VisibleForTesting;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-wide monitor of network connection state that is shared by all {@link UniversiContextDelegate}
+ * instances.
+ * <p>
+ * On {@link Build.VERSION_CODES#LOLLIPOP LOLLIPOP} and above the monitor registers a single
+ * {@link ConnectivityManager.NetworkCallback} for the whole process and serves connection checks
+ * from an immutable snapshot of the last known state, so repeated checks do not require any IPC
+ * call to {@link ConnectivityManager}. The snapshot is invalidated whenever the callback reports
+ * a change in available networks and the state is resolved again lazily by the next check, as
+ * the default network may not have been switched yet at the time the callback is invoked. On older Android versions each check is delegated directly to
+ * {@link ConnectivityManager}.
+ * <p>
+ * Changes in network connection state may be observed via {@link Listener} registered via
+ * {@link #addListener(Listener)}. If the network callback cannot be used, changes are received via
+ * {@link ConnectivityManager#CONNECTIVITY_ACTION} broadcast which is registered only while there are
+ * some listeners registered.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class NetworkStateMonitor {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "NetworkStateMonitor";
+
+	/**
+	 * Maximum network type for which may be its connection state cached.
+	 */
+	private static final int MAX_CACHED_NETWORK_TYPE = 30;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Listener that may be used to receive callback about changes in network connection state.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	interface Listener {
+
+		/**
+		 * Invoked whenever network connection state changes.
+		 * <p>
+		 * <b>Note</b> that this may be invoked on any thread and also multiple times in a row for
+		 * a single change.
+		 */
+		void onNetworkStateChanged();
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize access to the {@link #instance}.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Process-wide instance of the monitor.
+	 */
+	private static NetworkStateMonitor instance;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Context used to register broadcast receiver for changes in network connection state.
+	 */
+	private final Context context;
+
+	/**
+	 * Manager used to query network connection state.
+	 */
+	private final ConnectivityManager manager;
+
+	/**
+	 * List containing all registered listeners for changes in network connection state.
+	 */
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Snapshot of the last known network connection state.
+	 */
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.empty());
+
+	/**
+	 * Callback registered for changes in network connection state. Stored as object so the callback
+	 * class is not loaded on Android versions that do not support it. Volatile as it is checked by
+	 * the connection checks which may be performed from any thread.
+	 */
+	private volatile Object networkCallback;
+
+	/**
+	 * Receiver registered for changes in network connection state if the {@link #networkCallback}
+	 * could not be registered.
+	 */
+	private BroadcastReceiver networkReceiver;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of NetworkStateMonitor for the specified <var>context</var>.
+	 *
+	 * @param context The context used to access {@link ConnectivityManager}.
+	 */
+	private NetworkStateMonitor(final Context context) {
+		this.context = context;
+		this.manager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			this.registerNetworkCallback();
+		}
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Obtains the process-wide instance of NetworkStateMonitor.
+	 *
+	 * @param context Context used to access {@link ConnectivityManager} if the monitor is not
+	 *                created yet.
+	 * @return Network state monitor ready to be used.
+	 */
+	@NonNull public static NetworkStateMonitor obtain(@NonNull final Context context) {
+		synchronized (LOCK) {
+			if (instance == null) {
+				final Context applicationContext = context.getApplicationContext();
+				instance = new NetworkStateMonitor(applicationContext == null ? context : applicationContext);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Releases the process-wide instance of NetworkStateMonitor (if created) along with its
+	 * registered network callback.
+	 */
+	@VisibleForTesting static void release() {
+		synchronized (LOCK) {
+			if (instance != null) {
+				instance.unregisterNetworkCallback();
+				instance.unregisterNetworkReceiver();
+				instance.listeners.clear();
+				instance = null;
+			}
+		}
+	}
+
+	/**
+	 * Registers callback for changes in network connection state.
+	 */
+	@RequiresApi(Build.VERSION_CODES.LOLLIPOP)
+	private void registerNetworkCallback() {
+		final Callback callback = new Callback(this);
+		try {
+			this.manager.registerNetworkCallback(new NetworkRequest.Builder().build(), callback);
+			this.networkCallback = callback;
+		} catch (SecurityException e) {
+			// Without the permission we cannot receive changes in network state, so all checks
+			// will be delegated directly to the connectivity manager.
+		}
+	}
+
+	/**
+	 * Unregisters the callback registered for changes in network connection state (if any).
+	 */
+	private void unregisterNetworkCallback() {
+		if (networkCallback != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+			this.manager.unregisterNetworkCallback((ConnectivityManager.NetworkCallback) networkCallback);
+			this.networkCallback = null;
+		}
+	}
+
+	/**
+	 * Registers receiver for changes in network connection state if it is not registered yet.
+	 */
+	@SuppressWarnings("deprecation")
+	private synchronized void registerNetworkReceiver() {
+		if (networkReceiver == null) {
+			this.networkReceiver = new Receiver(this);
+			this.context.registerReceiver(networkReceiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+		}
+	}
+
+	/**
+	 * Unregisters the receiver registered for changes in network connection state (if any).
+	 */
+	private synchronized void unregisterNetworkReceiver() {
+		if (networkReceiver != null) {
+			this.context.unregisterReceiver(networkReceiver);
+			this.networkReceiver = null;
+		}
+	}
+
+	/**
+	 * Registers a listener to be notified about changes in network connection state.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see #removeListener(Listener)
+	 */
+	void addListener(@NonNull final Listener listener) {
+		if (!listeners.contains(listener)) {
+			this.listeners.add(listener);
+			if (networkCallback == null) this.registerNetworkReceiver();
+		}
+	}
+
+	/**
+	 * Unregisters the given listener from the registered ones.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #addListener(Listener)
+	 */
+	void removeListener(@NonNull final Listener listener) {
+		if (listeners.remove(listener) && listeners.isEmpty()) {
+			this.unregisterNetworkReceiver();
+		}
+	}
+
+	/**
+	 * Invoked whenever the registered network callback or receiver reports a change in network
+	 * connection state.
+	 */
+	void onNetworkStateChanged() {
+		// Always reset to a new instance, so a check that has read the snapshot before this change
+		// cannot successfully compare and set its stale result against an identical reference.
+		// The state is not refreshed right away, as while the callback is being notified about
+		// available or lost network the default network may not have been switched yet.
+		this.snapshot.set(Snapshot.empty());
+		for (final Listener listener : listeners) {
+			listener.onNetworkStateChanged();
+		}
+	}
+
+	/**
+	 * Checks whether the current active network is at this time connected or not.
+	 *
+	 * @return {@code True} if active network is connected, {@code false} otherwise.
+	 *
+	 * @see ConnectivityManager#getActiveNetworkInfo()
+	 * @see NetworkInfo#isConnected()
+	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	public boolean isActiveNetworkConnected() {
+		if (networkCallback == null) {
+			return isConnected(manager.getActiveNetworkInfo());
+		}
+		final Snapshot current = snapshot.get();
+		if (current.activeKnown) {
+			return current.activeConnected;
+		}
+		final boolean connected = isConnected(manager.getActiveNetworkInfo());
+		// If the state has changed meanwhile, the value will not be cached which is desired.
+		this.snapshot.compareAndSet(current, current.withActiveNetwork(connected));
+		return connected;
+	}
+
+	/**
+	 * Checks whether a network with the specified <var>networkType</var> is at this time connected
+	 * or not.
+	 *
+	 * @param networkType The desired network type to check for connection.
+	 * @return {@code True} if the requested network is connected, {@code false} otherwise.
+	 *
+	 * @see ConnectivityManager#getNetworkInfo(int)
+	 * @see NetworkInfo#isConnected()
+	 */
+	@SuppressWarnings("deprecation")
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	public boolean isNetworkConnected(final int networkType) {
+		if (networkCallback == null || networkType < 0 || networkType > MAX_CACHED_NETWORK_TYPE) {
+			return isConnected(manager.getNetworkInfo(networkType));
+		}
+		final Snapshot current = snapshot.get();
+		final int typeFlag = 1 << networkType;
+		if ((current.knownTypes & typeFlag) != 0) {
+			return (current.connectedTypes & typeFlag) != 0;
+		}
+		final boolean connected = isConnected(manager.getNetworkInfo(networkType));
+		// If the state has changed meanwhile, the value will not be cached which is desired.
+		this.snapshot.compareAndSet(current, current.withNetworkType(typeFlag, connected));
+		return connected;
+	}
+
+	/**
+	 * Checks whether the given network <var>info</var> represents connected network.
+	 *
+	 * @param info The network info to check. May be {@code null}.
+	 * @return {@code True} if the network is connected, {@code false} otherwise.
+	 */
+	private static boolean isConnected(final NetworkInfo info) {
+		return info != null && info.isConnected();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Immutable snapshot of network connection state.
+	 */
+	static final class Snapshot {
+
+		/**
+		 * Boolean flag indicating whether the state of active network is known.
+		 */
+		final boolean activeKnown;
+
+		/**
+		 * Boolean flag indicating whether the active network is connected.
+		 */
+		final boolean activeConnected;
+
+		/**
+		 * Flags of network types for which is their connection state known.
+		 */
+		final int knownTypes;
+
+		/**
+		 * Flags of network types that are connected.
+		 */
+		final int connectedTypes;
+
+		/**
+		 * Creates a new instance of Snapshot with the specified state.
+		 */
+		Snapshot(final boolean activeKnown, final boolean activeConnected, final int knownTypes, final int connectedTypes) {
+			this.activeKnown = activeKnown;
+			this.activeConnected = activeConnected;
+			this.knownTypes = knownTypes;
+			this.connectedTypes = connectedTypes;
+		}
+
+		/**
+		 * Creates a new snapshot with no known state.
+		 */
+		static Snapshot empty() {
+			return new Snapshot(false, false, 0, 0);
+		}
+
+		/**
+		 * Creates a copy of this snapshot with the specified state of active network.
+		 */
+		Snapshot withActiveNetwork(final boolean connected) {
+			return new Snapshot(true, connected, knownTypes, connectedTypes);
+		}
+
+		/**
+		 * Creates a copy of this snapshot with the specified state of network type.
+		 */
+		Snapshot withNetworkType(final int typeFlag, final boolean connected) {
+			return new Snapshot(
+					activeKnown,
+					activeConnected,
+					knownTypes | typeFlag,
+					connected ? (connectedTypes | typeFlag) : (connectedTypes & ~typeFlag)
+			);
+		}
+	}
+
+	/**
+	 * Network callback that notifies its parent monitor about changes in network connection state.
+	 */
+	@RequiresApi(Build.VERSION_CODES.LOLLIPOP)
+	private static final class Callback extends ConnectivityManager.NetworkCallback {
+
+		/**
+		 * Monitor to be notified about changes.
+		 */
+		private final NetworkStateMonitor monitor;
+
+		/**
+		 * Creates a new instance of Callback for the specified <var>monitor</var>.
+		 */
+		Callback(final NetworkStateMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		/**
+		 */
+		@Override public void onAvailable(final Network network) {
+			monitor.onNetworkStateChanged();
+		}
+
+		/**
+		 */
+		@Override public void onCapabilitiesChanged(final Network network, final NetworkCapabilities capabilities) {
+			monitor.onNetworkStateChanged();
+		}
+
+		/**
+		 */
+		@Override public void onLost(final Network network) {
+			monitor.onNetworkStateChanged();
+		}
+	}
+
+	/**
+	 * Broadcast receiver that notifies its parent monitor about changes in network connection state.
+	 */
+	private static final class Receiver extends BroadcastReceiver {
+
+		/**
+		 * Monitor to be notified about changes.
+		 */
+		private final NetworkStateMonitor monitor;
+
+		/**
+		 * Creates a new instance of Receiver for the specified <var>monitor</var>.
+		 */
+		Receiver(final NetworkStateMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		/**
+		 */
+		@Override public void onReceive(final Context context, final Intent intent) {
+			monitor.onNetworkStateChanged();
+		}
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.Manifest;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresPermission;
+import android.support.annotation.UiThread;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Observer that delivers changes in network connection state reported by {@link NetworkStateMonitor}
+ * to registered {@link UniversiContextDelegate.OnNetworkStateChangeListener OnNetworkStateChangeListeners}
+ * of a single context.
+ * <p>
+ * Changes are delivered on the main thread and only when state of the active network connection
+ * actually differs from the last delivered one. Changes reported in a quick succession are debounced
+ * for {@link #DEBOUNCE_DELAY}, so flapping network connection does not result in a storm of callbacks.
+ * While the associated context is paused, the observer is detached from the monitor and the latest
+ * state is delivered (if changed) whenever the context is resumed again.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+final class NetworkStateObserver implements NetworkStateMonitor.Listener {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "NetworkStateObserver";
+
+	/**
+	 * Delay in milliseconds for which is delivery of network state changes debounced.
+	 */
+	static final long DEBOUNCE_DELAY = 500;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Monitor from which are the network state changes observed.
+	 */
+	private final NetworkStateMonitor monitor;
+
+	/**
+	 * Handler used to deliver network state changes on the main thread.
+	 */
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * List containing all registered listeners.
+	 */
+	private final List<UniversiContextDelegate.OnNetworkStateChangeListener> listeners = new ArrayList<>(2);
+
+	/**
+	 * Boolean flag indicating whether this observer is attached to its monitor.
+	 */
+	private boolean attached;
+
+	/**
+	 * Boolean flag indicating whether the associated context is paused.
+	 */
+	private boolean paused;
+
+	/**
+	 * Boolean flag indicating whether the {@link #lastConnected} state is known.
+	 */
+	private boolean lastConnectedKnown;
+
+	/**
+	 * State of the active network connection that has been last delivered to the listeners.
+	 */
+	private boolean lastConnected;
+
+	/**
+	 * Runnable that delivers the current network state to the registered listeners.
+	 */
+	private final Runnable DISPATCH = new Runnable() {
+
+		/**
+		 */
+		@Override @SuppressWarnings("MissingPermission") public void run() {
+			dispatch();
+		}
+	};
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of NetworkStateObserver for the specified <var>monitor</var>.
+	 *
+	 * @param monitor The monitor from which to observe network state changes.
+	 */
+	NetworkStateObserver(@NonNull final NetworkStateMonitor monitor) {
+		this.monitor = monitor;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Registers the given <var>listener</var> to be notified about changes in network connection state.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see #unregisterListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	@UiThread void registerListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		if (!listeners.contains(listener)) {
+			this.listeners.add(listener);
+			if (!paused) this.attach();
+		}
+	}
+
+	/**
+	 * Unregisters the given <var>listener</var> from the registered ones.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #registerListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	@UiThread void unregisterListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		if (listeners.remove(listener) && listeners.isEmpty()) {
+			this.detach();
+			this.lastConnectedKnown = false;
+		}
+	}
+
+	/**
+	 * Returns the count of listeners registered in this observer.
+	 *
+	 * @return Count of registered listeners.
+	 */
+	int getListenersCount() {
+		return listeners.size();
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether the associated context is paused. While paused, the
+	 * observer is detached from its monitor and whenever it is resumed, the current network state
+	 * is delivered (if it has changed meanwhile).
+	 *
+	 * @param paused {@code True} if context is paused, {@code false} otherwise.
+	 */
+	@SuppressWarnings("MissingPermission")
+	@UiThread void setPaused(final boolean paused) {
+		if (this.paused == paused) {
+			return;
+		}
+		this.paused = paused;
+		if (paused) {
+			this.detach();
+		} else if (!listeners.isEmpty()) {
+			this.attach();
+			this.handler.post(DISPATCH);
+		}
+	}
+
+	/**
+	 * Attaches this observer to its monitor (if not attached yet).
+	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	private void attach() {
+		if (!attached) {
+			this.attached = true;
+			this.monitor.addListener(this);
+			if (!lastConnectedKnown) {
+				this.lastConnected = monitor.isActiveNetworkConnected();
+				this.lastConnectedKnown = true;
+			}
+		}
+	}
+
+	/**
+	 * Detaches this observer from its monitor and cancels any pending delivery. The last delivered
+	 * state is preserved, so a change made while detached is delivered after next attachment.
+	 */
+	private void detach() {
+		if (attached) {
+			this.attached = false;
+			this.monitor.removeListener(this);
+			this.handler.removeCallbacks(DISPATCH);
+		}
+	}
+
+	/**
+	 */
+	@Override public void onNetworkStateChanged() {
+		this.handler.removeCallbacks(DISPATCH);
+		this.handler.postDelayed(DISPATCH, DEBOUNCE_DELAY);
+	}
+
+	/**
+	 * Delivers the current state of the active network to the registered listeners if it differs
+	 * from the last delivered one.
+	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	@UiThread void dispatch() {
+		if (!attached) {
+			return;
+		}
+		final boolean connected = monitor.isActiveNetworkConnected();
+		if (connected == lastConnected) {
+			return;
+		}
+		this.lastConnected = connected;
+		// Iterate over a copy so listeners may unregister themselves while being notified.
+		final Object[] currentListeners = listeners.toArray();
+		for (final Object listener : currentListeners) {
+			((UniversiContextDelegate.OnNetworkStateChangeListener) listener).onNetworkStateChanged(connected);
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
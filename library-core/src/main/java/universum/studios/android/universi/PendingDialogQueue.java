@@ -0,0 +1,272 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Bundle;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import universum.studios.android.dialog.DialogOptions;
+
+/**
+ * Bounded queue of dialog requests that could not be executed at the time they were made, because
+ * the associated context was paused or its state has been already saved. The requests are meant to
+ * be replayed in order whenever the context is resumed again.
+ * <p>
+ * Redundant requests for the same dialog are collapsed when added into the queue. A newer request
+ * to show a dialog replaces an older one and a request to dismiss a dialog drops any pending request
+ * to show it. The queue holds at most {@link #MAX_SIZE} requests and the oldest ones are dropped
+ * when this capacity is exceeded.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+final class PendingDialogQueue {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "PendingDialogQueue";
+
+	/**
+	 * Maximum count of requests that may be held by the queue.
+	 */
+	static final int MAX_SIZE = 8;
+
+	/**
+	 * Type of request to show a dialog provided by the dialog factory.
+	 */
+	static final int SHOW_DIALOG = 0x01;
+
+	/**
+	 * Type of request to dismiss a dialog provided by the dialog factory.
+	 */
+	static final int DISMISS_DIALOG = 0x02;
+
+	/**
+	 * Type of request to show an Xml dialog.
+	 */
+	static final int SHOW_XML_DIALOG = 0x03;
+
+	/**
+	 * Type of request to dismiss an Xml dialog.
+	 */
+	static final int DISMISS_XML_DIALOG = 0x04;
+
+	/**
+	 * Bundle key used to store type of a saved request.
+	 */
+	private static final String BUNDLE_TYPE = PendingDialogQueue.class.getName() + ".BUNDLE.Type";
+
+	/**
+	 * Bundle key used to store dialog id of a saved request.
+	 */
+	private static final String BUNDLE_DIALOG_ID = PendingDialogQueue.class.getName() + ".BUNDLE.DialogId";
+
+	/**
+	 * Bundle key used to store dialog options of a saved request.
+	 */
+	private static final String BUNDLE_OPTIONS = PendingDialogQueue.class.getName() + ".BUNDLE.Options";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * List containing all pending requests in order in which they have been added.
+	 */
+	private final List<Request> requests = new ArrayList<>(MAX_SIZE);
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Adds a new request into this queue, collapsing any redundant requests for the same dialog.
+	 *
+	 * @param type     Type of the request. One of {@link #SHOW_DIALOG}, {@link #DISMISS_DIALOG},
+	 *                 {@link #SHOW_XML_DIALOG} or {@link #DISMISS_XML_DIALOG}.
+	 * @param dialogId Id or Xml resource of the dialog for which is the request made.
+	 * @param options  Options for the dialog to show. May be {@code null}.
+	 */
+	void add(final int type, final int dialogId, @Nullable final DialogOptions options) {
+		final boolean xml = type == SHOW_XML_DIALOG || type == DISMISS_XML_DIALOG;
+		final Iterator<Request> iterator = requests.iterator();
+		while (iterator.hasNext()) {
+			final Request request = iterator.next();
+			if (request.dialogId == dialogId && request.isXml() == xml && (request.isShow() || request.type == type)) {
+				// Older requests to show the dialog are superseded by any newer request for the same
+				// dialog and older dismiss requests are superseded by the newer dismiss request.
+				iterator.remove();
+			}
+		}
+		if (requests.size() == MAX_SIZE) {
+			this.requests.remove(0);
+		}
+		this.requests.add(new Request(type, dialogId, options));
+	}
+
+	/**
+	 * Checks whether this queue has any pending requests.
+	 *
+	 * @return {@code True} if queue is empty, {@code false} otherwise.
+	 */
+	boolean isEmpty() {
+		return requests.isEmpty();
+	}
+
+	/**
+	 * Returns the count of pending requests.
+	 *
+	 * @return Count of requests in this queue.
+	 */
+	int size() {
+		return requests.size();
+	}
+
+	/**
+	 * Removes all pending requests from this queue and returns them.
+	 *
+	 * @return List of the pending requests in order in which they have been added.
+	 */
+	@NonNull List<Request> drain() {
+		final List<Request> drained = new ArrayList<>(requests);
+		this.requests.clear();
+		return drained;
+	}
+
+	/**
+	 * Saves the pending requests into the given <var>state</var> under the specified <var>key</var>.
+	 * Options of requests that cannot be parceled are not saved.
+	 *
+	 * @param state The state into which to save the requests.
+	 * @param key   The key under which to save the requests.
+	 *
+	 * @see #restoreState(Bundle, String)
+	 */
+	void saveState(@NonNull final Bundle state, @NonNull final String key) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		final Bundle[] savedRequests = new Bundle[requests.size()];
+		for (int i = 0; i < savedRequests.length; i++) {
+			final Request request = requests.get(i);
+			final Bundle savedRequest = new Bundle();
+			savedRequest.putInt(BUNDLE_TYPE, request.type);
+			savedRequest.putInt(BUNDLE_DIALOG_ID, request.dialogId);
+			if (request.options instanceof Parcelable) {
+				savedRequest.putParcelable(BUNDLE_OPTIONS, (Parcelable) request.options);
+			}
+			savedRequests[i] = savedRequest;
+		}
+		state.putParcelableArray(key, savedRequests);
+	}
+
+	/**
+	 * Restores the pending requests saved via {@link #saveState(Bundle, String)} from the given
+	 * <var>state</var>. The restored requests are added after the requests already pending.
+	 *
+	 * @param state The state from which to restore the requests.
+	 * @param key   The key under which have been the requests saved.
+	 */
+	void restoreState(@NonNull final Bundle state, @NonNull final String key) {
+		final Parcelable[] savedRequests = state.getParcelableArray(key);
+		if (savedRequests == null) {
+			return;
+		}
+		for (final Parcelable parcelable : savedRequests) {
+			final Bundle savedRequest = (Bundle) parcelable;
+			final Parcelable options = savedRequest.getParcelable(BUNDLE_OPTIONS);
+			add(
+					savedRequest.getInt(BUNDLE_TYPE),
+					savedRequest.getInt(BUNDLE_DIALOG_ID),
+					options instanceof DialogOptions ? (DialogOptions) options : null
+			);
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Pending dialog request.
+	 */
+	static final class Request {
+
+		/**
+		 * Type of this request.
+		 */
+		final int type;
+
+		/**
+		 * Id or Xml resource of the dialog for which is this request made.
+		 */
+		final int dialogId;
+
+		/**
+		 * Options for the dialog to show. May be {@code null}.
+		 */
+		final DialogOptions options;
+
+		/**
+		 * Creates a new instance of Request with the specified parameters.
+		 */
+		Request(final int type, final int dialogId, final DialogOptions options) {
+			this.type = type;
+			this.dialogId = dialogId;
+			this.options = options;
+		}
+
+		/**
+		 * Checks whether this is a request for Xml dialog.
+		 */
+		boolean isXml() {
+			return type == SHOW_XML_DIALOG || type == DISMISS_XML_DIALOG;
+		}
+
+		/**
+		 * Checks whether this is a request to show a dialog.
+		 */
+		boolean isShow() {
+			return type == SHOW_DIALOG || type == SHOW_XML_DIALOG;
+		}
+	}
+}
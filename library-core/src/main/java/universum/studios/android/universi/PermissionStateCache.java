@@ -0,0 +1,246 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Process;
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-scoped cache of grant states of permissions shared by all {@link UniversiContextDelegate}
+ * instances, so repeated permission checks, like checks performed for each row of a list, are
+ * served from memory instead of querying the package manager each time.
+ * <p>
+ * Grant states are resolved via {@link Context#checkPermission(String, int, int)} for the current
+ * process and cached keyed by permission name. The cache should be invalidated via {@link #invalidate()}
+ * whenever grant state of any permission may have changed, that is whenever result of a permissions
+ * request is delivered and whenever a screen is resumed, as the user may have changed permissions
+ * in the application settings in the meantime. Count of cache hits and misses may be obtained via
+ * {@link #getHitCount()} and {@link #getMissCount()}.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiContextDelegate#checkSelfPermission(String)
+ */
+public final class PermissionStateCache {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "PermissionStateCache";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize access to the {@link #instance}.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Application-scoped instance of the cache.
+	 */
+	private static PermissionStateCache instance;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Context used to check grant states of permissions.
+	 */
+	private final Context context;
+
+	/**
+	 * Map holding the resolved grant states keyed by names of their permissions.
+	 */
+	private final ConcurrentMap<String, Integer> states = new ConcurrentHashMap<>();
+
+	/**
+	 * Generation of this cache incremented whenever the cache is invalidated, so grant states
+	 * resolved before the invalidation are not stored.
+	 */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Count of permission checks served from this cache.
+	 */
+	private final AtomicInteger hitCount = new AtomicInteger();
+
+	/**
+	 * Count of permission checks that required the grant state to be resolved.
+	 */
+	private final AtomicInteger missCount = new AtomicInteger();
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of PermissionStateCache with the specified <var>context</var>.
+	 *
+	 * @param context The context used to check grant states of permissions.
+	 */
+	private PermissionStateCache(final Context context) {
+		this.context = context;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Obtains the application-scoped instance of PermissionStateCache.
+	 *
+	 * @param context Context used to access the application context if the cache is not created yet.
+	 * @return Permission state cache ready to be used.
+	 */
+	@NonNull public static PermissionStateCache obtain(@NonNull final Context context) {
+		synchronized (LOCK) {
+			if (instance == null) {
+				final Context applicationContext = context.getApplicationContext();
+				instance = new PermissionStateCache(applicationContext == null ? context : applicationContext);
+			}
+			return instance;
+		}
+	}
+
+	/**
+	 * Returns the application-scoped instance of PermissionStateCache without creating it.
+	 *
+	 * @return The cache instance or {@code null} if it has not been created yet.
+	 */
+	@Nullable static PermissionStateCache peek() {
+		synchronized (LOCK) {
+			return instance;
+		}
+	}
+
+	/**
+	 * Releases the application-scoped instance of PermissionStateCache (if created).
+	 */
+	@VisibleForTesting static void release() {
+		synchronized (LOCK) {
+			if (instance != null) {
+				instance.invalidate();
+				instance = null;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the specified <var>permission</var> has been granted to the current process.
+	 * The grant state is resolved only if it is not cached yet.
+	 *
+	 * @param permission Name of the permission to check.
+	 * @return {@link PackageManager#PERMISSION_GRANTED} if the permission is granted,
+	 * {@link PackageManager#PERMISSION_DENIED} otherwise.
+	 */
+	@CheckResult public int checkSelfPermission(@NonNull final String permission) {
+		final Integer cachedState = states.get(permission);
+		if (cachedState != null) {
+			this.hitCount.incrementAndGet();
+			return cachedState;
+		}
+		this.missCount.incrementAndGet();
+		final int stateGeneration = generation.get();
+		final int state = resolvePermissionState(permission);
+		if (stateGeneration == generation.get()) {
+			this.states.put(permission, state);
+			// The cache may have been invalidated after the check above but before the state has
+			// been stored, in which case the stored state must not survive the invalidation.
+			if (stateGeneration != generation.get()) this.states.remove(permission, state);
+		}
+		return state;
+	}
+
+	/**
+	 * Resolves the current grant state of the specified <var>permission</var>.
+	 *
+	 * @param permission Name of the permission of which grant state to resolve.
+	 * @return Grant state of the permission.
+	 */
+	int resolvePermissionState(final String permission) {
+		return context.checkPermission(permission, Process.myPid(), Process.myUid());
+	}
+
+	/**
+	 * Invalidates all cached grant states, so they are resolved again for the next checks.
+	 * <p>
+	 * All states are invalidated rather than only the ones of the permissions that have changed,
+	 * as granting of a single permission may grant also other permissions from the same group.
+	 */
+	public void invalidate() {
+		this.generation.incrementAndGet();
+		this.states.clear();
+	}
+
+	/**
+	 * Returns the count of grant states currently held by this cache.
+	 *
+	 * @return Count of cached states.
+	 */
+	public int size() {
+		return states.size();
+	}
+
+	/**
+	 * Returns the count of permission checks that have been served from this cache.
+	 *
+	 * @return Count of cache hits.
+	 *
+	 * @see #getMissCount()
+	 */
+	public int getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the count of permission checks that required the grant state to be resolved.
+	 *
+	 * @return Count of cache misses.
+	 *
+	 * @see #getHitCount()
+	 */
+	public int getMissCount() {
+		return missCount.get();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,318 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.LruCache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for application-scoped caches of values bounded via LRU policy that may be prepared
+ * ahead on a background thread.
+ * <p>
+ * Values prepared ahead via {@link #warmUpValues(Executor, Object[])} are held aside until they are
+ * requested for the first time via {@link #get(Object)}. The cache registers itself for callbacks of
+ * the application context, so it is invalidated whenever configuration of the application changes
+ * and trimmed via {@link #trimMemory(int)} whenever the system requests to trim memory. The cache is
+ * shared by all screens, so it is trimmed only here and not by each screen.
+ *
+ * @param <K> Type of keys of the cached values.
+ * @param <V> Type of the cached values.
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+abstract class SharedCache<K, V> {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "SharedCache";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Context used to create the cached values.
+	 */
+	final Context context;
+
+	/**
+	 * Maximum count of values that may be held by the cache.
+	 */
+	private final int maxSize;
+
+	/**
+	 * Values already prepared on a background thread that are waiting to be requested for the
+	 * first time.
+	 */
+	private final Map<K, V> warmedUpValues = new ConcurrentHashMap<>();
+
+	/**
+	 * Keys of values held by {@link #values}, so presence of a value may be checked without copying
+	 * of the whole cache.
+	 */
+	private final Set<K> keys = Collections.newSetFromMap(new ConcurrentHashMap<K, Boolean>());
+
+	/**
+	 * Generation of this cache incremented whenever the cache is invalidated, so values prepared
+	 * before the invalidation are not stored.
+	 */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/**
+	 * Cache holding the created values.
+	 */
+	private final LruCache<K, V> values;
+
+	/**
+	 * Callbacks used to invalidate the cache whenever configuration of the application changes and
+	 * to trim it whenever the system requests to trim memory.
+	 */
+	private final ComponentCallbacks2 componentCallbacks = new ComponentCallbacks2() {
+
+		/**
+		 */
+		@Override public void onTrimMemory(final int level) {
+			trimMemory(level);
+		}
+
+		/**
+		 */
+		@Override public void onConfigurationChanged(final Configuration newConfig) {
+			evictAll();
+		}
+
+		/**
+		 */
+		@Override public void onLowMemory() {
+			evictAll();
+		}
+	};
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of SharedCache with the specified <var>context</var> and <var>maxSize</var>.
+	 *
+	 * @param context The context used to create the cached values.
+	 * @param maxSize Maximum count of values that may be held by the cache.
+	 */
+	SharedCache(final Context context, final int maxSize) {
+		this.context = context;
+		this.maxSize = maxSize;
+		this.values = new LruCache<K, V>(maxSize) {
+
+			/**
+			 */
+			@Override protected V create(final K key) {
+				final V value = warmedUpValues.remove(key);
+				keys.add(key);
+				return value == null ? createValue(key) : value;
+			}
+
+			/**
+			 */
+			@Override protected void entryRemoved(final boolean evicted, final K key, final V oldValue, final V newValue) {
+				// New value is present only if the entry has been replaced by a concurrently created one.
+				if (newValue == null) keys.remove(key);
+			}
+		};
+		this.context.registerComponentCallbacks(componentCallbacks);
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Unregisters this cache from callbacks of its context and evicts all its values.
+	 */
+	final void dispose() {
+		this.context.unregisterComponentCallbacks(componentCallbacks);
+		this.evictAll();
+	}
+
+	/**
+	 * Returns the value for the specified <var>key</var>. The value is created if it is neither
+	 * cached nor prepared ahead.
+	 *
+	 * @param key Key of the desired value.
+	 * @return The requested value.
+	 */
+	final V get(final K key) {
+		return values.get(key);
+	}
+
+	/**
+	 * Creates a new value for the specified <var>key</var> on the calling thread.
+	 *
+	 * @param key Key of the desired value.
+	 * @return New value.
+	 */
+	abstract V createValue(K key);
+
+	/**
+	 * Creates a new value for the specified <var>key</var> and fully prepares it, so it may be served
+	 * without any further work on the main thread. Invoked on a background thread.
+	 *
+	 * @param key Key of the desired value.
+	 * @return Prepared value or {@code null} if the value cannot be prepared, in which case it is
+	 * created whenever it is actually requested.
+	 */
+	abstract V prepareValue(K key);
+
+	/**
+	 * Prepares values for the specified <var>keys</var> via the given <var>executor</var>, so the
+	 * first request for such values via {@link #get(Object)} is served without any work on the main
+	 * thread. Values which are already cached are skipped.
+	 *
+	 * @param executor  The executor used to prepare the values.
+	 * @param valueKeys Keys of the desired values to prepare.
+	 */
+	final void warmUpValues(final Executor executor, final K[] valueKeys) {
+		if (valueKeys.length == 0) {
+			return;
+		}
+		executor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				for (final K key : valueKeys) {
+					warmUpValue(key);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Prepares value for the specified <var>key</var> and stores it so it is served by the next
+	 * request for such value.
+	 *
+	 * @param key Key of the desired value.
+	 */
+	final void warmUpValue(final K key) {
+		if (contains(key)) {
+			return;
+		}
+		final int valueGeneration = generation.get();
+		final V value = prepareValue(key);
+		if (value != null && valueGeneration == generation.get()) {
+			this.warmedUpValues.put(key, value);
+		}
+	}
+
+	/**
+	 * Checks whether value for the specified <var>key</var> is already cached or prepared ahead.
+	 *
+	 * @param key Key of the value to check.
+	 * @return {@code True} if the value may be served without its creation, {@code false} otherwise.
+	 */
+	final boolean contains(final K key) {
+		return warmedUpValues.containsKey(key) || keys.contains(key);
+	}
+
+	/**
+	 * Returns the count of values that have been prepared ahead and have not been requested yet.
+	 *
+	 * @return Count of warmed up values.
+	 */
+	public int getWarmedUpCount() {
+		return warmedUpValues.size();
+	}
+
+	/**
+	 * Evicts all values from this cache including the ones prepared ahead.
+	 */
+	public void evictAll() {
+		this.generation.incrementAndGet();
+		this.warmedUpValues.clear();
+		this.values.evictAll();
+	}
+
+	/**
+	 * Trims this cache according to the specified memory trim <var>level</var>. Values prepared
+	 * ahead and half of the cached values are evicted for {@link ComponentCallbacks2#TRIM_MEMORY_RUNNING_MODERATE},
+	 * all values are evicted for any higher level.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 * @return Count of evicted values.
+	 */
+	public int trimMemory(final int level) {
+		final int sizeBefore = values.size() + warmedUpValues.size();
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			evictAll();
+		} else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+			this.generation.incrementAndGet();
+			this.warmedUpValues.clear();
+			this.values.trimToSize(maxSize / 2);
+		}
+		return sizeBefore - (values.size() + warmedUpValues.size());
+	}
+
+	/**
+	 * Returns the count of requests for values that have been served from this cache.
+	 *
+	 * @return Count of cache hits.
+	 *
+	 * @see #getMissCount()
+	 */
+	public int getHitCount() {
+		return values.hitCount();
+	}
+
+	/**
+	 * Returns the count of requests for values that have not been cached yet, including requests
+	 * served by values prepared ahead.
+	 *
+	 * @return Count of cache misses.
+	 *
+	 * @see #getHitCount()
+	 */
+	public int getMissCount() {
+		return values.missCount();
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,526 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
+import android.util.SparseArray;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Manager of keyed asynchronous tasks of a single Universi context that may be used as replacement
+ * for the deprecated loaders API.
+ * <p>
+ * Each task is identified by its id. {@link #initTask(int, Task, Callback)} starts a task only if
+ * there is no task with the same id yet, otherwise only attaches the given callback to the existing
+ * one, {@link #restartTask(int, Task, Callback)} cancels the existing task (if any) and starts the
+ * new one and {@link #startTask(int, Task, Callback)} combines both, like {@code startLoader(...)}
+ * did. Tasks are executed via {@link UniversiExecutors#background()} executor and their results
+ * are delivered on the main thread, but only while the associated context is not paused. Results
+ * finished while paused are delivered whenever the context is resumed.
+ * <p>
+ * Manager is retained across configuration changes of its context via {@link UniversiContextDelegate#saveInstanceState(Bundle)}
+ * and {@link UniversiContextDelegate#restoreInstanceState(Bundle)}, so running tasks are not restarted
+ * and results of finished tasks are delivered again to callbacks attached via {@link #initTask(int, Task, Callback)}
+ * by the recreated context. All tasks are cancelled whenever the context is destroyed for good or
+ * when the retained manager is not reclaimed by the recreated context. Only results of finished
+ * tasks are retained, the tasks themselves are released as soon as they finish, so a task that
+ * captures the destroyed context holds it no longer than it runs.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ *
+ * @see UniversiContextDelegate#getTaskManager()
+ */
+public final class TaskManager {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "TaskManager";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Task that may be executed via {@link TaskManager}.
+	 *
+	 * @param <R> Type of the result of the task.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface Task<R> {
+
+		/**
+		 * Invoked on a background thread to execute this task.
+		 * <p>
+		 * Implementations should check {@link Thread#isInterrupted()} during long running work, as
+		 * thread of a cancelled task is interrupted.
+		 *
+		 * @return Result of the task.
+		 * @throws Exception If execution of the task fails. Such error is delivered via
+		 *                   {@link Callback#onTaskFailed(int, Exception)}.
+		 */
+		@WorkerThread R execute() throws Exception;
+	}
+
+	/**
+	 * Callback to which are delivered results of tasks executed via {@link TaskManager}.
+	 *
+	 * @param <R> Type of the result of the task.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 */
+	public interface Callback<R> {
+
+		/**
+		 * Invoked whenever task with the specified <var>id</var> is successfully finished.
+		 *
+		 * @param id     Id of the finished task.
+		 * @param result Result of the task.
+		 */
+		@UiThread void onTaskFinished(int id, R result);
+
+		/**
+		 * Invoked whenever execution of task with the specified <var>id</var> fails.
+		 *
+		 * @param id    Id of the failed task.
+		 * @param error The error thrown by the task.
+		 */
+		@UiThread void onTaskFailed(int id, @NonNull Exception error);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Managers retained across configuration changes of their contexts keyed by their retain keys.
+	 * Accessed only on the main thread.
+	 */
+	private static final Map<String, TaskManager> RETAINED = new HashMap<>();
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Executor used to execute the tasks.
+	 */
+	private final ExecutorService executor;
+
+	/**
+	 * Handler used to deliver results of the tasks on the main thread.
+	 */
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	/**
+	 * Entries of the managed tasks keyed by ids of the tasks.
+	 */
+	private final SparseArray<Entry> entries = new SparseArray<>(2);
+
+	/**
+	 * Key under which is this manager retained or {@code null} if it is not retained.
+	 */
+	private String retainKey;
+
+	/**
+	 * Boolean flag indicating whether the associated context is paused, so results should not be
+	 * delivered.
+	 */
+	private boolean paused;
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Same as {@link #TaskManager(ExecutorService)} with {@link UniversiExecutors#background()}.
+	 */
+	TaskManager() {
+		this(UniversiExecutors.background());
+	}
+
+	/**
+	 * Creates a new instance of TaskManager which will execute its tasks via the specified <var>executor</var>.
+	 *
+	 * @param executor The executor to be used to execute tasks.
+	 */
+	@VisibleForTesting TaskManager(@NonNull final ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Retains this manager so it may be reclaimed via {@link #reclaim(String)} by a context recreated
+	 * due to configuration change.
+	 *
+	 * @return Key under which has been this manager retained.
+	 */
+	@UiThread String retain() {
+		if (retainKey == null) {
+			this.retainKey = UUID.randomUUID().toString();
+			RETAINED.put(retainKey, this);
+		}
+		return retainKey;
+	}
+
+	/**
+	 * Reclaims the manager retained via {@link #retain()} under the specified <var>key</var>.
+	 *
+	 * @param key The key under which has been the desired manager retained.
+	 * @return The retained manager or {@code null} if there is no manager retained under such key,
+	 * for example when the process has been killed meanwhile.
+	 */
+	@UiThread @Nullable static TaskManager reclaim(@NonNull final String key) {
+		final TaskManager manager = RETAINED.remove(key);
+		if (manager != null) {
+			manager.retainKey = null;
+		}
+		return manager;
+	}
+
+	/**
+	 * Same as {@link #initTask(int, Task, Callback)} if there is no task with the specified <var>id</var>,
+	 * otherwise same as {@link #restartTask(int, Task, Callback)}.
+	 */
+	@UiThread public <R> void startTask(@IntRange(from = 0) final int id, @NonNull final Task<R> task, @NonNull final Callback<R> callback) {
+		if (entries.get(id) == null) initTask(id, task, callback);
+		else restartTask(id, task, callback);
+	}
+
+	/**
+	 * Starts the given <var>task</var> with the specified <var>id</var> if there is no task with
+	 * such id yet. If there is, the given <var>callback</var> is only attached to it and if such
+	 * task is already finished, its result is delivered to the callback (when not paused).
+	 *
+	 * @param id       Id of the desired task.
+	 * @param task     The task to be started.
+	 * @param callback The callback to which to deliver result of the task.
+	 * @param <R>      Type of the result of the task.
+	 */
+	@SuppressWarnings("unchecked")
+	@UiThread public <R> void initTask(@IntRange(from = 0) final int id, @NonNull final Task<R> task, @NonNull final Callback<R> callback) {
+		final Entry entry = entries.get(id);
+		if (entry == null) {
+			this.executeEntry(new Entry(id, task, callback));
+			return;
+		}
+		entry.callback = (Callback<Object>) (Callback<?>) callback;
+		if (entry.finished) {
+			entry.delivered = false;
+			this.deliver(entry);
+		}
+	}
+
+	/**
+	 * Cancels task with the specified <var>id</var> (if any) and starts the given <var>task</var>
+	 * under such id.
+	 *
+	 * @param id       Id of the desired task.
+	 * @param task     The task to be started.
+	 * @param callback The callback to which to deliver result of the task.
+	 * @param <R>      Type of the result of the task.
+	 */
+	@UiThread public <R> void restartTask(@IntRange(from = 0) final int id, @NonNull final Task<R> task, @NonNull final Callback<R> callback) {
+		this.destroyTask(id);
+		this.executeEntry(new Entry(id, task, callback));
+	}
+
+	/**
+	 * Executes task of the given <var>entry</var> via executor of this manager.
+	 *
+	 * @param entry The entry of which task to execute.
+	 */
+	private void executeEntry(final Entry entry) {
+		this.entries.put(entry.id, entry);
+		entry.future = executor.submit(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				final Task<?> task = entry.task;
+				if (task == null) {
+					return;
+				}
+				Object result = null;
+				Exception error = null;
+				try {
+					result = task.execute();
+				} catch (Exception e) {
+					error = e;
+				}
+				if (entry.cancelled) {
+					return;
+				}
+				final Object finalResult = result;
+				final Exception finalError = error;
+				handler.post(new Runnable() {
+
+					/**
+					 */
+					@Override public void run() {
+						onTaskFinished(entry, finalResult, finalError);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Invoked on the main thread whenever task of the given <var>entry</var> is finished.
+	 *
+	 * @param entry  The entry of the finished task.
+	 * @param result Result of the task.
+	 * @param error  Error thrown by the task or {@code null} if the task has finished successfully.
+	 */
+	@UiThread void onTaskFinished(final Entry entry, final Object result, final Exception error) {
+		if (entry.cancelled || entries.get(entry.id) != entry) {
+			return;
+		}
+		entry.task = null;
+		entry.future = null;
+		entry.finished = true;
+		entry.result = result;
+		entry.error = error;
+		this.deliver(entry);
+	}
+
+	/**
+	 * Delivers result of the given finished <var>entry</var> to its callback if the result has not
+	 * been delivered yet and the associated context is not paused.
+	 *
+	 * @param entry The entry of which result to deliver.
+	 */
+	private void deliver(final Entry entry) {
+		if (paused || entry.delivered || entry.callback == null) {
+			return;
+		}
+		entry.delivered = true;
+		if (entry.error == null) {
+			entry.callback.onTaskFinished(entry.id, entry.result);
+		} else {
+			entry.callback.onTaskFailed(entry.id, entry.error);
+		}
+	}
+
+	/**
+	 * Checks whether there is task with the specified <var>id</var> running at this time.
+	 *
+	 * @param id Id of the desired task.
+	 * @return {@code True} if the task is running, {@code false} if it is finished or there is no
+	 * such task.
+	 */
+	@UiThread public boolean isTaskRunning(@IntRange(from = 0) final int id) {
+		final Entry entry = entries.get(id);
+		return entry != null && !entry.finished;
+	}
+
+	/**
+	 * Checks whether there is task with the specified <var>id</var> managed by this manager, either
+	 * running or finished.
+	 *
+	 * @param id Id of the desired task.
+	 * @return {@code True} if there is such task, {@code false} otherwise.
+	 */
+	@UiThread public boolean hasTask(@IntRange(from = 0) final int id) {
+		return entries.get(id) != null;
+	}
+
+	/**
+	 * Cancels task with the specified <var>id</var> (if running) and removes it along with its
+	 * result from this manager.
+	 *
+	 * @param id Id of the desired task to destroy.
+	 */
+	@UiThread public void destroyTask(@IntRange(from = 0) final int id) {
+		final Entry entry = entries.get(id);
+		if (entry != null) {
+			this.entries.remove(id);
+			entry.cancel();
+		}
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether the associated context is paused. Results of tasks
+	 * finished while paused are delivered whenever this manager is resumed.
+	 *
+	 * @param paused {@code True} if the context is paused, {@code false} otherwise.
+	 */
+	@UiThread void setPaused(final boolean paused) {
+		this.paused = paused;
+		if (!paused) {
+			for (int i = 0; i < entries.size(); i++) {
+				final Entry entry = entries.valueAt(i);
+				if (entry.finished) this.deliver(entry);
+			}
+		}
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether this manager is paused, so results of its tasks
+	 * are not delivered.
+	 *
+	 * @return {@code True} if paused, {@code false} otherwise.
+	 */
+	@VisibleForTesting boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * Detaches all callbacks from the managed tasks, so the destroyed context is not leaked while
+	 * this manager is retained across configuration change. If this manager has not been retained,
+	 * all its tasks are cancelled as there is no context to reclaim it.
+	 * <p>
+	 * The recreated context reclaims the retained manager while it is being created, which happens
+	 * within the same message of the main thread as destruction of the old context. So if this
+	 * manager is not reclaimed by the time the next message is processed, it will never be and it
+	 * is destroyed, so it is not held by the retained managers forever.
+	 */
+	@UiThread void detach() {
+		if (retainKey == null) {
+			this.destroy();
+			return;
+		}
+		this.paused = true;
+		for (int i = 0; i < entries.size(); i++) {
+			entries.valueAt(i).callback = null;
+		}
+		final String detachedKey = retainKey;
+		this.handler.post(new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				if (detachedKey.equals(retainKey)) destroy();
+			}
+		});
+	}
+
+	/**
+	 * Cancels all running tasks, removes all tasks from this manager and releases this manager if
+	 * it has been retained.
+	 */
+	@UiThread void destroy() {
+		for (int i = 0; i < entries.size(); i++) {
+			entries.valueAt(i).cancel();
+		}
+		this.entries.clear();
+		if (retainKey != null) {
+			RETAINED.remove(retainKey);
+			this.retainKey = null;
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Entry holding a single task managed by {@link TaskManager} along with its state.
+	 */
+	@VisibleForTesting static final class Entry {
+
+		/**
+		 * Id of the task.
+		 */
+		final int id;
+
+		/**
+		 * The task to be executed. Released once the task is finished or cancelled, so the task
+		 * is not held along with its result. May be read from a background thread.
+		 */
+		volatile Task<?> task;
+
+		/**
+		 * Callback to which to deliver result of the task. May be {@code null} while detached.
+		 */
+		Callback<Object> callback;
+
+		/**
+		 * Future of the running task.
+		 */
+		Future<?> future;
+
+		/**
+		 * Result of the finished task.
+		 */
+		Object result;
+
+		/**
+		 * Error of the failed task.
+		 */
+		Exception error;
+
+		/**
+		 * Boolean flags describing state of the task.
+		 */
+		boolean finished, delivered;
+
+		/**
+		 * Boolean flag indicating whether the task has been cancelled. May be read from a background thread.
+		 */
+		volatile boolean cancelled;
+
+		/**
+		 * Creates a new instance of Entry with the specified parameters.
+		 */
+		@SuppressWarnings("unchecked")
+		Entry(final int id, final Task<?> task, final Callback<?> callback) {
+			this.id = id;
+			this.task = task;
+			this.callback = (Callback<Object>) callback;
+		}
+
+		/**
+		 * Cancels the task of this entry.
+		 */
+		void cancel() {
+			this.cancelled = true;
+			this.task = null;
+			this.callback = null;
+			if (future != null) {
+				this.future.cancel(true);
+				this.future = null;
+			}
+		}
+	}
+}
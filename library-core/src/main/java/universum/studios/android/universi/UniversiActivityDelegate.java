@@ -24,13 +24,20 @@ import android.app.FragmentManager;
 import android.app.LoaderManager;
 import android.content.Context;
 import android.content.Loader;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.RequiresApi;
 import android.support.annotation.VisibleForTesting;
+import android.util.SparseArray;
 
 import universum.studios.android.dialog.manage.DialogController;
+import universum.studios.android.fragment.BackPressWatcher;
 import universum.studios.android.fragment.manage.FragmentController;
 import universum.studios.android.fragment.manage.FragmentFactory;
 import universum.studios.android.transition.BaseNavigationalTransition;
@@ -44,7 +51,12 @@ import universum.studios.android.transition.BaseNavigationalTransition;
  * {@link #setFragmentFactory(FragmentFactory)}.
  * <p>
  * Navigational transition that can be specified via {@link #setNavigationalTransition(BaseNavigationalTransition)}
- * can be used to finish the associated activity.
+ * can be used to finish the associated activity. Enter transition of the associated activity may
+ * be postponed via {@link #postponeEnterTransition(long)} until its content is ready or the specified
+ * timeout expires.
+ * <p>
+ * Restarts of loaders requested via {@link #startLoader(int, Bundle, LoaderManager.LoaderCallbacks)}
+ * may be debounced via {@link #setLoaderRestartWindow(long)}.
  * <p>
  * <b>Note</b> that this class has not been made final on purpose so it may be easily mocked in tests,
  * thought it should not been extended.
@@ -87,11 +99,103 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 */
 	private FragmentFactory fragmentFactory;
 
+	/**
+	 * Prefetcher wrapping the {@link #fragmentFactory} that is used to instantiate fragments ahead
+	 * of time. Created only if fragment prefetching is enabled.
+	 */
+	private FragmentPrefetcher fragmentPrefetcher;
+
+	/**
+	 * Current fragment resolved via {@link #findCurrentFragment()}. May be {@code null} if there was
+	 * no fragment found or if the cached fragment has been invalidated.
+	 */
+	private Fragment currentFragment;
+
+	/**
+	 * Fragment manager observed for changes that invalidate the {@link #currentFragment}.
+	 */
+	private FragmentManager observedFragmentManager;
+
+	/**
+	 * Callbacks used to invalidate the {@link #currentFragment} whenever a fragment is started or
+	 * stopped. Available only on {@link Build.VERSION_CODES#O O} and above.
+	 */
+	private Object fragmentLifecycleCallbacks;
+
+	/**
+	 * Registry of back press watchers of the associated activity. Lazily created.
+	 */
+	private BackPressWatcherRegistry backPressWatcherRegistry;
+
+	/**
+	 * Listener used to invalidate the {@link #currentFragment} whenever back stack of the observed
+	 * fragment manager changes.
+	 */
+	private final FragmentManager.OnBackStackChangedListener backStackChangedListener = new FragmentManager.OnBackStackChangedListener() {
+
+		/**
+		 */
+		@Override public void onBackStackChanged() {
+			invalidateCurrentFragment();
+		}
+	};
+
 	/**
 	 * Navigational transition that can be used to finish the associated activity context.
 	 */
 	private BaseNavigationalTransition navigationalTransition;
 
+	/**
+	 * Time window in milliseconds within which are restarts of already started loaders debounced.
+	 */
+	private long loaderRestartWindow;
+
+	/**
+	 * Array of pending loader restarts mapped to ids of the loaders to be restarted.
+	 */
+	private SparseArray<PendingLoaderRestart> pendingLoaderRestarts;
+
+	/**
+	 * Handler used to post pending loader restarts and timeout of postponed enter transition.
+	 * Lazily created.
+	 */
+	private Handler handler;
+
+	/**
+	 * Boolean flag indicating whether enter transition of the associated activity is postponed via
+	 * {@link #postponeEnterTransition(long)} and has not been started yet.
+	 */
+	private boolean enterTransitionPostponed;
+
+	/**
+	 * Uptime in milliseconds at which has been the enter transition postponed.
+	 */
+	private long enterTransitionPostponedAt;
+
+	/**
+	 * Duration in milliseconds for which has been the enter transition postponed or {@code -1} if
+	 * the postponed transition has not been started yet.
+	 */
+	private long enterTransitionPostponedDuration = -1;
+
+	/**
+	 * Boolean flag indicating whether the postponed enter transition has been started due to expired
+	 * timeout.
+	 */
+	private boolean enterTransitionPostponeTimedOut;
+
+	/**
+	 * Runnable used to start the postponed enter transition whenever its timeout expires.
+	 */
+	private final Runnable enterTransitionTimeout = new Runnable() {
+
+		/**
+		 */
+		@Override public void run() {
+			onEnterTransitionTimeout();
+		}
+	};
+
 	/*
 	 * Constructors ================================================================================
 	 */
@@ -125,9 +229,48 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 		return new DialogController((Activity) context);
 	}
 
+	/**
+	 * Sets a time window within which should be restarts of already started loaders requested via
+	 * {@link #startLoader(int, Bundle, LoaderManager.LoaderCallbacks)} debounced.
+	 * <p>
+	 * When the window is greater than {@code 0}, a restart of loader is performed only after there
+	 * has been no other start request for the same loader id for the specified time window. Only
+	 * params and callbacks of the latest request are used for the restart, all previous requests are
+	 * dropped. Initialization of a loader that has not been started yet is never debounced.
+	 * <p>
+	 * Default value: {@code 0}, that is, loaders are restarted immediately
+	 *
+	 * @param windowMillis The desired time window in milliseconds. May be {@code 0} to disable
+	 *                     debouncing.
+	 *
+	 * @see #getLoaderRestartWindow()
+	 */
+	public void setLoaderRestartWindow(@IntRange(from = 0) final long windowMillis) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException("Loader restart window must be positive or zero!");
+		}
+		this.loaderRestartWindow = windowMillis;
+	}
+
+	/**
+	 * Returns the time window within which are restarts of already started loaders debounced.
+	 *
+	 * @return Time window in milliseconds or {@code 0} if loaders are restarted immediately.
+	 *
+	 * @see #setLoaderRestartWindow(long)
+	 */
+	@IntRange(from = 0) public long getLoaderRestartWindow() {
+		return loaderRestartWindow;
+	}
+
 	/**
 	 * Starts a loader with the specified <var>id</var>. If there was already started loader with the
 	 * same id before, such a loader will be <b>re-started</b>, otherwise new loader will be <b>initialized</b>.
+	 * <p>
+	 * If there is a loader restart window specified via {@link #setLoaderRestartWindow(long)}, restart
+	 * of already started loader is only scheduled and performed after the window elapses without any
+	 * other start request for the same <var>id</var>. In such case this method returns the currently
+	 * started loader.
 	 *
 	 * @param id        Id of the desired loader to start.
 	 * @param params    Params for loader.
@@ -141,8 +284,73 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 */
 	@Nullable public <D> Loader<D> startLoader(@IntRange(from = 0) final int id, @Nullable final Bundle params, @NonNull final LoaderManager.LoaderCallbacks<D> callbacks) {
 		final LoaderManager manager = ((Activity) context).getLoaderManager();
-		if (manager.getLoader(id) == null) return initLoader(id, params, callbacks);
-		else return restartLoader(id, params, callbacks);
+		final Loader<D> loader = manager.getLoader(id);
+		if (loader == null) return initLoader(id, params, callbacks);
+		if (loaderRestartWindow > 0) {
+			scheduleLoaderRestart(id, params, callbacks);
+			return loader;
+		}
+		return restartLoader(id, params, callbacks);
+	}
+
+	/**
+	 * Schedules restart of loader with the specified <var>id</var> to be performed after the current
+	 * loader restart window elapses. If there is already restart pending for the same id, it is
+	 * replaced by the new one.
+	 *
+	 * @param id        Id of the loader to restart.
+	 * @param params    Params for loader.
+	 * @param callbacks Callbacks for loader.
+	 */
+	private void scheduleLoaderRestart(final int id, final Bundle params, final LoaderManager.LoaderCallbacks<?> callbacks) {
+		this.ensureHandler();
+		if (pendingLoaderRestarts == null) this.pendingLoaderRestarts = new SparseArray<>(1);
+		final PendingLoaderRestart previousRestart = pendingLoaderRestarts.get(id);
+		if (previousRestart != null) this.handler.removeCallbacks(previousRestart);
+		final PendingLoaderRestart restart = new PendingLoaderRestart(this, id, params, callbacks);
+		this.pendingLoaderRestarts.put(id, restart);
+		this.handler.postDelayed(restart, loaderRestartWindow);
+	}
+
+	/**
+	 * Checks whether there is restart pending for loader with the specified <var>id</var>.
+	 *
+	 * @param id Id of the desired loader.
+	 * @return {@code True} if restart of the loader is scheduled, {@code false} otherwise.
+	 *
+	 * @see #setLoaderRestartWindow(long)
+	 */
+	public boolean isLoaderRestartPending(@IntRange(from = 0) final int id) {
+		return pendingLoaderRestarts != null && pendingLoaderRestarts.get(id) != null;
+	}
+
+	/**
+	 * Cancels restart pending for loader with the specified <var>id</var> (if any).
+	 *
+	 * @param id Id of the loader of which pending restart to cancel.
+	 */
+	private void cancelLoaderRestart(final int id) {
+		if (pendingLoaderRestarts == null) {
+			return;
+		}
+		final PendingLoaderRestart restart = pendingLoaderRestarts.get(id);
+		if (restart != null) {
+			this.pendingLoaderRestarts.remove(id);
+			this.handler.removeCallbacks(restart);
+		}
+	}
+
+	/**
+	 * Invoked whenever the specified pending loader <var>restart</var> should be performed.
+	 *
+	 * @param restart The restart to be performed.
+	 */
+	@SuppressWarnings("unchecked")
+	void onPerformLoaderRestart(final PendingLoaderRestart restart) {
+		if (pendingLoaderRestarts == null || pendingLoaderRestarts.get(restart.id) != restart) {
+			return;
+		}
+		restartLoader(restart.id, restart.params, restart.callbacks);
 	}
 
 	/**
@@ -178,6 +386,7 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 * @see LoaderManager#restartLoader(int, Bundle, LoaderManager.LoaderCallbacks)
 	 */
 	@Nullable public <D> Loader<D> restartLoader(@IntRange(from = 0) final int id, @Nullable final Bundle params, @NonNull final LoaderManager.LoaderCallbacks<D> callbacks) {
+		cancelLoaderRestart(id);
 		return ((Activity) context).getLoaderManager().restartLoader(id, params, callbacks);
 	}
 
@@ -191,9 +400,32 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 * @see LoaderManager#destroyLoader(int)
 	 */
 	public void destroyLoader(@IntRange(from = 0) final int id) {
+		cancelLoaderRestart(id);
 		((Activity) context).getLoaderManager().destroyLoader(id);
 	}
 
+	/**
+	 */
+	@Override public void destroy(final boolean changingConfigurations) {
+		// Cancel all pending loader restarts as there is no reason to perform them anymore.
+		if (pendingLoaderRestarts != null) {
+			for (int i = 0; i < pendingLoaderRestarts.size(); i++) {
+				this.handler.removeCallbacks(pendingLoaderRestarts.valueAt(i));
+			}
+			this.pendingLoaderRestarts.clear();
+		}
+		if (enterTransitionPostponed) {
+			this.handler.removeCallbacks(enterTransitionTimeout);
+			this.enterTransitionPostponed = false;
+		}
+		if (fragmentPrefetcher != null) {
+			this.fragmentPrefetcher.release();
+			this.fragmentPrefetcher = null;
+		}
+		this.stopObservingFragmentManager();
+		super.destroy(changingConfigurations);
+	}
+
 	/**
 	 * Sets a navigational transition that can be used to finish associated activity via
 	 * {@link #finishWithNavigationalTransition()}.
@@ -238,6 +470,140 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 		return true;
 	}
 
+	/**
+	 * Ensures that the handler used by this delegate is created.
+	 */
+	private void ensureHandler() {
+		if (handler == null) this.handler = new Handler(Looper.getMainLooper());
+	}
+
+	/**
+	 * Postpones enter transition of the associated activity until {@link #startPostponedEnterTransition()}
+	 * is called or the specified <var>timeoutMillis</var> expires, whichever comes first. Once the
+	 * transition is started, duration for which it has been postponed may be obtained via
+	 * {@link #getEnterTransitionPostponedDuration()}.
+	 * <p>
+	 * This should be called while the associated activity is being created. If the enter transition
+	 * is already postponed or the current Android version is below {@link Build.VERSION_CODES#LOLLIPOP LOLLIPOP},
+	 * this method does nothing.
+	 *
+	 * @param timeoutMillis The time in milliseconds after which should be the postponed transition
+	 *                      started regardless of whether it has been started explicitly or not.
+	 * @throws IllegalArgumentException If the specified timeout is not positive.
+	 *
+	 * @see #isEnterTransitionPostponed()
+	 */
+	public void postponeEnterTransition(@IntRange(from = 1) final long timeoutMillis) {
+		if (timeoutMillis <= 0) {
+			throw new IllegalArgumentException("Enter transition postpone timeout must be positive!");
+		}
+		if (enterTransitionPostponed || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+			return;
+		}
+		((Activity) context).postponeEnterTransition();
+		this.enterTransitionPostponed = true;
+		this.enterTransitionPostponedAt = SystemClock.uptimeMillis();
+		this.enterTransitionPostponedDuration = -1;
+		this.enterTransitionPostponeTimedOut = false;
+		this.ensureHandler();
+		this.handler.postDelayed(enterTransitionTimeout, timeoutMillis);
+	}
+
+	/**
+	 * Checks whether enter transition of the associated activity is postponed at this time.
+	 *
+	 * @return {@code True} if the enter transition has been postponed via {@link #postponeEnterTransition(long)}
+	 * and has not been started yet, {@code false} otherwise.
+	 */
+	public boolean isEnterTransitionPostponed() {
+		return enterTransitionPostponed;
+	}
+
+	/**
+	 * Starts the enter transition of the associated activity postponed via {@link #postponeEnterTransition(long)}
+	 * (if any) and cancels its timeout.
+	 *
+	 * @return {@code True} if the postponed transition has been started, {@code false} if there was
+	 * no transition postponed.
+	 */
+	public boolean startPostponedEnterTransition() {
+		if (!enterTransitionPostponed) {
+			return false;
+		}
+		this.handler.removeCallbacks(enterTransitionTimeout);
+		this.resumeEnterTransition(false);
+		return true;
+	}
+
+	/**
+	 * Invoked whenever timeout of the postponed enter transition expires.
+	 */
+	@VisibleForTesting void onEnterTransitionTimeout() {
+		if (enterTransitionPostponed) this.resumeEnterTransition(true);
+	}
+
+	/**
+	 * Starts the postponed enter transition and records for how long it has been postponed.
+	 *
+	 * @param timedOut {@code True} if the transition is being started due to expired timeout,
+	 *                 {@code false} otherwise.
+	 */
+	private void resumeEnterTransition(final boolean timedOut) {
+		this.enterTransitionPostponed = false;
+		this.enterTransitionPostponedDuration = SystemClock.uptimeMillis() - enterTransitionPostponedAt;
+		this.enterTransitionPostponeTimedOut = timedOut;
+		((Activity) context).startPostponedEnterTransition();
+	}
+
+	/**
+	 * Returns the duration for which has been the enter transition of the associated activity
+	 * postponed via {@link #postponeEnterTransition(long)}.
+	 *
+	 * @return Duration in milliseconds or {@code -1} if no postponed transition has been started yet.
+	 *
+	 * @see #hasEnterTransitionPostponeTimedOut()
+	 */
+	public long getEnterTransitionPostponedDuration() {
+		return enterTransitionPostponedDuration;
+	}
+
+	/**
+	 * Checks whether the last enter transition postponed via {@link #postponeEnterTransition(long)}
+	 * has been started due to expired timeout instead of via {@link #startPostponedEnterTransition()}.
+	 *
+	 * @return {@code True} if the postponed transition has timed out, {@code false} otherwise.
+	 *
+	 * @see #getEnterTransitionPostponedDuration()
+	 */
+	public boolean hasEnterTransitionPostponeTimedOut() {
+		return enterTransitionPostponeTimedOut;
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether options menu of the associated activity, declared via
+	 * annotation, should be built from a parsed menu description cached across invalidations of the
+	 * menu instead of being inflated from its Xml resource each time.
+	 *
+	 * @param enabled {@code True} to enable options menu caching, {@code false} otherwise.
+	 *
+	 * @see #isOptionsMenuCachingEnabled()
+	 */
+	public void setOptionsMenuCachingEnabled(final boolean enabled) {
+		this.updatePrivateFlags(PFLAG_OPTIONS_MENU_CACHING_ENABLED, enabled);
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether options menu of the associated activity should be
+	 * built from a cached menu description.
+	 *
+	 * @return {@code True} if options menu caching is enabled, {@code false} otherwise.
+	 *
+	 * @see #setOptionsMenuCachingEnabled(boolean)
+	 */
+	public boolean isOptionsMenuCachingEnabled() {
+		return hasPrivateFlag(PFLAG_OPTIONS_MENU_CACHING_ENABLED);
+	}
+
 	/**
 	 * Sets a controller used to manage (show/hide) fragments in context of the associated activity.
 	 *
@@ -248,9 +614,9 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 */
 	public void setFragmentController(@Nullable final FragmentController controller) {
 		this.fragmentController = controller;
-		if (fragmentFactory != null) {
-			this.ensureFragmentController();
-			fragmentController.setFactory(fragmentFactory);
+		this.invalidateCurrentFragment();
+		if (controller != null && fragmentFactory != null) {
+			controller.setFactory(resolveControllerFactory());
 		}
 	}
 
@@ -262,11 +628,16 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 */
 	@NonNull public FragmentController getFragmentController() {
 		this.ensureFragmentController();
+		// Controller is most probably obtained in order to perform fragments transaction.
+		this.invalidateCurrentFragment();
 		return fragmentController;
 	}
 
 	/**
 	 * Sets a factory that provides fragment instances for fragment controller of this delegate.
+	 * <p>
+	 * If the fragment controller has not been created yet, the factory is attached to it whenever
+	 * it is created, so specifying of the factory does not force creation of the controller.
 	 *
 	 * @param factory The desired factory. May be {@code null} to clear the current one.
 	 *
@@ -276,8 +647,8 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	 */
 	public void setFragmentFactory(@Nullable final FragmentFactory factory) {
 		this.fragmentFactory = factory;
-		this.ensureFragmentController();
-		this.fragmentController.setFactory(factory);
+		if (fragmentPrefetcher != null) this.fragmentPrefetcher.setFactory(factory);
+		if (fragmentController != null) this.fragmentController.setFactory(resolveControllerFactory());
 	}
 
 	/**
@@ -291,22 +662,243 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 		return fragmentFactory;
 	}
 
+	/**
+	 * Sets a boolean flag indicating whether fragments provided by the fragment factory should be
+	 * prefetched via {@link FragmentPrefetcher}. When enabled, fragments requested via {@link #prefetchFragments(int...)}
+	 * are instantiated ahead of time while the main thread is idle and handed to the fragment controller
+	 * whenever it requests them from the factory.
+	 * <p>
+	 * Default value: {@code false}
+	 *
+	 * @param enabled {@code True} to enable fragments prefetching, {@code false} to disable it and
+	 *                release all prefetched fragments.
+	 *
+	 * @see #isFragmentPrefetchingEnabled()
+	 * @see #setFragmentFactory(FragmentFactory)
+	 */
+	public void setFragmentPrefetchingEnabled(final boolean enabled) {
+		if (enabled == (fragmentPrefetcher != null)) {
+			return;
+		}
+		if (enabled) {
+			this.fragmentPrefetcher = new FragmentPrefetcher(context, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+			this.fragmentPrefetcher.setFactory(fragmentFactory);
+		} else {
+			this.fragmentPrefetcher.release();
+			this.fragmentPrefetcher = null;
+		}
+		if (fragmentController != null && fragmentFactory != null) {
+			this.fragmentController.setFactory(resolveControllerFactory());
+		}
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether fragments prefetching is enabled.
+	 *
+	 * @return {@code True} if fragments are prefetched, {@code false} otherwise.
+	 *
+	 * @see #setFragmentPrefetchingEnabled(boolean)
+	 */
+	public boolean isFragmentPrefetchingEnabled() {
+		return fragmentPrefetcher != null;
+	}
+
+	/**
+	 * Returns the prefetcher used to instantiate fragments ahead of time.
+	 *
+	 * @return Fragment prefetcher or {@code null} if fragments prefetching is not enabled.
+	 *
+	 * @see #setFragmentPrefetchingEnabled(boolean)
+	 */
+	@Nullable public FragmentPrefetcher getFragmentPrefetcher() {
+		return fragmentPrefetcher;
+	}
+
+	/**
+	 * Requests fragments with the specified <var>fragmentIds</var>, which are likely to be shown next,
+	 * to be instantiated via the fragment factory while the main thread is idle.
+	 * <p>
+	 * This method does nothing if fragments prefetching is not enabled.
+	 *
+	 * @param fragmentIds Ids of the desired fragments to be prefetched.
+	 *
+	 * @see #setFragmentPrefetchingEnabled(boolean)
+	 */
+	public void prefetchFragments(@NonNull final int... fragmentIds) {
+		if (fragmentPrefetcher != null) this.fragmentPrefetcher.prefetch(fragmentIds);
+	}
+
+	/**
+	 * Resolves the factory that should be attached to the fragment controller.
+	 *
+	 * @return Fragment prefetcher if fragments prefetching is enabled, the fragment factory otherwise.
+	 */
+	private FragmentFactory resolveControllerFactory() {
+		return fragmentPrefetcher == null || fragmentFactory == null ? fragmentFactory : fragmentPrefetcher;
+	}
+
 	/**
 	 * Ensures that the fragment controller is initialized.
 	 */
 	private void ensureFragmentController() {
-		if (fragmentController == null) this.fragmentController = new FragmentController((Activity) context);
+		if (fragmentController == null) {
+			final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_CREATE_FRAGMENT_CONTROLLER);
+			this.fragmentController = new FragmentController((Activity) context);
+			if (fragmentFactory != null) this.fragmentController.setFactory(resolveControllerFactory());
+			UniversiTrace.endSection(UniversiTrace.SECTION_CREATE_FRAGMENT_CONTROLLER, traceStart);
+		}
+	}
+
+	/**
+	 * Checks whether the fragment controller has been already created or specified for this delegate.
+	 *
+	 * @return {@code True} if there is fragment controller, {@code false} otherwise.
+	 */
+	@VisibleForTesting boolean hasFragmentController() {
+		return fragmentController != null;
 	}
 
 	/**
 	 * Searches for current fragment displayed in container that is used by {@link FragmentController}
 	 * of this delegate to show fragments in the context of the associated activity.
+	 * <p>
+	 * The found fragment is cached, so subsequent calls do not need to look it up again. The cached
+	 * fragment is invalidated whenever back stack of the fragment manager of the associated activity
+	 * changes, whenever the fragment controller is obtained in order to perform a transaction, whenever
+	 * a fragment is attached (see {@link #onFragmentAttached(Fragment)}), whenever a fragment is
+	 * started or stopped (on {@link Build.VERSION_CODES#O O} and above) and whenever the cached
+	 * fragment is no longer added or is hidden. If there was no fragment found, the lookup
+	 * is performed again on the next call, as a fragment may be added without any of the changes above.
 	 *
 	 * @return Instance of current fragment found via {@link FragmentController#findCurrentFragment()}
 	 * or {@code null} if there is no fragment displayed.
 	 */
 	@Nullable public Fragment findCurrentFragment() {
-		return fragmentController == null ? null : fragmentController.findCurrentFragment();
+		if (fragmentController == null) {
+			return null;
+		}
+		if (currentFragment != null && isFragmentCurrent(currentFragment)) {
+			return currentFragment;
+		}
+		this.observeFragmentManager();
+		return currentFragment = fragmentController.findCurrentFragment();
+	}
+
+	/**
+	 * Checks whether the specified <var>fragment</var> may be still considered as the current one.
+	 *
+	 * @param fragment The fragment to check.
+	 * @return {@code True} if the fragment is added, not being removed and not hidden, {@code false}
+	 * otherwise.
+	 */
+	private static boolean isFragmentCurrent(final Fragment fragment) {
+		return fragment.isAdded() && !fragment.isRemoving() && !fragment.isHidden();
+	}
+
+	/**
+	 * Invalidates the cached current fragment, so it is looked up again when it is requested next time.
+	 */
+	void invalidateCurrentFragment() {
+		this.currentFragment = null;
+	}
+
+	/**
+	 * Should be called by the associated activity whenever a fragment is attached to it, so the
+	 * cached current fragment is invalidated also for fragments added or replaced directly via
+	 * fragment manager without being added into the back stack.
+	 *
+	 * @param fragment The fragment that has been attached.
+	 *
+	 * @see Activity#onAttachFragment(Fragment)
+	 */
+	public void onFragmentAttached(@NonNull final Fragment fragment) {
+		this.invalidateCurrentFragment();
+	}
+
+	/**
+	 * Starts observing of fragment manager of the associated activity for changes that invalidate
+	 * the cached current fragment (if not observed yet).
+	 */
+	private void observeFragmentManager() {
+		if (observedFragmentManager != null) {
+			return;
+		}
+		final FragmentManager fragmentManager = ((Activity) context).getFragmentManager();
+		if (fragmentManager == null) {
+			return;
+		}
+		this.observedFragmentManager = fragmentManager;
+		fragmentManager.addOnBackStackChangedListener(backStackChangedListener);
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+			final FragmentLifecycleCallbacks callbacks = new FragmentLifecycleCallbacks(this);
+			fragmentManager.registerFragmentLifecycleCallbacks(callbacks, false);
+			this.fragmentLifecycleCallbacks = callbacks;
+		}
+	}
+
+	/**
+	 * Stops observing of fragment manager of the associated activity (if observed).
+	 */
+	private void stopObservingFragmentManager() {
+		if (observedFragmentManager == null) {
+			return;
+		}
+		this.observedFragmentManager.removeOnBackStackChangedListener(backStackChangedListener);
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && fragmentLifecycleCallbacks != null) {
+			this.observedFragmentManager.unregisterFragmentLifecycleCallbacks((FragmentManager.FragmentLifecycleCallbacks) fragmentLifecycleCallbacks);
+			this.fragmentLifecycleCallbacks = null;
+		}
+		this.observedFragmentManager = null;
+		this.invalidateCurrentFragment();
+	}
+
+	/**
+	 * Returns the registry into which may fragments of the associated activity, including the nested
+	 * ones, register themselves in order to receive back press events.
+	 *
+	 * @return Back press watcher registry of this delegate.
+	 *
+	 * @see #dispatchBackPressToWatchers()
+	 */
+	@NonNull public BackPressWatcherRegistry getBackPressWatcherRegistry() {
+		if (backPressWatcherRegistry == null) this.backPressWatcherRegistry = new BackPressWatcherRegistry();
+		return backPressWatcherRegistry;
+	}
+
+	/**
+	 * Dispatches back press event to all watchers registered in the back press watcher registry
+	 * of this delegate.
+	 *
+	 * @return {@code True} if one of the registered watchers has consumed the event, {@code false}
+	 * otherwise.
+	 *
+	 * @see BackPressWatcherRegistry#dispatchBackPress()
+	 */
+	public boolean dispatchBackPressToWatchers() {
+		return backPressWatcherRegistry != null && backPressWatcherRegistry.dispatchBackPress();
+	}
+
+	/**
+	 * Checks whether there are any watchers registered in the back press watcher registry of this
+	 * delegate.
+	 *
+	 * @return {@code True} if at least one watcher is registered, {@code false} otherwise.
+	 *
+	 * @see #getBackPressWatcherRegistry()
+	 */
+	public boolean hasBackPressWatchers() {
+		return backPressWatcherRegistry != null && backPressWatcherRegistry.size() > 0;
+	}
+
+	/**
+	 * Checks whether the specified <var>watcher</var> is registered in the back press watcher
+	 * registry of this delegate.
+	 *
+	 * @param watcher The watcher to check.
+	 * @return {@code True} if the watcher is registered, {@code false} otherwise.
+	 */
+	public boolean isBackPressWatcherRegistered(@NonNull final BackPressWatcher watcher) {
+		return backPressWatcherRegistry != null && backPressWatcherRegistry.isRegistered(watcher);
 	}
 
 	/**
@@ -326,4 +918,79 @@ public class UniversiActivityDelegate extends UniversiContextDelegate {
 	/*
 	 * Inner classes ===============================================================================
 	 */
+
+	/**
+	 * Fragment lifecycle callbacks that invalidate the cached current fragment of their parent delegate.
+	 */
+	@RequiresApi(Build.VERSION_CODES.O)
+	private static final class FragmentLifecycleCallbacks extends FragmentManager.FragmentLifecycleCallbacks {
+
+		/**
+		 * Delegate of which current fragment to invalidate.
+		 */
+		private final UniversiActivityDelegate delegate;
+
+		/**
+		 * Creates a new instance of FragmentLifecycleCallbacks for the specified <var>delegate</var>.
+		 *
+		 * @param delegate The delegate of which current fragment to invalidate.
+		 */
+		FragmentLifecycleCallbacks(final UniversiActivityDelegate delegate) {
+			this.delegate = delegate;
+		}
+
+		/**
+		 */
+		@Override public void onFragmentStarted(final FragmentManager manager, final Fragment fragment) {
+			delegate.invalidateCurrentFragment();
+		}
+
+		/**
+		 */
+		@Override public void onFragmentStopped(final FragmentManager manager, final Fragment fragment) {
+			delegate.invalidateCurrentFragment();
+		}
+	}
+
+	/**
+	 * Runnable holding parameters of a debounced loader restart.
+	 */
+	static final class PendingLoaderRestart implements Runnable {
+
+		/**
+		 * Delegate that has scheduled this restart.
+		 */
+		final UniversiActivityDelegate delegate;
+
+		/**
+		 * Id of the loader to restart.
+		 */
+		final int id;
+
+		/**
+		 * Params for the restarted loader.
+		 */
+		final Bundle params;
+
+		/**
+		 * Callbacks for the restarted loader.
+		 */
+		final LoaderManager.LoaderCallbacks callbacks;
+
+		/**
+		 * Creates a new instance of PendingLoaderRestart with the specified parameters.
+		 */
+		PendingLoaderRestart(final UniversiActivityDelegate delegate, final int id, final Bundle params, final LoaderManager.LoaderCallbacks<?> callbacks) {
+			this.delegate = delegate;
+			this.id = id;
+			this.params = params;
+			this.callbacks = callbacks;
+		}
+
+		/**
+		 */
+		@Override public void run() {
+			delegate.onPerformLoaderRestart(this);
+		}
+	}
 }
\ No newline at end of file
@@ -21,15 +21,24 @@ package universum.studios.android.universi;
 import android.Manifest;
 import android.app.DialogFragment;
 import android.app.Fragment;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
+import android.os.Bundle;
+import android.support.annotation.CheckResult;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RequiresPermission;
+import android.support.annotation.UiThread;
+import android.support.annotation.VisibleForTesting;
 import android.support.annotation.XmlRes;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import universum.studios.android.dialog.DialogOptions;
 import universum.studios.android.dialog.XmlDialog;
 import universum.studios.android.dialog.manage.DialogController;
@@ -49,9 +58,11 @@ import universum.studios.android.dialog.manage.DialogXmlFactory;
  * {@link #getDialogController()} and custom controller can be specified via {@link #setDialogController(DialogController)}.
  * <p>
  * Without any set up this delegate can be used to show any implementation of {@link XmlDialog} via
- * {@link #showXmlDialog(int, DialogOptions)} where for such case will be created internal instance
+ * {@link #showXmlDialog(int, DialogOptions)} where for such case will be used shared instance
  * of {@link DialogXmlFactory} used to inflate such dialogs from an Xml file containing a
- * <b>single dialog entry</b>.
+ * <b>single dialog entry</b>. All instances of {@link DialogXmlFactory} used by this delegate are
+ * obtained from application-scoped {@link DialogXmlFactoryCache}, so the same Xml dialogs are not
+ * parsed again for each context.
  * <p>
  * If the associated context wants to display XmlDialogs from an Xml file containing a
  * <b>set of multiple dialog entries</b> or just simple dialogs instantiated via plain Java code it
@@ -61,12 +72,35 @@ import universum.studios.android.dialog.manage.DialogXmlFactory;
  * <p>
  * Already showing dialogs can be dismissed via {@link #dismissDialogWithId(int)} or {@link #dismissXmlDialog(int)}.
  * <p>
- * If the associated context is paused (indicated via {@link #setPaused(boolean)}), invoking one of
- * {@code showDialog(...)} methods will be ignored.
+ * If the associated context is paused (indicated via {@link #setPaused(boolean)}) or its state has
+ * been already saved (indicated via {@link #setStateSaved(boolean)}), requests to show or dismiss
+ * dialogs are deferred into a bounded pending queue and replayed in order whenever the context is
+ * resumed again. Redundant requests for the same dialog are collapsed. Pending requests survive
+ * configuration changes if the associated context saves and restores state of this delegate via
+ * {@link #saveInstanceState(Bundle)} and {@link #restoreInstanceState(Bundle)}. Deferring of dialog
+ * requests may be disabled via {@link #setDialogRequestsDeferralEnabled(boolean)}, in which case
+ * such requests are simply ignored.
  *
  * <h3>2) Connection checking</h3>
  * Check whether there is some network connection established or not can be done via {@link #isActiveNetworkConnected()}
- * or for a specific connection type via {@link #isNetworkConnected(int)} for that matter.
+ * or for a specific connection type via {@link #isNetworkConnected(int)} for that matter. These checks
+ * are served by process-wide {@link NetworkStateMonitor} shared by all delegates. Changes in connection
+ * of the active network may be observed via {@link OnNetworkStateChangeListener} registered via
+ * {@link #registerOnNetworkStateChangeListener(OnNetworkStateChangeListener)}.
+ *
+ * <h3>3) Data binding scheduling</h3>
+ * Requests to bind data made from background threads may be coalesced into a single binding pass
+ * per frame via {@link BindDataScheduler} that can be accessed via {@link #getBindDataScheduler()}.
+ * Data may be also prepared on a background thread before they are bound via {@link DataPreparer}
+ * if such preparation is enabled via {@link #setDataPreparationEnabled(boolean)}.
+ *
+ * <h3>4) Lifecycle state</h3>
+ * Lifecycle of the associated context is tracked by a simple state machine driven by {@link #setViewCreated(boolean)},
+ * {@link #setPaused(boolean)}, {@link #setStateSaved(boolean)} and {@link #destroy(boolean)}. The
+ * current state may be obtained via {@link #getLifecycleState()} from any thread without locking,
+ * so background work may check whether it is still needed without posting to the main thread.
+ * Transitions between states may be observed via {@link OnLifecycleStateChangeListener} registered
+ * via {@link #registerOnLifecycleStateChangeListener(OnLifecycleStateChangeListener)}.
  *
  * @author Martin Albedinsky
  * @since 1.0
@@ -82,12 +116,62 @@ public abstract class UniversiContextDelegate {
 	 */
 	// private static final String TAG = "UniversiContextDelegate";
 
+	/**
+	 * Data sections mask that may be used to request binding of all data sections of the associated
+	 * context.
+	 *
+	 * @see #markDataSectionsDirty(int)
+	 */
+	public static final int DATA_SECTIONS_ALL = 0xffffffff;
+
+	/**
+	 * Lifecycle state of the associated context that has been destroyed. This is the terminal state.
+	 *
+	 * @see #getLifecycleState()
+	 */
+	public static final int STATE_DESTROYED = 0;
+
+	/**
+	 * Lifecycle state of the associated context that does not have its view hierarchy created.
+	 *
+	 * @see #getLifecycleState()
+	 */
+	public static final int STATE_INITIALIZED = 1;
+
+	/**
+	 * Lifecycle state of the associated context that has its view hierarchy created but is not
+	 * resumed at this time, that is, it has not been resumed yet, it has been paused or its state
+	 * has been saved.
+	 *
+	 * @see #getLifecycleState()
+	 */
+	public static final int STATE_VIEW_CREATED = 2;
+
+	/**
+	 * Lifecycle state of the associated context that has its view hierarchy created and is resumed.
+	 *
+	 * @see #getLifecycleState()
+	 */
+	public static final int STATE_RESUMED = 3;
+
 	/**
 	 * Request flag indicating whether the wrapped context requested binding of its data to its view
 	 * hierarchy or not.
 	 */
 	static final int REQUEST_BIND_DATA = 0x00000001;
 
+	/**
+	 * Request flag indicating whether there is binding of data scheduled via {@link BindDataScheduler}
+	 * or not.
+	 */
+	static final int REQUEST_BIND_DATA_SCHEDULED = 0x00000001 << 1;
+
+	/**
+	 * Request flag indicating whether there is content view of the wrapped context being inflated
+	 * asynchronously or not.
+	 */
+	static final int REQUEST_INFLATE_CONTENT_VIEW = 0x00000001 << 2;
+
 	/**
 	 * Flag indicating whether the wrapped context has its view created or not.
 	 */
@@ -103,10 +187,99 @@ public abstract class UniversiContextDelegate {
 	 */
 	private static final int PFLAG_PAUSED = 0x00000001 << 2;
 
+	/**
+	 * Flag indicating whether data of the wrapped context should be prepared on a background thread
+	 * before they are bound or not.
+	 */
+	private static final int PFLAG_PREPARE_DATA = 0x00000001 << 3;
+
+	/**
+	 * Flag indicating whether deferring of dialog requests made while the wrapped context is paused
+	 * or its state has been saved is disabled or not.
+	 */
+	private static final int PFLAG_DIALOG_REQUESTS_DEFERRAL_DISABLED = 0x00000001 << 4;
+
+	/**
+	 * Flag indicating whether content view of the wrapped context should be inflated asynchronously.
+	 */
+	private static final int PFLAG_INFLATE_CONTENT_VIEW_ASYNC = 0x00000001 << 5;
+
+	/**
+	 * Flag indicating whether the dialog controller has been created by this delegate and has not
+	 * been handed out, so it may be released whenever the system requests to trim memory.
+	 */
+	private static final int PFLAG_DIALOG_CONTROLLER_RELEASABLE = 0x00000001 << 6;
+
+	/**
+	 * Flag indicating whether options menu of the wrapped activity should be built from cached menu
+	 * description. Used by {@link UniversiActivityDelegate}.
+	 */
+	static final int PFLAG_OPTIONS_MENU_CACHING_ENABLED = 0x00000001 << 7;
+
+	/**
+	 * Flag indicating whether the wrapped context has been resumed and not paused since then.
+	 */
+	private static final int PFLAG_RESUMED = 0x00000001 << 8;
+
+	/**
+	 * Bundle key used to save pending dialog requests.
+	 */
+	private static final String BUNDLE_PENDING_DIALOG_REQUESTS = UniversiContextDelegate.class.getName() + ".BUNDLE.PendingDialogRequests";
+
+	/**
+	 * Bundle key used to save key under which is the task manager retained across configuration change.
+	 */
+	private static final String BUNDLE_TASK_MANAGER_KEY = UniversiContextDelegate.class.getName() + ".BUNDLE.TaskManagerKey";
+
 	/*
 	 * Interface ===================================================================================
 	 */
 
+	/**
+	 * Listener that may be used to receive callback about changes in connection of the active network.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 *
+	 * @see #registerOnNetworkStateChangeListener(OnNetworkStateChangeListener)
+	 */
+	public interface OnNetworkStateChangeListener {
+
+		/**
+		 * Invoked whenever connection of the active network changes.
+		 * <p>
+		 * Changes are debounced, so this is invoked only once the connection state settles, and
+		 * are not delivered while the associated context is paused. The latest change made while
+		 * paused is delivered whenever the context is resumed.
+		 *
+		 * @param connected {@code True} if the active network is now connected, {@code false} otherwise.
+		 */
+		@UiThread void onNetworkStateChanged(boolean connected);
+	}
+
+	/**
+	 * Listener that may be used to receive callback about transitions between lifecycle states of
+	 * the associated context.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 *
+	 * @see #registerOnLifecycleStateChangeListener(OnLifecycleStateChangeListener)
+	 */
+	public interface OnLifecycleStateChangeListener {
+
+		/**
+		 * Invoked whenever lifecycle state of the associated context changes. This is invoked on
+		 * the thread which has driven the transition, that is usually the main thread.
+		 *
+		 * @param previousState The previous lifecycle state. One of {@link #STATE_DESTROYED},
+		 *                      {@link #STATE_INITIALIZED}, {@link #STATE_VIEW_CREATED} or {@link #STATE_RESUMED}.
+		 * @param newState      The new lifecycle state. One of {@link #STATE_DESTROYED},
+		 *                      {@link #STATE_INITIALIZED}, {@link #STATE_VIEW_CREATED} or {@link #STATE_RESUMED}.
+		 */
+		void onLifecycleStateChanged(int previousState, int newState);
+	}
+
 	/*
 	 * Static members ==============================================================================
 	 */
@@ -126,9 +299,30 @@ public abstract class UniversiContextDelegate {
 	private int privateFlags;
 
 	/**
-	 * Set of request flags.
+	 * Set of request flags. These may be updated also from a background thread.
+	 */
+	private final AtomicInteger requestFlags = new AtomicInteger();
+
+	/**
+	 * Current lifecycle state of the associated context. May be read from any thread.
+	 */
+	private final AtomicInteger lifecycleState = new AtomicInteger(STATE_INITIALIZED);
+
+	/**
+	 * List of listeners to be notified about transitions between lifecycle states. Lazily created.
+	 */
+	private volatile List<OnLifecycleStateChangeListener> lifecycleStateListeners;
+
+	/**
+	 * Set of data sections that have been requested to be bound but have not been bound yet. These
+	 * may be updated also from a background thread.
+	 */
+	private final AtomicInteger dirtyDataSections = new AtomicInteger();
+
+	/**
+	 * Scheduler used to coalesce data binding requests made from background threads.
 	 */
-	private int requestFlags;
+	private volatile BindDataScheduler bindDataScheduler;
 
 	/**
 	 * Controller that is used to show and dismiss dialogs within context that uses this delegate.
@@ -141,14 +335,34 @@ public abstract class UniversiContextDelegate {
 	private DialogFactory dialogFactory;
 
 	/**
-	 * Dialog factory used to inflate dialog instances presented within a single Xml file.
+	 * Queue of dialog requests deferred while the wrapped context is paused or its state has been saved.
+	 */
+	private PendingDialogQueue pendingDialogQueue;
+
+	/**
+	 * Preparer used to prepare data of the wrapped context on a background thread before they are bound.
+	 */
+	private DataPreparer dataPreparer;
+
+	/**
+	 * Manager of asynchronous tasks of the wrapped context.
+	 */
+	private TaskManager taskManager;
+
+	/**
+	 * Process-wide monitor used to check for established/available connections.
 	 */
-	private DialogXmlFactory dialogXmlFactory;
+	private NetworkStateMonitor networkStateMonitor;
 
 	/**
-	 * Manager used to check for established/available connections.
+	 * Observer delivering network state changes to the registered {@link OnNetworkStateChangeListener OnNetworkStateChangeListeners}.
 	 */
-	private ConnectivityManager connectivityManager;
+	private NetworkStateObserver networkStateObserver;
+
+	/**
+	 * Count of caches and idle components released via {@link #trimMemory(int)}.
+	 */
+	private int releasedCount;
 
 	/*
 	 * Constructors ================================================================================
@@ -177,9 +391,9 @@ public abstract class UniversiContextDelegate {
 	 */
 	public void setDialogController(@Nullable final DialogController controller) {
 		this.dialogController = controller;
-		if (dialogFactory != null) {
-			this.ensureDialogController();
-			dialogController.setFactory(dialogFactory);
+		this.updatePrivateFlags(PFLAG_DIALOG_CONTROLLER_RELEASABLE, false);
+		if (controller != null && dialogFactory != null) {
+			controller.setFactory(dialogFactory);
 		}
 	}
 
@@ -187,7 +401,8 @@ public abstract class UniversiContextDelegate {
 	 * Returns the controller that can be used to show and dismiss dialogs within context that uses
 	 * this delegate
 	 * <p>
-	 * If not specified, instance of {@link DialogController} is instantiated by default.
+	 * If not specified, instance of {@link DialogController} is instantiated by default. The default
+	 * controller is instantiated lazily, whenever it is actually needed for the first time.
 	 *
 	 * @return The dialog controller of this delegate.
 	 *
@@ -195,6 +410,8 @@ public abstract class UniversiContextDelegate {
 	 */
 	@NonNull public DialogController getDialogController() {
 		this.ensureDialogController();
+		// Controller handed out may be configured by the caller, so it must be kept.
+		this.updatePrivateFlags(PFLAG_DIALOG_CONTROLLER_RELEASABLE, false);
 		return dialogController;
 	}
 
@@ -202,7 +419,22 @@ public abstract class UniversiContextDelegate {
 	 * Ensures that the dialog controller is initialized.
 	 */
 	private void ensureDialogController() {
-		if (dialogController == null) this.dialogController = instantiateDialogController();
+		if (dialogController == null) {
+			final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_CREATE_DIALOG_CONTROLLER);
+			this.dialogController = instantiateDialogController();
+			if (dialogFactory != null) this.dialogController.setFactory(dialogFactory);
+			this.updatePrivateFlags(PFLAG_DIALOG_CONTROLLER_RELEASABLE, true);
+			UniversiTrace.endSection(UniversiTrace.SECTION_CREATE_DIALOG_CONTROLLER, traceStart);
+		}
+	}
+
+	/**
+	 * Checks whether the dialog controller has been already created or specified for this delegate.
+	 *
+	 * @return {@code True} if there is dialog controller, {@code false} otherwise.
+	 */
+	@VisibleForTesting boolean hasDialogController() {
+		return dialogController != null;
 	}
 
 	/**
@@ -214,18 +446,22 @@ public abstract class UniversiContextDelegate {
 
 	/**
 	 * Same as {@link #setDialogFactory(DialogFactory)} where will be passed instance of
-	 * {@link DialogXmlFactory} with the specified <var>xmlDialogsSet</var>.
+	 * {@link DialogXmlFactory} with the specified <var>xmlDialogsSet</var> obtained from
+	 * {@link DialogXmlFactoryCache}.
 	 *
 	 * @param xmlDialogsSet Resource id of the desired Xml file containing Xml dialogs that the
 	 *                      factory should provide. May be {@code 0} to remove the current one.
 	 */
 	public void setDialogXmlFactory(@XmlRes final int xmlDialogsSet) {
-		setDialogFactory(xmlDialogsSet == 0 ? null : new DialogXmlFactory(context, xmlDialogsSet));
+		setDialogFactory(xmlDialogsSet == 0 ? null : DialogXmlFactoryCache.obtain(context).getFactory(context, xmlDialogsSet));
 	}
 
 	/**
 	 * Specifies a factory that should provide dialog instances for {@link DialogController} of
 	 * this delegate.
+	 * <p>
+	 * If the dialog controller has not been created yet, the factory is attached to it whenever
+	 * it is created, so specifying of the factory does not force creation of the controller.
 	 *
 	 * @param factory The desired factory. May be {@code null} to remove the current one.
 	 *
@@ -234,8 +470,7 @@ public abstract class UniversiContextDelegate {
 	 */
 	public void setDialogFactory(@Nullable final DialogFactory factory) {
 		this.dialogFactory = factory;
-		this.ensureDialogController();
-		dialogController.setFactory(factory);
+		if (dialogController != null) dialogController.setFactory(factory);
 	}
 
 	/**
@@ -255,15 +490,19 @@ public abstract class UniversiContextDelegate {
 	 * @param dialogId Id of the desired dialog to show.
 	 * @param options  Options for the dialog.
 	 * @return {@code True} if dialog has been shown, {@code false} if context that uses this delegate
-	 * is currently <b>paused</b> or its <b>state has been already saved</b> or does not have its dialog
-	 * factory specified.
+	 * is currently <b>paused</b> or its <b>state has been already saved</b> (in which case the request
+	 * is deferred) or does not have its dialog factory specified.
 	 *
 	 * @see DialogController#newRequest(int)
 	 * @see #setDialogFactory(DialogFactory)
 	 * @see #dismissDialogWithId(int)
 	 */
 	public boolean showDialogWithId(@IntRange(from = 0) final int dialogId, @Nullable final DialogOptions options) {
-		if (hasPrivateFlag(PFLAG_STATE_SAVED | PFLAG_PAUSED) || dialogFactory == null) {
+		if (dialogFactory == null) {
+			return false;
+		}
+		if (hasPrivateFlag(PFLAG_STATE_SAVED | PFLAG_PAUSED)) {
+			this.deferDialogRequest(PendingDialogQueue.SHOW_DIALOG, dialogId, options);
 			return false;
 		}
 		this.ensureDialogController();
@@ -275,13 +514,18 @@ public abstract class UniversiContextDelegate {
 	 *
 	 * @param dialogId Id of the desired dialog to dismiss.
 	 * @return {@code True} if dialog has been dismissed, {@code false} if context that uses this
-	 * delegate is currently <b>paused</b> or does not have its dialog factory specified.
+	 * delegate is currently <b>paused</b> (in which case the request is deferred) or does not have
+	 * its dialog factory specified.
 	 *
 	 * @see DialogController#newRequest(int)
 	 * @see #showDialogWithId(int, DialogOptions)
 	 */
 	public boolean dismissDialogWithId(@IntRange(from = 0) final int dialogId) {
-		if (hasPrivateFlag(PFLAG_PAUSED) || dialogFactory == null) {
+		if (dialogFactory == null) {
+			return false;
+		}
+		if (hasPrivateFlag(PFLAG_PAUSED)) {
+			this.deferDialogRequest(PendingDialogQueue.DISMISS_DIALOG, dialogId, null);
 			return false;
 		}
 		this.ensureDialogController();
@@ -297,13 +541,14 @@ public abstract class UniversiContextDelegate {
 	 * @param options Options for the dialog.
 	 * @return {@code True} if dialog has been successfully inflated and shown, {@code false} if
 	 * context that uses this delegate is currently <b>paused</b> or its <b>state has been already saved</b>
-	 * or dialog failed to be inflated.
+	 * (in which case the request is deferred) or dialog failed to be inflated.
 	 *
 	 * @see DialogXmlFactory#createDialog(int, DialogOptions)
 	 * @see #dismissXmlDialog(int)
 	 */
 	public boolean showXmlDialog(@XmlRes final int resId, @Nullable final DialogOptions options) {
 		if (hasPrivateFlag(PFLAG_STATE_SAVED | PFLAG_PAUSED)) {
+			this.deferDialogRequest(PendingDialogQueue.SHOW_XML_DIALOG, resId, options);
 			return false;
 		}
 		final DialogXmlFactory dialogFactory = accessDialogXmlFactory();
@@ -320,12 +565,13 @@ public abstract class UniversiContextDelegate {
 	 *
 	 * @param resId Resource id of Xml file containing the desired dialog (its specification) to dismiss.
 	 * @return {@code True} if dialog has been dismissed, {@code false} if context that uses this
-	 * delegate is currently <b>paused</b>.
+	 * delegate is currently <b>paused</b> (in which case the request is deferred).
 	 *
 	 * @see #showXmlDialog(int, DialogOptions)
 	 */
 	public boolean dismissXmlDialog(@XmlRes final int resId) {
 		if (hasPrivateFlag(PFLAG_PAUSED)) {
+			this.deferDialogRequest(PendingDialogQueue.DISMISS_XML_DIALOG, resId, null);
 			return false;
 		}
 		this.ensureDialogController();
@@ -337,8 +583,86 @@ public abstract class UniversiContextDelegate {
 	}
 
 	/**
-	 * Ensures that the dialog Xml factory is initialized and returns it. If {@link #dialogFactory}
-	 * is instance of {@link DialogXmlFactory} than it will be returned.
+	 * Sets a boolean flag indicating whether requests to show or dismiss dialogs made while the
+	 * associated context is paused or its state has been already saved should be deferred and
+	 * replayed whenever the context is resumed again. Deferring is enabled by default.
+	 *
+	 * @param enabled {@code True} to defer such dialog requests, {@code false} to ignore them.
+	 *
+	 * @see #isDialogRequestsDeferralEnabled()
+	 */
+	public void setDialogRequestsDeferralEnabled(final boolean enabled) {
+		this.updatePrivateFlags(PFLAG_DIALOG_REQUESTS_DEFERRAL_DISABLED, !enabled);
+		if (!enabled && pendingDialogQueue != null) pendingDialogQueue.drain();
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether dialog requests made while the associated context
+	 * is paused or its state has been already saved are deferred or not.
+	 *
+	 * @return {@code True} if such dialog requests are deferred, {@code false} if they are ignored.
+	 *
+	 * @see #setDialogRequestsDeferralEnabled(boolean)
+	 */
+	public boolean isDialogRequestsDeferralEnabled() {
+		return !hasPrivateFlag(PFLAG_DIALOG_REQUESTS_DEFERRAL_DISABLED);
+	}
+
+	/**
+	 * Returns the count of dialog requests that are deferred at this time.
+	 *
+	 * @return Count of pending dialog requests.
+	 */
+	public int getPendingDialogRequestsCount() {
+		return pendingDialogQueue == null ? 0 : pendingDialogQueue.size();
+	}
+
+	/**
+	 * Defers the specified dialog request into the pending queue (if deferring is enabled).
+	 *
+	 * @param type     Type of the request.
+	 * @param dialogId Id or Xml resource of the dialog for which is the request made.
+	 * @param options  Options for the dialog to show. May be {@code null}.
+	 */
+	private void deferDialogRequest(final int type, final int dialogId, final DialogOptions options) {
+		if (hasPrivateFlag(PFLAG_DIALOG_REQUESTS_DEFERRAL_DISABLED)) {
+			return;
+		}
+		if (pendingDialogQueue == null) this.pendingDialogQueue = new PendingDialogQueue();
+		this.pendingDialogQueue.add(type, dialogId, options);
+	}
+
+	/**
+	 * Replays all deferred dialog requests in order in which they have been made. Requests that
+	 * cannot be executed at this time are deferred again.
+	 */
+	private void replayPendingDialogRequests() {
+		if (pendingDialogQueue == null || pendingDialogQueue.isEmpty()) {
+			return;
+		}
+		final List<PendingDialogQueue.Request> requests = pendingDialogQueue.drain();
+		for (final PendingDialogQueue.Request request : requests) {
+			switch (request.type) {
+				case PendingDialogQueue.SHOW_DIALOG:
+					showDialogWithId(request.dialogId, request.options);
+					break;
+				case PendingDialogQueue.DISMISS_DIALOG:
+					dismissDialogWithId(request.dialogId);
+					break;
+				case PendingDialogQueue.SHOW_XML_DIALOG:
+					showXmlDialog(request.dialogId, request.options);
+					break;
+				case PendingDialogQueue.DISMISS_XML_DIALOG:
+					dismissXmlDialog(request.dialogId);
+					break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the dialog Xml factory that can be used to inflate Xml dialogs. If {@link #dialogFactory}
+	 * is instance of {@link DialogXmlFactory} than it will be returned, otherwise the shared factory
+	 * for single dialogs is obtained from {@link DialogXmlFactoryCache}.
 	 *
 	 * @return Instance of DialogXmlFactory that can be used to create instances of Xml dialogs.
 	 */
@@ -346,10 +670,7 @@ public abstract class UniversiContextDelegate {
 		if (dialogFactory instanceof DialogXmlFactory) {
 			return (DialogXmlFactory) dialogFactory;
 		}
-		if (dialogXmlFactory == null) {
-			dialogXmlFactory = new DialogXmlFactory(context);
-		}
-		return dialogXmlFactory;
+		return DialogXmlFactoryCache.obtain(context).getSingleDialogFactory(context);
 	}
 
 	/**
@@ -363,9 +684,8 @@ public abstract class UniversiContextDelegate {
 	 */
 	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
 	public boolean isActiveNetworkConnected() {
-		this.ensureConnectivityManager();
-		final NetworkInfo info = connectivityManager.getActiveNetworkInfo();
-		return info != null && info.isConnected();
+		this.ensureNetworkStateMonitor();
+		return networkStateMonitor.isActiveNetworkConnected();
 	}
 
 	/**
@@ -378,26 +698,57 @@ public abstract class UniversiContextDelegate {
 	 * @see ConnectivityManager#getNetworkInfo(int)
 	 * @see NetworkInfo#isConnected()
 	 */
-	@SuppressWarnings("deprecation")
 	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
 	public boolean isNetworkConnected(final int networkType) {
-		this.ensureConnectivityManager();
-		final NetworkInfo info = connectivityManager.getNetworkInfo(networkType);
-		return info != null && info.isConnected();
+		this.ensureNetworkStateMonitor();
+		return networkStateMonitor.isNetworkConnected(networkType);
 	}
 
 	/**
-	 * Ensures that the connectivity manager is initialized.
+	 * Registers a listener to be notified about changes in connection of the active network.
+	 * <p>
+	 * Registered listeners are not notified while the associated context is paused (indicated via
+	 * {@link #setPaused(boolean)}). Listeners should be unregistered whenever the associated context
+	 * is destroyed.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see #unregisterOnNetworkStateChangeListener(OnNetworkStateChangeListener)
 	 */
-	private void ensureConnectivityManager() {
-		if (connectivityManager == null) {
-			final Context applicationContext = context.getApplicationContext();
-			this.connectivityManager = (ConnectivityManager) applicationContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	public void registerOnNetworkStateChangeListener(@NonNull final OnNetworkStateChangeListener listener) {
+		if (networkStateObserver == null) {
+			this.ensureNetworkStateMonitor();
+			this.networkStateObserver = new NetworkStateObserver(networkStateMonitor);
+			this.networkStateObserver.setPaused(isPaused());
 		}
+		this.networkStateObserver.registerListener(listener);
+	}
+
+	/**
+	 * Unregisters the given listener from the registered ones.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #registerOnNetworkStateChangeListener(OnNetworkStateChangeListener)
+	 */
+	public void unregisterOnNetworkStateChangeListener(@NonNull final OnNetworkStateChangeListener listener) {
+		if (networkStateObserver != null) networkStateObserver.unregisterListener(listener);
+	}
+
+	/**
+	 * Ensures that the network state monitor is initialized.
+	 */
+	private void ensureNetworkStateMonitor() {
+		if (networkStateMonitor == null) this.networkStateMonitor = NetworkStateMonitor.obtain(context);
 	}
 
 	/**
 	 * Sets a boolean flag indicating whether a view hierarchy of the associated context is created or not.
+	 * <p>
+	 * If the view hierarchy is created after the associated context has been already resumed (for
+	 * example when it is inflated asynchronously), the lifecycle is transitioned directly into
+	 * {@link #STATE_RESUMED}, unless state of the context has been saved meanwhile.
 	 *
 	 * @param created {@code True} if view hierarchy is created, {@code false} otherwise.
 	 *
@@ -405,6 +756,21 @@ public abstract class UniversiContextDelegate {
 	 */
 	public void setViewCreated(final boolean created) {
 		this.updatePrivateFlags(PFLAG_VIEW_CREATED, created);
+		if (created) {
+			this.transitionLifecycleState(STATE_INITIALIZED, STATE_VIEW_CREATED);
+			this.resumeLifecycleStateIfPossible();
+		} else {
+			this.transitionLifecycleState(STATE_INITIALIZED);
+		}
+		if (!created && dataPreparer != null) {
+			// Cancel the stale preparation and keep its sections dirty so they are prepared and bound
+			// again whenever the view hierarchy is created again.
+			final int cancelledSections = dataPreparer.cancel();
+			if (cancelledSections != 0) {
+				markDataSectionsDirty(cancelledSections);
+				registerRequest(REQUEST_BIND_DATA);
+			}
+		}
 	}
 
 	/**
@@ -428,6 +794,9 @@ public abstract class UniversiContextDelegate {
 	 */
 	public void setStateSaved(final boolean saved) {
 		this.updatePrivateFlags(PFLAG_STATE_SAVED, saved);
+		if (saved) this.transitionLifecycleState(STATE_RESUMED, STATE_VIEW_CREATED);
+		else this.resumeLifecycleStateIfPossible();
+		if (!hasPrivateFlag(PFLAG_STATE_SAVED | PFLAG_PAUSED)) this.replayPendingDialogRequests();
 	}
 
 	/**
@@ -453,6 +822,12 @@ public abstract class UniversiContextDelegate {
 	 */
 	public void setPaused(final boolean paused) {
 		this.updatePrivateFlags(PFLAG_PAUSED, paused);
+		this.updatePrivateFlags(PFLAG_RESUMED, !paused);
+		if (paused) this.transitionLifecycleState(STATE_RESUMED, STATE_VIEW_CREATED);
+		else this.resumeLifecycleStateIfPossible();
+		if (networkStateObserver != null) networkStateObserver.setPaused(paused);
+		if (taskManager != null) taskManager.setPaused(paused);
+		if (!hasPrivateFlag(PFLAG_STATE_SAVED | PFLAG_PAUSED)) this.replayPendingDialogRequests();
 	}
 
 	/**
@@ -468,8 +843,375 @@ public abstract class UniversiContextDelegate {
 		return hasPrivateFlag(PFLAG_PAUSED);
 	}
 
+	/**
+	 * Returns the current lifecycle state of the associated context.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @return One of {@link #STATE_DESTROYED}, {@link #STATE_INITIALIZED}, {@link #STATE_VIEW_CREATED}
+	 * or {@link #STATE_RESUMED}.
+	 *
+	 * @see #isLifecycleStateAtLeast(int)
+	 */
+	public int getLifecycleState() {
+		return lifecycleState.get();
+	}
+
+	/**
+	 * Checks whether the current lifecycle state of the associated context is at least the specified
+	 * one. Lifecycle states are ordered as {@link #STATE_DESTROYED} &lt; {@link #STATE_INITIALIZED}
+	 * &lt; {@link #STATE_VIEW_CREATED} &lt; {@link #STATE_RESUMED}.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @param state The desired state to check.
+	 * @return {@code True} if the current state is the same or higher than the specified one,
+	 * {@code false} otherwise.
+	 */
+	public boolean isLifecycleStateAtLeast(final int state) {
+		return lifecycleState.get() >= state;
+	}
+
+	/**
+	 * Registers a listener to be notified about transitions between lifecycle states of the associated
+	 * context.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see #unregisterOnLifecycleStateChangeListener(OnLifecycleStateChangeListener)
+	 */
+	public void registerOnLifecycleStateChangeListener(@NonNull final OnLifecycleStateChangeListener listener) {
+		if (lifecycleStateListeners == null) this.lifecycleStateListeners = new CopyOnWriteArrayList<>();
+		if (!lifecycleStateListeners.contains(listener)) this.lifecycleStateListeners.add(listener);
+	}
+
+	/**
+	 * Unregisters the given listener from lifecycle state transitions.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #registerOnLifecycleStateChangeListener(OnLifecycleStateChangeListener)
+	 */
+	public void unregisterOnLifecycleStateChangeListener(@NonNull final OnLifecycleStateChangeListener listener) {
+		if (lifecycleStateListeners != null) this.lifecycleStateListeners.remove(listener);
+	}
+
+	/**
+	 * Transitions the current lifecycle state from {@link #STATE_VIEW_CREATED} into {@link #STATE_RESUMED}
+	 * if the associated context is resumed and its state is not saved.
+	 */
+	private void resumeLifecycleStateIfPossible() {
+		if (hasPrivateFlag(PFLAG_RESUMED) && !hasPrivateFlag(PFLAG_STATE_SAVED)) {
+			this.transitionLifecycleState(STATE_VIEW_CREATED, STATE_RESUMED);
+		}
+	}
+
+	/**
+	 * Transitions the current lifecycle state into the specified <var>newState</var> if it is
+	 * in the specified <var>expectedState</var>.
+	 *
+	 * @param expectedState The state in which must be the lifecycle in order to be transitioned.
+	 * @param newState      The state into which to transition the lifecycle.
+	 */
+	private void transitionLifecycleState(final int expectedState, final int newState) {
+		if (lifecycleState.compareAndSet(expectedState, newState)) {
+			notifyLifecycleStateChanged(expectedState, newState);
+		}
+	}
+
+	/**
+	 * Transitions the current lifecycle state into the specified <var>newState</var> from any state
+	 * higher than the new one. Destroyed lifecycle is never transitioned.
+	 *
+	 * @param newState The state into which to transition the lifecycle.
+	 */
+	private void transitionLifecycleState(final int newState) {
+		int previousState;
+		do {
+			previousState = lifecycleState.get();
+			if (previousState <= newState) {
+				return;
+			}
+		} while (!lifecycleState.compareAndSet(previousState, newState));
+		notifyLifecycleStateChanged(previousState, newState);
+	}
+
+	/**
+	 * Notifies all registered listeners about the specified lifecycle state transition.
+	 *
+	 * @param previousState The previous lifecycle state.
+	 * @param newState      The new lifecycle state.
+	 */
+	private void notifyLifecycleStateChanged(final int previousState, final int newState) {
+		final List<OnLifecycleStateChangeListener> listeners = lifecycleStateListeners;
+		if (listeners != null) {
+			for (final OnLifecycleStateChangeListener listener : listeners) {
+				listener.onLifecycleStateChanged(previousState, newState);
+			}
+		}
+	}
+
+	/**
+	 * Saves the current state of this delegate into the given <var>state</var>, so it may be later
+	 * restored via {@link #restoreInstanceState(Bundle)}. At this time the pending dialog requests
+	 * and key under which is the task manager retained are saved.
+	 *
+	 * @param state The state into which to save the current state of this delegate.
+	 */
+	public void saveInstanceState(@NonNull final Bundle state) {
+		if (pendingDialogQueue != null) pendingDialogQueue.saveState(state, BUNDLE_PENDING_DIALOG_REQUESTS);
+		if (taskManager != null) state.putString(BUNDLE_TASK_MANAGER_KEY, taskManager.retain());
+	}
+
+	/**
+	 * Restores state of this delegate previously saved via {@link #saveInstanceState(Bundle)}.
+	 *
+	 * @param state The state from which to restore state of this delegate.
+	 */
+	public void restoreInstanceState(@NonNull final Bundle state) {
+		if (state.containsKey(BUNDLE_PENDING_DIALOG_REQUESTS) && !hasPrivateFlag(PFLAG_DIALOG_REQUESTS_DEFERRAL_DISABLED)) {
+			if (pendingDialogQueue == null) this.pendingDialogQueue = new PendingDialogQueue();
+			this.pendingDialogQueue.restoreState(state, BUNDLE_PENDING_DIALOG_REQUESTS);
+		}
+		final String taskManagerKey = state.getString(BUNDLE_TASK_MANAGER_KEY);
+		if (taskManagerKey != null && taskManager == null) {
+			this.taskManager = TaskManager.reclaim(taskManagerKey);
+			if (taskManager != null) taskManager.setPaused(!hasPrivateFlag(PFLAG_RESUMED));
+		}
+	}
+
+	/**
+	 * Returns the manager that may be used to execute keyed asynchronous tasks within the associated
+	 * context as replacement for the deprecated loaders API.
+	 * <p>
+	 * The manager is retained across configuration changes of the associated context, so it needs
+	 * to save and restore its state via {@link #saveInstanceState(Bundle)} and {@link #restoreInstanceState(Bundle)}
+	 * and to notify this delegate whenever it is destroyed via {@link #destroy(boolean)}.
+	 *
+	 * @return Task manager of this delegate.
+	 */
+	@NonNull public TaskManager getTaskManager() {
+		if (taskManager == null) {
+			this.taskManager = new TaskManager();
+			// Results are not delivered until the associated context is resumed for the first time.
+			this.taskManager.setPaused(!hasPrivateFlag(PFLAG_RESUMED));
+		}
+		return taskManager;
+	}
+
+	/**
+	 * Checks whether the specified <var>permission</var> has been granted. Grant states are cached
+	 * in application-scoped {@link PermissionStateCache}, so repeated checks of the same permission
+	 * do not query the package manager until the cache is invalidated via {@link #invalidatePermissionStates()}.
+	 *
+	 * @param permission Name of the permission to check.
+	 * @return {@link android.content.pm.PackageManager#PERMISSION_GRANTED} if the permission is
+	 * granted, {@link android.content.pm.PackageManager#PERMISSION_DENIED} otherwise.
+	 */
+	@CheckResult public int checkSelfPermission(@NonNull final String permission) {
+		return PermissionStateCache.obtain(context).checkSelfPermission(permission);
+	}
+
+	/**
+	 * Invalidates grant states of all permissions cached in {@link PermissionStateCache} (if created).
+	 * <p>
+	 * This should be called whenever grant state of any permission may have changed, like when
+	 * result of permissions request is delivered to the associated context or when the context is
+	 * resumed, as the user may have changed permissions in the application settings meantime.
+	 *
+	 * @see #checkSelfPermission(String)
+	 */
+	public void invalidatePermissionStates() {
+		final PermissionStateCache permissionStateCache = PermissionStateCache.peek();
+		if (permissionStateCache != null) {
+			permissionStateCache.invalidate();
+		}
+	}
+
+	/**
+	 * Should be called whenever the system requests the associated context to trim its memory.
+	 * <p>
+	 * When the associated context is no longer visible, that is for {@link ComponentCallbacks2#TRIM_MEMORY_UI_HIDDEN}
+	 * and higher levels, idle dialog controller is released. The controller is idle if it has been
+	 * created by this delegate and has never been handed out via {@link #getDialogController()}, so
+	 * it may be created again whenever it is needed. Application-scoped caches like {@link DialogXmlFactoryCache}
+	 * are trimmed by themselves, so they are not trimmed by each delegate.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 * @return Count of caches and controllers released by this call.
+	 *
+	 * @see #getReleasedCount()
+	 */
+	public int trimMemory(final int level) {
+		final int released = releaseCaches(level);
+		this.releasedCount += released;
+		return released;
+	}
+
+	/**
+	 * Releases caches and idle controllers owned by this delegate according to the specified memory
+	 * trim <var>level</var>.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 * @return Count of released caches and controllers.
+	 */
+	int releaseCaches(final int level) {
+		int released = 0;
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN && dialogController != null && hasPrivateFlag(PFLAG_DIALOG_CONTROLLER_RELEASABLE)) {
+			this.dialogController = null;
+			this.updatePrivateFlags(PFLAG_DIALOG_CONTROLLER_RELEASABLE, false);
+			released++;
+		}
+		return released;
+	}
+
+	/**
+	 * Returns the total count of caches and idle controllers released by this delegate via
+	 * {@link #trimMemory(int)}.
+	 *
+	 * @return Count of released caches and controllers.
+	 */
+	public int getReleasedCount() {
+		return releasedCount;
+	}
+
+	/**
+	 * Should be called whenever the associated context is being destroyed.
+	 * <p>
+	 * If the context is destroyed due to configuration change, the running tasks of the task manager
+	 * are kept running, so the recreated context may obtain their results. Otherwise all tasks are
+	 * cancelled.
+	 *
+	 * @param changingConfigurations {@code True} if the context is being destroyed due to configuration
+	 *                               change, {@code false} otherwise.
+	 *
+	 * @see #getTaskManager()
+	 */
+	public void destroy(final boolean changingConfigurations) {
+		this.transitionLifecycleState(STATE_DESTROYED);
+		if (taskManager == null) {
+			return;
+		}
+		if (changingConfigurations) this.taskManager.detach();
+		else this.taskManager.destroy();
+		this.taskManager = null;
+	}
+
+	/**
+	 * Returns the scheduler that may be used to coalesce data binding requests made from background
+	 * threads into a single binding pass per frame.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @return Bind data scheduler of this delegate.
+	 */
+	@NonNull public BindDataScheduler getBindDataScheduler() {
+		BindDataScheduler scheduler = bindDataScheduler;
+		if (scheduler == null) {
+			synchronized (this) {
+				scheduler = bindDataScheduler;
+				if (scheduler == null) this.bindDataScheduler = scheduler = new BindDataScheduler(this);
+			}
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Marks the specified data <var>sections</var> of the associated context as dirty, that is, their
+	 * data need to be bound again. The sections are merged with sections already marked as dirty.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @param sections The data sections to be marked as dirty. May be {@link #DATA_SECTIONS_ALL}.
+	 *
+	 * @see #consumeDirtyDataSections()
+	 */
+	public void markDataSectionsDirty(final int sections) {
+		int dirtySections;
+		do {
+			dirtySections = dirtyDataSections.get();
+		} while (!dirtyDataSections.compareAndSet(dirtySections, dirtySections | sections));
+	}
+
+	/**
+	 * Returns all data sections marked as dirty via {@link #markDataSectionsDirty(int)} and clears
+	 * them, so the caller becomes responsible for binding of their data.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
+	 *
+	 * @return Dirty data sections or {@code 0} if there are none.
+	 */
+	public int consumeDirtyDataSections() {
+		return dirtyDataSections.getAndSet(0);
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether data of the associated context should be prepared on
+	 * a background thread via {@link DataPreparer} before they are bound on the main thread.
+	 *
+	 * @param enabled {@code True} to enable data preparation, {@code false} to bind data directly.
+	 *
+	 * @see #isDataPreparationEnabled()
+	 * @see #getDataPreparer()
+	 */
+	public void setDataPreparationEnabled(final boolean enabled) {
+		this.updatePrivateFlags(PFLAG_PREPARE_DATA, enabled);
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether data of the associated context should be prepared
+	 * on a background thread before they are bound.
+	 *
+	 * @return {@code True} if data preparation is enabled, {@code false} otherwise.
+	 *
+	 * @see #setDataPreparationEnabled(boolean)
+	 */
+	public boolean isDataPreparationEnabled() {
+		return hasPrivateFlag(PFLAG_PREPARE_DATA);
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether content view of the associated context, declared via
+	 * annotation, should be inflated on a background thread instead of on the main thread.
+	 *
+	 * @param enabled {@code True} to enable asynchronous inflation, {@code false} to inflate content
+	 *                view synchronously.
+	 *
+	 * @see #isAsyncContentViewInflationEnabled()
+	 */
+	public void setAsyncContentViewInflationEnabled(final boolean enabled) {
+		this.updatePrivateFlags(PFLAG_INFLATE_CONTENT_VIEW_ASYNC, enabled);
+	}
+
+	/**
+	 * Returns the boolean flag indicating whether content view of the associated context should be
+	 * inflated on a background thread.
+	 *
+	 * @return {@code True} if asynchronous inflation is enabled, {@code false} otherwise.
+	 *
+	 * @see #setAsyncContentViewInflationEnabled(boolean)
+	 */
+	public boolean isAsyncContentViewInflationEnabled() {
+		return hasPrivateFlag(PFLAG_INFLATE_CONTENT_VIEW_ASYNC);
+	}
+
+	/**
+	 * Returns the preparer that may be used to prepare data of the associated context on a background
+	 * thread before they are bound.
+	 *
+	 * @return Data preparer of this delegate.
+	 *
+	 * @see #setDataPreparationEnabled(boolean)
+	 */
+	@NonNull public DataPreparer getDataPreparer() {
+		if (dataPreparer == null) this.dataPreparer = new DataPreparer(this);
+		return dataPreparer;
+	}
+
 	/**
 	 * Adds a request with the specified <var>request</var> flag into the registered ones.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
 	 *
 	 * @param requestFlag The request flag that should be registered.
 	 *
@@ -477,11 +1219,35 @@ public abstract class UniversiContextDelegate {
 	 * @see #unregisterRequest(int)
 	 */
 	public void registerRequest(final int requestFlag) {
-		this.requestFlags |= requestFlag;
+		int flags;
+		do {
+			flags = requestFlags.get();
+		} while (!requestFlags.compareAndSet(flags, flags | requestFlag));
+	}
+
+	/**
+	 * Atomically adds a request with the specified <var>request</var> flag into the registered ones
+	 * if it is not registered yet.
+	 *
+	 * @param requestFlag The request flag that should be registered.
+	 * @return {@code True} if the request has been registered by this call, {@code false} if it
+	 * has been already registered before.
+	 */
+	boolean registerRequestIfNotRegistered(final int requestFlag) {
+		int flags;
+		do {
+			flags = requestFlags.get();
+			if ((flags & requestFlag) != 0) {
+				return false;
+			}
+		} while (!requestFlags.compareAndSet(flags, flags | requestFlag));
+		return true;
 	}
 
 	/**
 	 * Removes request with the specified <var>request</var> flag from the registered ones.
+	 * <p>
+	 * <b>This method may be invoked from any thread.</b>
 	 *
 	 * @param requestFlag The request flag that should be unregistered.
 	 *
@@ -489,7 +1255,10 @@ public abstract class UniversiContextDelegate {
 	 * @see #isRequestRegistered(int)
 	 */
 	public void unregisterRequest(final int requestFlag) {
-		this.requestFlags &= ~requestFlag;
+		int flags;
+		do {
+			flags = requestFlags.get();
+		} while (!requestFlags.compareAndSet(flags, flags & ~requestFlag));
 	}
 
 	/**
@@ -502,7 +1271,7 @@ public abstract class UniversiContextDelegate {
 	 * @see #unregisterRequest(int)
 	 */
 	public boolean isRequestRegistered(final int requestFlag) {
-		return (requestFlags & requestFlag) != 0;
+		return (requestFlags.get() & requestFlag) != 0;
 	}
 
 	/**
@@ -511,7 +1280,7 @@ public abstract class UniversiContextDelegate {
 	 * @param flag Value of the desired flag to add/remove to/from the current private flags.
 	 * @param add  Boolean flag indicating whether to add or remove the specified <var>flag</var>.
 	 */
-	private void updatePrivateFlags(final int flag, final boolean add) {
+	final void updatePrivateFlags(final int flag, final boolean add) {
 		if (add) this.privateFlags |= flag;
 		else this.privateFlags &= ~flag;
 	}
@@ -523,7 +1292,7 @@ public abstract class UniversiContextDelegate {
 	 * @param flag Value of the flag to check.
 	 * @return {@code True} if the requested flag is contained, {@code false} otherwise.
 	 */
-	private boolean hasPrivateFlag(final int flag) {
+	final boolean hasPrivateFlag(final int flag) {
 		return (privateFlags & flag) != 0;
 	}
 
@@ -0,0 +1,151 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Process;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class that provides executors shared by all components of the Universi library that need
+ * to perform some work off the main thread.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class UniversiExecutors {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "UniversiExecutors";
+
+	/**
+	 * Maximum count of threads used by the background executor.
+	 */
+	private static final int BACKGROUND_POOL_SIZE = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4));
+
+	/**
+	 * Duration in seconds for which may be idle threads of the background executor kept alive.
+	 */
+	private static final long BACKGROUND_KEEP_ALIVE_SECONDS = 30;
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Lock used to synchronize initialization of the background executor.
+	 */
+	private static final Object LOCK = new Object();
+
+	/**
+	 * Background executor lazily initialized via {@link #background()}.
+	 */
+	private static ExecutorService background;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private UniversiExecutors() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the shared executor that may be used to execute tasks on background threads with
+	 * background priority. Count of threads of this executor is bounded, so the submitted tasks
+	 * may wait for their execution if there are too many of them.
+	 *
+	 * @return Background executor ready to be used.
+	 */
+	@NonNull public static ExecutorService background() {
+		synchronized (LOCK) {
+			if (background == null) {
+				final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+						BACKGROUND_POOL_SIZE,
+						BACKGROUND_POOL_SIZE,
+						BACKGROUND_KEEP_ALIVE_SECONDS,
+						TimeUnit.SECONDS,
+						new LinkedBlockingQueue<Runnable>(),
+						new BackgroundThreadFactory()
+				);
+				executor.allowCoreThreadTimeOut(true);
+				background = executor;
+			}
+			return background;
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Factory creating threads with background priority for the background executor.
+	 */
+	private static final class BackgroundThreadFactory implements ThreadFactory {
+
+		/**
+		 * Count of threads created by this factory used to name the threads.
+		 */
+		private final AtomicInteger count = new AtomicInteger();
+
+		/**
+		 */
+		@Override public Thread newThread(@NonNull final Runnable runnable) {
+			final Thread thread = new Thread(new Runnable() {
+
+				/**
+				 */
+				@Override public void run() {
+					Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+					runnable.run();
+				}
+			}, "Universi #" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
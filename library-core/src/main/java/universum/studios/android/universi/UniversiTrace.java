@@ -0,0 +1,222 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Build;
+import android.os.Trace;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Tracing instrumentation used to measure duration of lifecycle hooks of Universi activities and
+ * fragments, like content view inflation, views binding or data binding.
+ * <p>
+ * Tracing is disabled by default in which case it costs only a single volatile read per section.
+ * When enabled via {@link #setEnabled(boolean)}, each section is recorded as {@link Trace} section
+ * (on {@link Build.VERSION_CODES#JELLY_BEAN_MR2 JELLY_BEAN_MR2} and above) so it is visible in
+ * systrace, and it is also reported to {@link Listener} specified via {@link #setListener(Listener)}
+ * (if any), so duration of sections may be collected also without systrace.
+ *
+ * @author Martin Albedinsky
+ * @since 1.1
+ */
+public final class UniversiTrace {
+
+	/*
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "UniversiTrace";
+
+	/**
+	 * Section of content view inflation performed for content view declared via annotation.
+	 */
+	public static final String SECTION_SET_CONTENT_VIEW = "Universi.setContentView";
+
+	/**
+	 * Section of handling of content change of an activity.
+	 */
+	public static final String SECTION_CONTENT_CHANGED = "Universi.onContentChanged";
+
+	/**
+	 * Section of action bar configuration according to annotation.
+	 */
+	public static final String SECTION_CONFIGURE_ACTION_BAR = "Universi.configureActionBar";
+
+	/**
+	 * Section of views binding.
+	 */
+	public static final String SECTION_BIND_VIEWS = "Universi.onBindViews";
+
+	/**
+	 * Section of data binding.
+	 */
+	public static final String SECTION_BIND_DATA = "Universi.onBindData";
+
+	/**
+	 * Section of options menu creation.
+	 */
+	public static final String SECTION_CREATE_OPTIONS_MENU = "Universi.onCreateOptionsMenu";
+
+	/**
+	 * Section of dialog controller creation.
+	 */
+	public static final String SECTION_CREATE_DIALOG_CONTROLLER = "Universi.createDialogController";
+
+	/**
+	 * Section of fragment controller creation.
+	 */
+	public static final String SECTION_CREATE_FRAGMENT_CONTROLLER = "Universi.createFragmentController";
+
+	/*
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Listener that may be used to receive duration of traced sections.
+	 *
+	 * @author Martin Albedinsky
+	 * @since 1.1
+	 *
+	 * @see #setListener(Listener)
+	 */
+	public interface Listener {
+
+		/**
+		 * Invoked whenever a traced section is finished.
+		 * <p>
+		 * <b>Note</b> that this is invoked on the thread on which has been the section traced,
+		 * which is in most cases the main thread, so implementations should be as fast as possible.
+		 *
+		 * @param section       Name of the finished section. One of {@code SECTION_...} constants.
+		 * @param durationNanos Duration of the section in nanoseconds.
+		 */
+		void onSectionFinished(@NonNull String section, long durationNanos);
+	}
+
+	/*
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Boolean flag indicating whether tracing is enabled.
+	 */
+	private static volatile boolean enabled;
+
+	/**
+	 * Listener to which to report traced sections.
+	 */
+	private static volatile Listener listener;
+
+	/*
+	 * Members =====================================================================================
+	 */
+
+	/*
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private UniversiTrace() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/*
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Enables or disables tracing of Universi sections.
+	 *
+	 * @param enabled {@code True} to enable tracing, {@code false} to disable it.
+	 *
+	 * @see #isEnabled()
+	 */
+	public static void setEnabled(final boolean enabled) {
+		UniversiTrace.enabled = enabled;
+	}
+
+	/**
+	 * Checks whether tracing of Universi sections is enabled.
+	 *
+	 * @return {@code True} if tracing is enabled, {@code false} otherwise.
+	 *
+	 * @see #setEnabled(boolean)
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Specifies a listener to which should be reported duration of traced sections.
+	 *
+	 * @param listener The desired listener. May be {@code null} to clear the current one.
+	 */
+	public static void setListener(@Nullable final Listener listener) {
+		UniversiTrace.listener = listener;
+	}
+
+	/**
+	 * Begins the specified <var>section</var> if tracing is enabled.
+	 * <p>
+	 * Each section must be ended via {@link #endSection(String, long)} on the same thread with the
+	 * value returned by this method.
+	 *
+	 * @param section Name of the section to begin.
+	 * @return Start time of the section in nanoseconds or {@code 0} if tracing is disabled.
+	 */
+	public static long beginSection(@NonNull final String section) {
+		if (!enabled) {
+			return 0;
+		}
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+			Trace.beginSection(section);
+		}
+		return Math.max(1, System.nanoTime());
+	}
+
+	/**
+	 * Ends the specified <var>section</var> started via {@link #beginSection(String)}.
+	 *
+	 * @param section    Name of the section to end.
+	 * @param startNanos Value returned by {@link #beginSection(String)} for the section.
+	 */
+	public static void endSection(@NonNull final String section, final long startNanos) {
+		if (startNanos == 0) {
+			return;
+		}
+		final long durationNanos = System.nanoTime() - startNanos;
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+			Trace.endSection();
+		}
+		final Listener currentListener = listener;
+		if (currentListener != null) {
+			currentListener.onSectionFinished(section, durationNanos);
+		}
+	}
+
+	/*
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,136 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import universum.studios.android.fragment.BackPressWatcher;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class BackPressWatcherRegistryTest extends RobolectricTestCase {
+
+	@Test public void testInstantiation() {
+		// Act:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		// Assert:
+		assertThat(registry.size(), is(0));
+		assertThat(registry.dispatchBackPress(), is(false));
+	}
+
+	@Test public void testRegister() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcherFirst = mock(BackPressWatcher.class);
+		final BackPressWatcher mockWatcherSecond = mock(BackPressWatcher.class);
+		// Act:
+		registry.register(mockWatcherFirst);
+		registry.register(mockWatcherSecond);
+		// Assert:
+		assertThat(registry.size(), is(2));
+		assertThat(registry.isRegistered(mockWatcherFirst), is(true));
+		assertThat(registry.isRegistered(mockWatcherSecond), is(true));
+		verifyZeroInteractions(mockWatcherFirst, mockWatcherSecond);
+	}
+
+	@Test public void testRegisterAlreadyRegistered() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcher = mock(BackPressWatcher.class);
+		registry.register(mockWatcher);
+		// Act:
+		registry.register(mockWatcher);
+		// Assert:
+		assertThat(registry.size(), is(1));
+	}
+
+	@Test public void testUnregister() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcherFirst = mock(BackPressWatcher.class);
+		final BackPressWatcher mockWatcherSecond = mock(BackPressWatcher.class);
+		final BackPressWatcher mockWatcherThird = mock(BackPressWatcher.class);
+		registry.register(mockWatcherFirst);
+		registry.register(mockWatcherSecond);
+		registry.register(mockWatcherThird);
+		// Act:
+		registry.unregister(mockWatcherSecond);
+		// Assert:
+		assertThat(registry.size(), is(2));
+		assertThat(registry.isRegistered(mockWatcherFirst), is(true));
+		assertThat(registry.isRegistered(mockWatcherSecond), is(false));
+		assertThat(registry.isRegistered(mockWatcherThird), is(true));
+		// Act:
+		registry.unregister(mockWatcherFirst);
+		registry.unregister(mockWatcherThird);
+		// Assert:
+		assertThat(registry.size(), is(0));
+	}
+
+	@Test public void testUnregisterNotRegistered() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcher = mock(BackPressWatcher.class);
+		registry.register(mockWatcher);
+		// Act:
+		registry.unregister(mock(BackPressWatcher.class));
+		// Assert:
+		assertThat(registry.size(), is(1));
+		assertThat(registry.isRegistered(mockWatcher), is(true));
+	}
+
+	@Test public void testDispatchBackPressStartsWithMostRecentlyRegistered() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcherFirst = mock(BackPressWatcher.class);
+		final BackPressWatcher mockWatcherSecond = mock(BackPressWatcher.class);
+		registry.register(mockWatcherFirst);
+		registry.register(mockWatcherSecond);
+		// Act + Assert:
+		assertThat(registry.dispatchBackPress(), is(false));
+		final InOrder inOrder = inOrder(mockWatcherSecond, mockWatcherFirst);
+		inOrder.verify(mockWatcherSecond).dispatchBackPress();
+		inOrder.verify(mockWatcherFirst).dispatchBackPress();
+	}
+
+	@Test public void testDispatchBackPressStopsAtConsumingWatcher() {
+		// Arrange:
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+		final BackPressWatcher mockWatcherFirst = mock(BackPressWatcher.class);
+		final BackPressWatcher mockWatcherSecond = mock(BackPressWatcher.class);
+		when(mockWatcherSecond.dispatchBackPress()).thenReturn(true);
+		registry.register(mockWatcherFirst);
+		registry.register(mockWatcherSecond);
+		// Act + Assert:
+		assertThat(registry.dispatchBackPress(), is(true));
+		verify(mockWatcherSecond).dispatchBackPress();
+		verifyZeroInteractions(mockWatcherFirst);
+	}
+}
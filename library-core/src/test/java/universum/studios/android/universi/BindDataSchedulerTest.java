@@ -0,0 +1,97 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Activity;
+
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class BindDataSchedulerTest extends RobolectricTestCase {
+
+	@Test public void testInstantiation() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act:
+		final BindDataScheduler scheduler = new BindDataScheduler(delegate);
+		// Assert:
+		assertThat(scheduler.isScheduled(), is(false));
+		assertThat(scheduler.getExecutedCount(), is(0));
+		assertThat(scheduler.getCoalescedCount(), is(0));
+	}
+
+	@Test public void testSchedule() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BindDataScheduler scheduler = new BindDataScheduler(delegate);
+		final Runnable mockCallback = mock(Runnable.class);
+		ShadowLooper.pauseMainLooper();
+		// Act + Assert:
+		assertThat(scheduler.schedule(mockCallback), is(true));
+		assertThat(scheduler.isScheduled(), is(true));
+		assertThat(delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA_SCHEDULED), is(true));
+		verifyZeroInteractions(mockCallback);
+		ShadowLooper.unPauseMainLooper();
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		verify(mockCallback).run();
+		assertThat(scheduler.isScheduled(), is(false));
+		assertThat(scheduler.getExecutedCount(), is(1));
+		assertThat(scheduler.getCoalescedCount(), is(0));
+	}
+
+	@Test public void testScheduleCoalescesPendingRequests() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BindDataScheduler scheduler = new BindDataScheduler(delegate);
+		final Runnable mockCallback = mock(Runnable.class);
+		ShadowLooper.pauseMainLooper();
+		// Act:
+		for (int i = 0; i < 50; i++) {
+			scheduler.schedule(mockCallback);
+		}
+		ShadowLooper.unPauseMainLooper();
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		// Assert:
+		verify(mockCallback, times(1)).run();
+		assertThat(scheduler.getExecutedCount(), is(1));
+		assertThat(scheduler.getCoalescedCount(), is(49));
+	}
+
+	@Test public void testDispatchWhenNotScheduled() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BindDataScheduler scheduler = new BindDataScheduler(delegate);
+		// Act:
+		scheduler.dispatch();
+		// Assert:
+		assertThat(scheduler.getExecutedCount(), is(0));
+	}
+}
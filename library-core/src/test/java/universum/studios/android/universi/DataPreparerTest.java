@@ -0,0 +1,213 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Activity;
+
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class DataPreparerTest extends RobolectricTestCase {
+
+	@Test public void testPrepare() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final DataPreparer.Callback mockCallback = mock(DataPreparer.Callback.class);
+		// Act:
+		preparer.prepare(0x00000001, mockCallback);
+		assertThat(preparer.isPreparing(), is(true));
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		assertThat(preparer.isPreparing(), is(false));
+		verify(mockCallback).onPrepareData(0x00000001);
+		verify(mockCallback).onDataPrepared(0x00000001);
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testPrepareMergesSectionsOfStalePreparation() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final DataPreparer.Callback mockCallback = mock(DataPreparer.Callback.class);
+		// Act:
+		preparer.prepare(0x00000001, mockCallback);
+		preparer.prepare(0x00000001 << 1, mockCallback);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		verify(mockCallback).onDataPrepared(0x00000001 | 0x00000001 << 1);
+	}
+
+	@Test public void testCancel() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final DataPreparer.Callback mockCallback = mock(DataPreparer.Callback.class);
+		preparer.prepare(0x00000001, mockCallback);
+		// Act:
+		assertThat(preparer.cancel(), is(0x00000001));
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		assertThat(preparer.isPreparing(), is(false));
+		assertThat(preparer.cancel(), is(0));
+	}
+
+	@Test public void testPreparationIsNotDeliveredWhenViewIsNotCreated() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final DataPreparer.Callback mockCallback = mock(DataPreparer.Callback.class);
+		// Act:
+		preparer.prepare(0x00000001, mockCallback);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		verify(mockCallback).onPrepareData(0x00000001);
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testPreparationIsSkippedWhenContextIsDestroyed() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final DataPreparer.Callback mockCallback = mock(DataPreparer.Callback.class);
+		delegate.destroy(false);
+		// Act:
+		preparer.prepare(0x00000001, mockCallback);
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		verifyZeroInteractions(mockCallback);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPreparationErrorIsPropagated() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		// Act:
+		preparer.prepare(0x00000001, new FailingCallback(new CountDownLatch(0)));
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+	}
+
+	@Test public void testPreparationErrorIsDroppedWhenCancelled() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final CountDownLatch releaseLatch = new CountDownLatch(1);
+		final FailingCallback callback = new FailingCallback(releaseLatch);
+		preparer.prepare(0x00000001, callback);
+		callback.startLatch.await(1, TimeUnit.SECONDS);
+		// Act:
+		preparer.cancel();
+		releaseLatch.countDown();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		assertThat(callback.failed, is(true));
+		assertThat(preparer.isPreparing(), is(false));
+	}
+
+	@Test public void testPreparationErrorIsDroppedWhenContextIsDestroyed() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		delegate.setViewCreated(true);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final DataPreparer preparer = new DataPreparer(delegate, executor);
+		final CountDownLatch releaseLatch = new CountDownLatch(1);
+		final FailingCallback callback = new FailingCallback(releaseLatch);
+		preparer.prepare(0x00000001, callback);
+		callback.startLatch.await(1, TimeUnit.SECONDS);
+		// Act:
+		delegate.destroy(false);
+		releaseLatch.countDown();
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+		// Assert:
+		assertThat(callback.failed, is(true));
+	}
+
+	private static final class FailingCallback implements DataPreparer.Callback {
+
+		final CountDownLatch startLatch = new CountDownLatch(1);
+		final CountDownLatch releaseLatch;
+		volatile boolean failed;
+
+		FailingCallback(final CountDownLatch releaseLatch) {
+			this.releaseLatch = releaseLatch;
+		}
+
+		@Override public void onPrepareData(final int sections) {
+			startLatch.countDown();
+			try {
+				releaseLatch.await(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				// Cancelled preparations are interrupted, which typically surfaces as unchecked error.
+			}
+			this.failed = true;
+			throw new IllegalStateException("Preparation failed.");
+		}
+
+		@Override public void onDataPrepared(final int sections) {
+			throw new AssertionError();
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import universum.studios.android.dialog.manage.DialogXmlFactory;
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class DialogXmlFactoryCacheTest extends RobolectricTestCase {
+
+	private static final int XML_DIALOGS_SET_RESOURCE_ID = 1;
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		DialogXmlFactoryCache.release();
+	}
+
+	@Test public void testObtain() {
+		// Act:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		// Assert:
+		assertThat(cache, is(notNullValue()));
+		assertThat(DialogXmlFactoryCache.obtain(application), is(cache));
+		assertThat(cache.getHitCount(), is(0));
+		assertThat(cache.getMissCount(), is(0));
+	}
+
+	@Test public void testGetFactory() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		// Act:
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Assert:
+		assertThat(factory, is(notNullValue()));
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(factory));
+		assertThat(cache.getMissCount(), is(1));
+		assertThat(cache.getHitCount(), is(1));
+	}
+
+	@Test public void testGetFactoryForContextWithSameConfiguration() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final Context context = application.createConfigurationContext(application.getResources().getConfiguration());
+		// Act:
+		final DialogXmlFactory factory = cache.getFactory(context, XML_DIALOGS_SET_RESOURCE_ID);
+		// Assert:
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(factory));
+	}
+
+	@Test public void testGetFactoryForContextWithDifferentConfiguration() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final Configuration configuration = new Configuration(application.getResources().getConfiguration());
+		configuration.orientation = configuration.orientation == Configuration.ORIENTATION_LANDSCAPE ?
+				Configuration.ORIENTATION_PORTRAIT :
+				Configuration.ORIENTATION_LANDSCAPE;
+		final Context context = application.createConfigurationContext(configuration);
+		// Act:
+		final DialogXmlFactory factory = cache.getFactory(context, XML_DIALOGS_SET_RESOURCE_ID);
+		// Assert:
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+		assertThat(cache.getFactory(context, XML_DIALOGS_SET_RESOURCE_ID), is(factory));
+		assertThat(cache.getMissCount(), is(2));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetFactoryWithZeroResource() {
+		// Act:
+		DialogXmlFactoryCache.obtain(application).getFactory(0);
+	}
+
+	@Test public void testGetSingleDialogFactory() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		// Act:
+		final DialogXmlFactory factory = cache.getSingleDialogFactory();
+		// Assert:
+		assertThat(factory, is(notNullValue()));
+		assertThat(cache.getSingleDialogFactory(), is(factory));
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+	}
+
+	@Test public void testEvictAll() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		cache.evictAll();
+		// Assert:
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+		assertThat(cache.getMissCount(), is(2));
+	}
+
+	@Test public void testPeek() {
+		// Act + Assert:
+		assertThat(DialogXmlFactoryCache.peek(), is(nullValue()));
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		assertThat(DialogXmlFactoryCache.peek(), is(cache));
+	}
+
+	@Test public void testTrimMemory() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act + Assert:
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE), is(0));
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(factory));
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW), is(1));
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), is(1));
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), is(0));
+	}
+
+	@Test public void testTrimMemoryEvictsWarmedUpFactories() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		cache.warmUp(DIRECT_EXECUTOR, XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		final int evicted = cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+		// Assert:
+		assertThat(evicted, is(1));
+		assertThat(cache.getWarmedUpCount(), is(0));
+	}
+
+	@Test public void testTrimmedOnTrimMemoryOfApplication() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		application.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+		// Assert:
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+	}
+
+	@Test public void testInvalidatedOnConfigurationChange() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		application.onConfigurationChanged(new Configuration());
+		// Assert:
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(not(factory)));
+	}
+
+	@Test public void testWarmUpAlreadyCachedFactory() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		final DialogXmlFactory factory = cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		cache.warmUp(DIRECT_EXECUTOR, XML_DIALOGS_SET_RESOURCE_ID);
+		// Assert:
+		assertThat(cache.getWarmedUpCount(), is(0));
+		assertThat(cache.getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(factory));
+	}
+
+	@Test public void testWarmUpWithoutSets() {
+		// Arrange:
+		final DialogXmlFactoryCache cache = DialogXmlFactoryCache.obtain(application);
+		// Act:
+		cache.warmUp(DIRECT_EXECUTOR);
+		// Assert:
+		assertThat(cache.getWarmedUpCount(), is(0));
+	}
+}
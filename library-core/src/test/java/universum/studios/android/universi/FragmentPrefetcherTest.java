@@ -0,0 +1,191 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Fragment;
+import android.content.ComponentCallbacks2;
+
+import org.junit.Test;
+
+import universum.studios.android.fragment.manage.FragmentFactory;
+import universum.studios.android.test.local.RobolectricTestCase;
+import universum.studios.android.test.local.TestFragment;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class FragmentPrefetcherTest extends RobolectricTestCase {
+
+	private static final int FRAGMENT_FIRST = 1;
+	private static final int FRAGMENT_SECOND = 2;
+	private static final int FRAGMENT_NOT_PROVIDED = 3;
+
+	private static FragmentFactory createMockFactory() {
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		when(mockFactory.isFragmentProvided(FRAGMENT_FIRST)).thenReturn(true);
+		when(mockFactory.isFragmentProvided(FRAGMENT_SECOND)).thenReturn(true);
+		when(mockFactory.createFragment(FRAGMENT_FIRST)).thenReturn(new TestFragment(), new TestFragment());
+		when(mockFactory.createFragment(FRAGMENT_SECOND)).thenReturn(new TestFragment(), new TestFragment());
+		return mockFactory;
+	}
+
+	@Test public void testInstantiation() {
+		// Act:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		// Assert:
+		assertThat(prefetcher.getFactory(), is(nullValue()));
+		assertThat(prefetcher.getHitCount(), is(0));
+		assertThat(prefetcher.getMissCount(), is(0));
+		assertThat(prefetcher.isFragmentProvided(FRAGMENT_FIRST), is(false));
+		assertThat(prefetcher.createFragment(FRAGMENT_FIRST), is(nullValue()));
+		assertThat(prefetcher.createFragmentTag(FRAGMENT_FIRST), is(nullValue()));
+		prefetcher.release();
+	}
+
+	@Test public void testPrefetch() {
+		// Arrange:
+		final FragmentFactory mockFactory = createMockFactory();
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.setFactory(mockFactory);
+		// Act:
+		prefetcher.prefetch(FRAGMENT_FIRST, FRAGMENT_SECOND, FRAGMENT_FIRST);
+		// Assert:
+		verifyZeroInteractions(mockFactory);
+		assertThat(prefetcher.prefetchNext(), is(true));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(true));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(false));
+		assertThat(prefetcher.prefetchNext(), is(false));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(true));
+		assertThat(prefetcher.prefetchNext(), is(false));
+		verify(mockFactory).createFragment(FRAGMENT_FIRST);
+		verify(mockFactory).createFragment(FRAGMENT_SECOND);
+		prefetcher.release();
+	}
+
+	@Test public void testPrefetchNotProvidedFragment() {
+		// Arrange:
+		final FragmentFactory mockFactory = createMockFactory();
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.setFactory(mockFactory);
+		prefetcher.prefetch(FRAGMENT_NOT_PROVIDED);
+		// Act:
+		prefetcher.prefetchNext();
+		// Assert:
+		assertThat(prefetcher.isPrefetched(FRAGMENT_NOT_PROVIDED), is(false));
+		verify(mockFactory).isFragmentProvided(FRAGMENT_NOT_PROVIDED);
+		verify(mockFactory, times(0)).createFragment(FRAGMENT_NOT_PROVIDED);
+		prefetcher.release();
+	}
+
+	@Test public void testPrefetchWithoutFactory() {
+		// Arrange:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.prefetch(FRAGMENT_FIRST, FRAGMENT_SECOND);
+		// Act + Assert:
+		assertThat(prefetcher.prefetchNext(), is(false));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		prefetcher.release();
+	}
+
+	@Test public void testCreatePrefetchedFragment() {
+		// Arrange:
+		final FragmentFactory mockFactory = createMockFactory();
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.setFactory(mockFactory);
+		prefetcher.prefetch(FRAGMENT_FIRST);
+		prefetcher.prefetchNext();
+		// Act:
+		final Fragment fragment = prefetcher.createFragment(FRAGMENT_FIRST);
+		// Assert:
+		assertThat(prefetcher.getHitCount(), is(1));
+		assertThat(prefetcher.getMissCount(), is(0));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		assertThat(prefetcher.createFragment(FRAGMENT_FIRST), is(not(fragment)));
+		assertThat(prefetcher.getMissCount(), is(1));
+		verify(mockFactory, times(2)).createFragment(FRAGMENT_FIRST);
+		prefetcher.release();
+	}
+
+	@Test public void testSizeBound() {
+		// Arrange:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, 1);
+		prefetcher.setFactory(createMockFactory());
+		prefetcher.prefetch(FRAGMENT_FIRST, FRAGMENT_SECOND);
+		// Act:
+		prefetcher.prefetchNext();
+		prefetcher.prefetchNext();
+		// Assert:
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(true));
+		prefetcher.release();
+	}
+
+	@Test public void testSetFactoryEvictsPrefetchedFragments() {
+		// Arrange:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.setFactory(createMockFactory());
+		prefetcher.prefetch(FRAGMENT_FIRST);
+		prefetcher.prefetchNext();
+		// Act:
+		prefetcher.setFactory(createMockFactory());
+		// Assert:
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		prefetcher.release();
+	}
+
+	@Test public void testTrimMemory() {
+		// Arrange:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, 2);
+		prefetcher.setFactory(createMockFactory());
+		prefetcher.prefetch(FRAGMENT_FIRST, FRAGMENT_SECOND);
+		prefetcher.prefetchNext();
+		prefetcher.prefetchNext();
+		// Act + Assert:
+		assertThat(prefetcher.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE), is(1));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(true));
+		assertThat(prefetcher.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW), is(1));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(false));
+		prefetcher.release();
+	}
+
+	@Test public void testRelease() {
+		// Arrange:
+		final FragmentPrefetcher prefetcher = new FragmentPrefetcher(application, FragmentPrefetcher.DEFAULT_MAX_SIZE);
+		prefetcher.setFactory(createMockFactory());
+		prefetcher.prefetch(FRAGMENT_FIRST, FRAGMENT_SECOND);
+		prefetcher.prefetchNext();
+		// Act:
+		prefetcher.release();
+		// Assert:
+		assertThat(prefetcher.isPrefetched(FRAGMENT_FIRST), is(false));
+		assertThat(prefetcher.prefetchNext(), is(false));
+		assertThat(prefetcher.isPrefetched(FRAGMENT_SECOND), is(false));
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class NetworkStateMonitorTest extends RobolectricTestCase {
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		NetworkStateMonitor.release();
+	}
+
+	@Test public void testObtain() {
+		// Arrange:
+		final Context mockContext = mock(Context.class);
+		final ConnectivityManager mockManager = mock(ConnectivityManager.class);
+		when(mockContext.getApplicationContext()).thenReturn(mockContext);
+		when(mockContext.getSystemService(Context.CONNECTIVITY_SERVICE)).thenReturn(mockManager);
+		// Act + Assert:
+		final NetworkStateMonitor monitor = NetworkStateMonitor.obtain(mockContext);
+		assertThat(NetworkStateMonitor.obtain(mockContext), is(monitor));
+		verify(mockManager).registerNetworkCallback(any(NetworkRequest.class), any(ConnectivityManager.NetworkCallback.class));
+	}
+
+	@Test public void testIsActiveNetworkConnectedIsServedFromSnapshot() {
+		// Arrange:
+		final ConnectivityManager mockManager = mockConnectivityManager();
+		final NetworkInfo mockInfo = mock(NetworkInfo.class);
+		when(mockInfo.isConnected()).thenReturn(true);
+		when(mockManager.getActiveNetworkInfo()).thenReturn(mockInfo);
+		final NetworkStateMonitor monitor = NetworkStateMonitor.obtain(mockContext(mockManager));
+		// Act + Assert:
+		for (int i = 0; i < 10; i++) {
+			assertThat(monitor.isActiveNetworkConnected(), is(true));
+		}
+		verify(mockManager, times(1)).getActiveNetworkInfo();
+	}
+
+	@Test public void testIsActiveNetworkConnectedAfterNetworkStateChange() {
+		// Arrange:
+		final ConnectivityManager mockManager = mockConnectivityManager();
+		final NetworkInfo mockInfo = mock(NetworkInfo.class);
+		when(mockInfo.isConnected()).thenReturn(true);
+		when(mockManager.getActiveNetworkInfo()).thenReturn(mockInfo);
+		final NetworkStateMonitor monitor = NetworkStateMonitor.obtain(mockContext(mockManager));
+		assertThat(monitor.isActiveNetworkConnected(), is(true));
+		when(mockInfo.isConnected()).thenReturn(false);
+		// Act:
+		monitor.onNetworkStateChanged();
+		// Assert:
+		assertThat(monitor.isActiveNetworkConnected(), is(false));
+		verify(mockManager, times(2)).getActiveNetworkInfo();
+	}
+
+	@Test public void testNetworkStateChangeDoesNotResolveStateRightAway() {
+		// Arrange:
+		final ConnectivityManager mockManager = mockConnectivityManager();
+		final NetworkInfo mockInfo = mock(NetworkInfo.class);
+		when(mockInfo.isConnected()).thenReturn(true);
+		when(mockManager.getActiveNetworkInfo()).thenReturn(mockInfo);
+		final NetworkStateMonitor monitor = NetworkStateMonitor.obtain(mockContext(mockManager));
+		assertThat(monitor.isActiveNetworkConnected(), is(true));
+		// Act:
+		monitor.onNetworkStateChanged();
+		when(mockInfo.isConnected()).thenReturn(false);
+		// Assert:
+		verify(mockManager, times(1)).getActiveNetworkInfo();
+		assertThat(monitor.isActiveNetworkConnected(), is(false));
+		verify(mockManager, times(2)).getActiveNetworkInfo();
+	}
+
+	@SuppressWarnings("deprecation")
+	@Test public void testIsNetworkConnectedIsServedFromSnapshot() {
+		// Arrange:
+		final ConnectivityManager mockManager = mockConnectivityManager();
+		final NetworkInfo mockInfo = mock(NetworkInfo.class);
+		when(mockInfo.isConnected()).thenReturn(true);
+		when(mockManager.getNetworkInfo(ConnectivityManager.TYPE_WIFI)).thenReturn(mockInfo);
+		when(mockManager.getNetworkInfo(ConnectivityManager.TYPE_MOBILE)).thenReturn(null);
+		final NetworkStateMonitor monitor = NetworkStateMonitor.obtain(mockContext(mockManager));
+		// Act + Assert:
+		for (int i = 0; i < 10; i++) {
+			assertThat(monitor.isNetworkConnected(ConnectivityManager.TYPE_WIFI), is(true));
+			assertThat(monitor.isNetworkConnected(ConnectivityManager.TYPE_MOBILE), is(false));
+		}
+		verify(mockManager, times(1)).getNetworkInfo(ConnectivityManager.TYPE_WIFI);
+		verify(mockManager, times(1)).getNetworkInfo(ConnectivityManager.TYPE_MOBILE);
+	}
+
+	private static ConnectivityManager mockConnectivityManager() {
+		return mock(ConnectivityManager.class);
+	}
+
+	private static Context mockContext(final ConnectivityManager manager) {
+		final Context mockContext = mock(Context.class);
+		when(mockContext.getApplicationContext()).thenReturn(mockContext);
+		when(mockContext.getSystemService(Context.CONNECTIVITY_SERVICE)).thenReturn(manager);
+		return mockContext;
+	}
+}
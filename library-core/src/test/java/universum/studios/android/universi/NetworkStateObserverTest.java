@@ -0,0 +1,136 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class NetworkStateObserverTest extends RobolectricTestCase {
+
+	private NetworkInfo mockNetworkInfo;
+	private NetworkStateMonitor monitor;
+
+	@Override public void beforeTest() throws Exception {
+		super.beforeTest();
+		final Context mockContext = mock(Context.class);
+		final ConnectivityManager mockManager = mock(ConnectivityManager.class);
+		this.mockNetworkInfo = mock(NetworkInfo.class);
+		when(mockNetworkInfo.isConnected()).thenReturn(true);
+		when(mockManager.getActiveNetworkInfo()).thenReturn(mockNetworkInfo);
+		when(mockContext.getApplicationContext()).thenReturn(mockContext);
+		when(mockContext.getSystemService(Context.CONNECTIVITY_SERVICE)).thenReturn(mockManager);
+		this.monitor = NetworkStateMonitor.obtain(mockContext);
+	}
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		NetworkStateMonitor.release();
+	}
+
+	@Test public void testRegisterListener() {
+		// Arrange:
+		final NetworkStateObserver observer = new NetworkStateObserver(monitor);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		observer.registerListener(mockListener);
+		observer.registerListener(mockListener);
+		// Assert:
+		assertThat(observer.getListenersCount(), is(1));
+		observer.unregisterListener(mockListener);
+		assertThat(observer.getListenersCount(), is(0));
+	}
+
+	@Test public void testDeliversDebouncedChange() {
+		// Arrange:
+		final NetworkStateObserver observer = new NetworkStateObserver(monitor);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		observer.registerListener(mockListener);
+		when(mockNetworkInfo.isConnected()).thenReturn(false);
+		// Act:
+		for (int i = 0; i < 10; i++) {
+			monitor.onNetworkStateChanged();
+		}
+		// Assert:
+		verifyZeroInteractions(mockListener);
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		verify(mockListener).onNetworkStateChanged(false);
+		verifyNoMoreInteractions(mockListener);
+	}
+
+	@Test public void testDoesNotDeliverUnchangedState() {
+		// Arrange:
+		final NetworkStateObserver observer = new NetworkStateObserver(monitor);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		observer.registerListener(mockListener);
+		// Act:
+		monitor.onNetworkStateChanged();
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		// Assert:
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testDeliversChangeMadeWhilePausedWhenResumed() {
+		// Arrange:
+		final NetworkStateObserver observer = new NetworkStateObserver(monitor);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		observer.registerListener(mockListener);
+		observer.setPaused(true);
+		when(mockNetworkInfo.isConnected()).thenReturn(false);
+		// Act:
+		monitor.onNetworkStateChanged();
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		// Assert:
+		verifyZeroInteractions(mockListener);
+		observer.setPaused(false);
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		verify(mockListener).onNetworkStateChanged(false);
+		verifyNoMoreInteractions(mockListener);
+	}
+
+	@Test public void testDoesNotDeliverChangeToUnregisteredListener() {
+		// Arrange:
+		final NetworkStateObserver observer = new NetworkStateObserver(monitor);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		observer.registerListener(mockListener);
+		when(mockNetworkInfo.isConnected()).thenReturn(false);
+		monitor.onNetworkStateChanged();
+		// Act:
+		observer.unregisterListener(mockListener);
+		ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+		// Assert:
+		verifyZeroInteractions(mockListener);
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.os.Bundle;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class PendingDialogQueueTest extends RobolectricTestCase {
+
+	@Test public void testInstantiation() {
+		// Act:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		// Assert:
+		assertThat(queue.isEmpty(), is(true));
+		assertThat(queue.size(), is(0));
+	}
+
+	@Test public void testAdd() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		// Act:
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		queue.add(PendingDialogQueue.SHOW_XML_DIALOG, 1, null);
+		queue.add(PendingDialogQueue.DISMISS_DIALOG, 2, null);
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = queue.drain();
+		assertThat(requests.size(), is(3));
+		assertThat(requests.get(0).type, is(PendingDialogQueue.SHOW_DIALOG));
+		assertThat(requests.get(1).type, is(PendingDialogQueue.SHOW_XML_DIALOG));
+		assertThat(requests.get(2).type, is(PendingDialogQueue.DISMISS_DIALOG));
+		assertThat(queue.isEmpty(), is(true));
+	}
+
+	@Test public void testAddShowReplacesOlderShow() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 2, null);
+		// Act:
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = queue.drain();
+		assertThat(requests.size(), is(2));
+		assertThat(requests.get(0).dialogId, is(2));
+		assertThat(requests.get(1).dialogId, is(1));
+	}
+
+	@Test public void testAddDismissDropsPendingShow() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		// Act:
+		queue.add(PendingDialogQueue.DISMISS_DIALOG, 1, null);
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = queue.drain();
+		assertThat(requests.size(), is(1));
+		assertThat(requests.get(0).type, is(PendingDialogQueue.DISMISS_DIALOG));
+	}
+
+	@Test public void testAddShowKeepsPendingDismiss() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		queue.add(PendingDialogQueue.DISMISS_DIALOG, 1, null);
+		// Act:
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = queue.drain();
+		assertThat(requests.size(), is(2));
+		assertThat(requests.get(0).type, is(PendingDialogQueue.DISMISS_DIALOG));
+		assertThat(requests.get(1).type, is(PendingDialogQueue.SHOW_DIALOG));
+	}
+
+	@Test public void testAddBeyondMaxSize() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		// Act:
+		for (int i = 0; i < PendingDialogQueue.MAX_SIZE + 2; i++) {
+			queue.add(PendingDialogQueue.SHOW_DIALOG, i, null);
+		}
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = queue.drain();
+		assertThat(requests.size(), is(PendingDialogQueue.MAX_SIZE));
+		assertThat(requests.get(0).dialogId, is(2));
+	}
+
+	@Test public void testSaveAndRestoreState() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		queue.add(PendingDialogQueue.SHOW_DIALOG, 1, null);
+		queue.add(PendingDialogQueue.DISMISS_XML_DIALOG, 2, null);
+		final Bundle state = new Bundle();
+		// Act:
+		queue.saveState(state, "Requests");
+		final PendingDialogQueue restoredQueue = new PendingDialogQueue();
+		restoredQueue.restoreState(state, "Requests");
+		// Assert:
+		final List<PendingDialogQueue.Request> requests = restoredQueue.drain();
+		assertThat(requests.size(), is(2));
+		assertThat(requests.get(0).type, is(PendingDialogQueue.SHOW_DIALOG));
+		assertThat(requests.get(0).dialogId, is(1));
+		assertThat(requests.get(1).type, is(PendingDialogQueue.DISMISS_XML_DIALOG));
+		assertThat(requests.get(1).dialogId, is(2));
+	}
+
+	@Test public void testRestoreStateWithoutSavedRequests() {
+		// Arrange:
+		final PendingDialogQueue queue = new PendingDialogQueue();
+		// Act:
+		queue.restoreState(new Bundle(), "Requests");
+		// Assert:
+		assertThat(queue.isEmpty(), is(true));
+	}
+}
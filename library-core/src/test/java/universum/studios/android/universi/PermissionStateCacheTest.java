@@ -0,0 +1,130 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.pm.PackageManager;
+
+import org.junit.Test;
+import org.robolectric.Shadows;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class PermissionStateCacheTest extends RobolectricTestCase {
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		PermissionStateCache.release();
+	}
+
+	@Test public void testObtain() {
+		// Act:
+		final PermissionStateCache cache = PermissionStateCache.obtain(application);
+		// Assert:
+		assertThat(cache, is(notNullValue()));
+		assertThat(PermissionStateCache.obtain(application), is(cache));
+		assertThat(cache.size(), is(0));
+		assertThat(cache.getHitCount(), is(0));
+		assertThat(cache.getMissCount(), is(0));
+	}
+
+	@Test public void testPeek() {
+		// Act + Assert:
+		assertThat(PermissionStateCache.peek(), is(nullValue()));
+		final PermissionStateCache cache = PermissionStateCache.obtain(application);
+		assertThat(PermissionStateCache.peek(), is(cache));
+	}
+
+	@Test public void testCheckSelfPermission() {
+		// Arrange:
+		final PermissionStateCache cache = PermissionStateCache.obtain(application);
+		Shadows.shadowOf(application).grantPermissions(Manifest.permission.CAMERA);
+		// Act + Assert:
+		assertThat(cache.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_GRANTED));
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getMissCount(), is(1));
+		assertThat(cache.getHitCount(), is(0));
+	}
+
+	@Test public void testCheckSelfPermissionServedFromCache() {
+		// Arrange:
+		final PermissionStateCache cache = PermissionStateCache.obtain(application);
+		Shadows.shadowOf(application).grantPermissions(Manifest.permission.CAMERA);
+		cache.checkSelfPermission(Manifest.permission.CAMERA);
+		Shadows.shadowOf(application).denyPermissions(Manifest.permission.CAMERA);
+		// Act + Assert:
+		assertThat(cache.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_GRANTED));
+		assertThat(cache.getMissCount(), is(1));
+		assertThat(cache.getHitCount(), is(1));
+	}
+
+	@Test public void testInvalidate() {
+		// Arrange:
+		final PermissionStateCache cache = PermissionStateCache.obtain(application);
+		Shadows.shadowOf(application).grantPermissions(Manifest.permission.CAMERA);
+		cache.checkSelfPermission(Manifest.permission.CAMERA);
+		cache.checkSelfPermission(Manifest.permission.RECORD_AUDIO);
+		Shadows.shadowOf(application).denyPermissions(Manifest.permission.CAMERA);
+		// Act:
+		cache.invalidate();
+		// Assert:
+		assertThat(cache.size(), is(0));
+		assertThat(cache.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_DENIED));
+		assertThat(cache.getMissCount(), is(3));
+	}
+
+	@Test public void testCheckSelfPermissionInvalidatedWhileResolved() {
+		// Arrange:
+		final InvalidatingContext context = new InvalidatingContext(application);
+		final PermissionStateCache cache = PermissionStateCache.obtain(context);
+		context.cache = cache;
+		// Act:
+		cache.checkSelfPermission(Manifest.permission.CAMERA);
+		// Assert:
+		assertThat(cache.size(), is(0));
+	}
+
+	private static final class InvalidatingContext extends ContextWrapper {
+
+		PermissionStateCache cache;
+
+		InvalidatingContext(final Context base) {
+			super(base);
+		}
+
+		@Override public Context getApplicationContext() {
+			return null;
+		}
+
+		@Override public int checkPermission(final String permission, final int pid, final int uid) {
+			cache.invalidate();
+			return super.checkPermission(permission, pid, uid);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class SharedCacheTest extends RobolectricTestCase {
+
+	private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override public void execute(@NonNull final Runnable command) {
+			command.run();
+		}
+	};
+
+	@Test public void testGet() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		// Act + Assert:
+		assertThat(cache.get("value"), is("value"));
+		assertThat(cache.get("value"), is("value"));
+		assertThat(cache.contains("value"), is(true));
+		assertThat(cache.createdCount, is(1));
+		assertThat(cache.getMissCount(), is(1));
+		assertThat(cache.getHitCount(), is(1));
+		cache.dispose();
+	}
+
+	@Test public void testGetWarmedUpValue() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		cache.warmUpValues(DIRECT_EXECUTOR, new String[]{"value"});
+		// Act + Assert:
+		assertThat(cache.getWarmedUpCount(), is(1));
+		assertThat(cache.get("value"), is("value"));
+		assertThat(cache.getWarmedUpCount(), is(0));
+		assertThat(cache.createdCount, is(0));
+		assertThat(cache.preparedCount, is(1));
+		cache.dispose();
+	}
+
+	@Test public void testWarmUpAlreadyCachedValue() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		cache.get("value");
+		// Act:
+		cache.warmUpValue("value");
+		// Assert:
+		assertThat(cache.getWarmedUpCount(), is(0));
+		assertThat(cache.preparedCount, is(0));
+		cache.dispose();
+	}
+
+	@Test public void testWarmUpValueThatCannotBePrepared() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		// Act:
+		cache.warmUpValue(TestCache.UNPREPARABLE_KEY);
+		// Assert:
+		assertThat(cache.getWarmedUpCount(), is(0));
+		assertThat(cache.contains(TestCache.UNPREPARABLE_KEY), is(false));
+		cache.dispose();
+	}
+
+	@Test public void testWarmUpValueEvictedWhilePrepared() {
+		// Arrange:
+		final TestCache cache = new TestCache(application) {
+
+			@Override String prepareValue(final String key) {
+				evictAll();
+				return super.prepareValue(key);
+			}
+		};
+		// Act:
+		cache.warmUpValue("value");
+		// Assert:
+		assertThat(cache.getWarmedUpCount(), is(0));
+		assertThat(cache.contains("value"), is(false));
+		cache.dispose();
+	}
+
+	@Test public void testTrimMemory() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		for (int i = 0; i < TestCache.MAX_SIZE; i++) {
+			cache.get("value:" + i);
+		}
+		cache.warmUpValue("value");
+		// Act + Assert:
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE), is(TestCache.MAX_SIZE / 2 + 1));
+		assertThat(cache.contains("value:" + (TestCache.MAX_SIZE - 1)), is(true));
+		assertThat(cache.contains("value:0"), is(false));
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW), is(TestCache.MAX_SIZE / 2));
+		assertThat(cache.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), is(0));
+		cache.dispose();
+	}
+
+	@Test public void testDispose() {
+		// Arrange:
+		final TestCache cache = new TestCache(application);
+		cache.get("value");
+		// Act:
+		cache.dispose();
+		// Assert:
+		assertThat(cache.contains("value"), is(false));
+		cache.get("value");
+		application.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		assertThat(cache.contains("value"), is(true));
+	}
+
+	private static class TestCache extends SharedCache<String, String> {
+
+		static final int MAX_SIZE = 4;
+		static final String UNPREPARABLE_KEY = "unpreparable";
+
+		int createdCount;
+		int preparedCount;
+
+		TestCache(final Context context) {
+			super(context, MAX_SIZE);
+		}
+
+		@Override String createValue(final String key) {
+			this.createdCount++;
+			return key;
+		}
+
+		@Override String prepareValue(final String key) {
+			if (UNPREPARABLE_KEY.equals(key)) {
+				return null;
+			}
+			this.preparedCount++;
+			return key;
+		}
+	}
+}
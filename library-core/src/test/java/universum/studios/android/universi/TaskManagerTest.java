@@ -0,0 +1,249 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import org.junit.Test;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Martin Albedinsky
+ */
+@SuppressWarnings("unchecked")
+public final class TaskManagerTest extends RobolectricTestCase {
+
+	private static final int TASK_ID = 1;
+
+	@Test public void testInitTask() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		when(mockTask.execute()).thenReturn("result");
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		// Act:
+		manager.initTask(TASK_ID, mockTask, mockCallback);
+		assertThat(manager.isTaskRunning(TASK_ID), is(true));
+		awaitTasks(executor);
+		// Assert:
+		assertThat(manager.isTaskRunning(TASK_ID), is(false));
+		assertThat(manager.hasTask(TASK_ID), is(true));
+		verify(mockTask).execute();
+		verify(mockCallback).onTaskFinished(TASK_ID, "result");
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testInitTaskWhenAlreadyFinished() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		when(mockTask.execute()).thenReturn("result");
+		manager.initTask(TASK_ID, mockTask, mock(TaskManager.Callback.class));
+		awaitTasks(executor);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		// Act:
+		manager.initTask(TASK_ID, mockTask, mockCallback);
+		// Assert:
+		verify(mockTask).execute();
+		verify(mockCallback).onTaskFinished(TASK_ID, "result");
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testRestartTask() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockFirstTask = mock(TaskManager.Task.class);
+		final TaskManager.Task<String> mockSecondTask = mock(TaskManager.Task.class);
+		when(mockSecondTask.execute()).thenReturn("second");
+		final TaskManager.Callback<String> mockFirstCallback = mock(TaskManager.Callback.class);
+		final TaskManager.Callback<String> mockSecondCallback = mock(TaskManager.Callback.class);
+		// Act:
+		manager.initTask(TASK_ID, mockFirstTask, mockFirstCallback);
+		manager.restartTask(TASK_ID, mockSecondTask, mockSecondCallback);
+		awaitTasks(executor);
+		// Assert:
+		verifyZeroInteractions(mockFirstCallback);
+		verify(mockSecondCallback).onTaskFinished(TASK_ID, "second");
+		verifyNoMoreInteractions(mockSecondCallback);
+	}
+
+	@Test public void testStartTask() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		when(mockTask.execute()).thenReturn("result");
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		// Act:
+		manager.startTask(TASK_ID, mockTask, mockCallback);
+		manager.startTask(TASK_ID, mockTask, mockCallback);
+		awaitTasks(executor);
+		// Assert:
+		verify(mockCallback).onTaskFinished(TASK_ID, "result");
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testTaskFailure() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		final Exception error = new Exception();
+		when(mockTask.execute()).thenThrow(error);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		// Act:
+		manager.initTask(TASK_ID, mockTask, mockCallback);
+		awaitTasks(executor);
+		// Assert:
+		verify(mockCallback).onTaskFailed(TASK_ID, error);
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testDeliveryWhilePaused() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		when(mockTask.execute()).thenReturn("result");
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		manager.setPaused(true);
+		// Act + Assert:
+		manager.initTask(TASK_ID, mockTask, mockCallback);
+		awaitTasks(executor);
+		verifyZeroInteractions(mockCallback);
+		manager.setPaused(false);
+		verify(mockCallback).onTaskFinished(TASK_ID, "result");
+		manager.setPaused(true);
+		manager.setPaused(false);
+		verifyNoMoreInteractions(mockCallback);
+	}
+
+	@Test public void testDestroyTask() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		manager.initTask(TASK_ID, mock(TaskManager.Task.class), mockCallback);
+		// Act:
+		manager.destroyTask(TASK_ID);
+		awaitTasks(executor);
+		// Assert:
+		assertThat(manager.hasTask(TASK_ID), is(false));
+		verifyZeroInteractions(mockCallback);
+	}
+
+	@Test public void testRetainAndReclaim() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Task<String> mockTask = mock(TaskManager.Task.class);
+		when(mockTask.execute()).thenReturn("result");
+		final TaskManager.Callback<String> mockOldCallback = mock(TaskManager.Callback.class);
+		final TaskManager.Callback<String> mockNewCallback = mock(TaskManager.Callback.class);
+		manager.initTask(TASK_ID, mockTask, mockOldCallback);
+		// Act:
+		ShadowLooper.pauseMainLooper();
+		final String key = manager.retain();
+		manager.detach();
+		final TaskManager reclaimedManager = TaskManager.reclaim(key);
+		ShadowLooper.unPauseMainLooper();
+		awaitTasks(executor);
+		reclaimedManager.setPaused(false);
+		reclaimedManager.initTask(TASK_ID, mockTask, mockNewCallback);
+		// Assert:
+		assertThat(reclaimedManager, is(manager));
+		assertThat(TaskManager.reclaim(key), is(nullValue()));
+		verify(mockTask).execute();
+		verifyZeroInteractions(mockOldCallback);
+		verify(mockNewCallback).onTaskFinished(TASK_ID, "result");
+	}
+
+	@Test public void testDetachDestroysManagerThatIsNotReclaimed() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		manager.initTask(TASK_ID, mock(TaskManager.Task.class), mockCallback);
+		ShadowLooper.pauseMainLooper();
+		final String key = manager.retain();
+		// Act:
+		manager.detach();
+		ShadowLooper.unPauseMainLooper();
+		awaitTasks(executor);
+		// Assert:
+		assertThat(manager.hasTask(TASK_ID), is(false));
+		assertThat(TaskManager.reclaim(key), is(nullValue()));
+		verifyZeroInteractions(mockCallback);
+	}
+
+	@Test public void testDetachWithoutRetain() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		manager.initTask(TASK_ID, mock(TaskManager.Task.class), mockCallback);
+		// Act:
+		manager.detach();
+		awaitTasks(executor);
+		// Assert:
+		assertThat(manager.hasTask(TASK_ID), is(false));
+		verifyZeroInteractions(mockCallback);
+	}
+
+	@Test public void testDestroy() throws Exception {
+		// Arrange:
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		final TaskManager manager = new TaskManager(executor);
+		final TaskManager.Callback<String> mockCallback = mock(TaskManager.Callback.class);
+		manager.initTask(TASK_ID, mock(TaskManager.Task.class), mockCallback);
+		final String key = manager.retain();
+		// Act:
+		manager.destroy();
+		awaitTasks(executor);
+		// Assert:
+		assertThat(manager.hasTask(TASK_ID), is(false));
+		assertThat(TaskManager.reclaim(key), is(nullValue()));
+		verify(mockCallback, never()).onTaskFinished(anyInt(), any());
+	}
+
+	private static void awaitTasks(final ExecutorService executor) throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(1, TimeUnit.SECONDS);
+		ShadowLooper.runUiThreadTasks();
+	}
+}
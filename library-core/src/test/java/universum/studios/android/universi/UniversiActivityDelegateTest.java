@@ -22,12 +22,17 @@ import android.app.Activity;
 import android.app.Fragment;
 import android.app.FragmentManager;
 import android.app.LoaderManager;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Loader;
+import android.os.Bundle;
 
 import org.hamcrest.core.Is;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.shadows.ShadowLooper;
 
+import universum.studios.android.fragment.BackPressWatcher;
 import universum.studios.android.fragment.manage.FragmentController;
 import universum.studios.android.fragment.manage.FragmentFactory;
 import universum.studios.android.test.local.RobolectricTestCase;
@@ -38,7 +43,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -117,6 +124,143 @@ public final class UniversiActivityDelegateTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockLoaderManager);
 	}
 
+	@Test public void testLoaderRestartWindow() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act + Assert:
+		assertThat(delegate.getLoaderRestartWindow(), is(0L));
+		delegate.setLoaderRestartWindow(300);
+		assertThat(delegate.getLoaderRestartWindow(), is(300L));
+		delegate.setLoaderRestartWindow(0);
+		assertThat(delegate.getLoaderRestartWindow(), is(0L));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetNegativeLoaderRestartWindow() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act:
+		delegate.setLoaderRestartWindow(-1);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test public void testStartLoaderWhenNotStartedWithRestartWindow() {
+		// Arrange:
+		final Loader mockLoader = mock(Loader.class);
+		final LoaderManager.LoaderCallbacks mockCallbacks = mock(LoaderManager.LoaderCallbacks.class);
+		final LoaderManager mockLoaderManager = mock(LoaderManager.class);
+		when(mockLoaderManager.initLoader(1, null, mockCallbacks)).thenReturn(mockLoader);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getLoaderManager()).thenReturn(mockLoaderManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setLoaderRestartWindow(300);
+		// Act:
+		assertThat(delegate.startLoader(1, null, mockCallbacks), is(mockLoader));
+		// Assert:
+		assertThat(delegate.isLoaderRestartPending(1), is(false));
+		verify(mockLoaderManager).getLoader(1);
+		verify(mockLoaderManager).initLoader(1, null, mockCallbacks);
+		verifyNoMoreInteractions(mockLoaderManager);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test public void testStartLoaderWhenAlreadyStartedWithRestartWindow() {
+		// Arrange:
+		final Loader mockLoader = mock(Loader.class);
+		final LoaderManager.LoaderCallbacks mockCallbacks = mock(LoaderManager.LoaderCallbacks.class);
+		final LoaderManager mockLoaderManager = mock(LoaderManager.class);
+		when(mockLoaderManager.getLoader(1)).thenReturn(mockLoader);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getLoaderManager()).thenReturn(mockLoaderManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setLoaderRestartWindow(300);
+		final Bundle firstParams = new Bundle();
+		final Bundle secondParams = new Bundle();
+		final Bundle lastParams = new Bundle();
+		// Act:
+		assertThat(delegate.startLoader(1, firstParams, mockCallbacks), is(mockLoader));
+		ShadowLooper.idleMainLooper(200);
+		assertThat(delegate.startLoader(1, secondParams, mockCallbacks), is(mockLoader));
+		ShadowLooper.idleMainLooper(200);
+		assertThat(delegate.startLoader(1, lastParams, mockCallbacks), is(mockLoader));
+		// Assert:
+		assertThat(delegate.isLoaderRestartPending(1), is(true));
+		verify(mockLoaderManager, never()).restartLoader(1, firstParams, mockCallbacks);
+		verify(mockLoaderManager, never()).restartLoader(1, secondParams, mockCallbacks);
+		verify(mockLoaderManager, never()).restartLoader(1, lastParams, mockCallbacks);
+		ShadowLooper.idleMainLooper(300);
+		assertThat(delegate.isLoaderRestartPending(1), is(false));
+		verify(mockLoaderManager, times(3)).getLoader(1);
+		verify(mockLoaderManager).restartLoader(1, lastParams, mockCallbacks);
+		verifyNoMoreInteractions(mockLoaderManager);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test public void testRestartLoaderCancelsPendingRestart() {
+		// Arrange:
+		final LoaderManager.LoaderCallbacks mockCallbacks = mock(LoaderManager.LoaderCallbacks.class);
+		final LoaderManager mockLoaderManager = mock(LoaderManager.class);
+		when(mockLoaderManager.getLoader(1)).thenReturn(mock(Loader.class));
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getLoaderManager()).thenReturn(mockLoaderManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setLoaderRestartWindow(300);
+		delegate.startLoader(1, null, mockCallbacks);
+		// Act:
+		delegate.restartLoader(1, null, mockCallbacks);
+		// Assert:
+		assertThat(delegate.isLoaderRestartPending(1), is(false));
+		ShadowLooper.idleMainLooper(300);
+		verify(mockLoaderManager).getLoader(1);
+		verify(mockLoaderManager).restartLoader(1, null, mockCallbacks);
+		verifyNoMoreInteractions(mockLoaderManager);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test public void testDestroyLoaderCancelsPendingRestart() {
+		// Arrange:
+		final LoaderManager.LoaderCallbacks mockCallbacks = mock(LoaderManager.LoaderCallbacks.class);
+		final LoaderManager mockLoaderManager = mock(LoaderManager.class);
+		when(mockLoaderManager.getLoader(1)).thenReturn(mock(Loader.class));
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getLoaderManager()).thenReturn(mockLoaderManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setLoaderRestartWindow(300);
+		delegate.startLoader(1, null, mockCallbacks);
+		// Act:
+		delegate.destroyLoader(1);
+		// Assert:
+		assertThat(delegate.isLoaderRestartPending(1), is(false));
+		ShadowLooper.idleMainLooper(300);
+		verify(mockLoaderManager).getLoader(1);
+		verify(mockLoaderManager).destroyLoader(1);
+		verifyNoMoreInteractions(mockLoaderManager);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test public void testDestroyCancelsPendingLoaderRestarts() {
+		// Arrange:
+		final LoaderManager.LoaderCallbacks mockCallbacks = mock(LoaderManager.LoaderCallbacks.class);
+		final LoaderManager mockLoaderManager = mock(LoaderManager.class);
+		when(mockLoaderManager.getLoader(1)).thenReturn(mock(Loader.class));
+		when(mockLoaderManager.getLoader(2)).thenReturn(mock(Loader.class));
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getLoaderManager()).thenReturn(mockLoaderManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setLoaderRestartWindow(300);
+		delegate.startLoader(1, null, mockCallbacks);
+		delegate.startLoader(2, null, mockCallbacks);
+		// Act:
+		delegate.destroy(false);
+		// Assert:
+		assertThat(delegate.isLoaderRestartPending(1), is(false));
+		assertThat(delegate.isLoaderRestartPending(2), is(false));
+		ShadowLooper.idleMainLooper(300);
+		verify(mockLoaderManager).getLoader(1);
+		verify(mockLoaderManager).getLoader(2);
+		verifyNoMoreInteractions(mockLoaderManager);
+	}
+
 	@Test public void testNavigationalTransition() {
 		// Arrange:
 		final Activity mockActivity = mock(Activity.class);
@@ -194,6 +338,240 @@ public final class UniversiActivityDelegateTest extends RobolectricTestCase {
 		verifyZeroInteractions(mockFactory);
 	}
 
+	@Test public void testTrimMemoryKeepsFragmentController() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentController controller = delegate.getFragmentController();
+		// Act:
+		final int released = delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		// Assert:
+		assertThat(released, is(0));
+		assertThat(delegate.getFragmentController(), is(controller));
+	}
+
+	@Test public void testTrimMemoryDoesNotCountSelfTrimmingCaches() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getApplicationContext()).thenReturn(application);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		when(mockFactory.isFragmentProvided(1)).thenReturn(true);
+		when(mockFactory.createFragment(1)).thenReturn(new TestFragment());
+		delegate.setFragmentFactory(mockFactory);
+		delegate.setFragmentPrefetchingEnabled(true);
+		delegate.prefetchFragments(1);
+		delegate.getFragmentPrefetcher().prefetchNext();
+		// Act:
+		final int released = delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+		// Assert:
+		assertThat(released, is(0));
+		assertThat(delegate.getReleasedCount(), is(0));
+		assertThat(delegate.getFragmentPrefetcher().isPrefetched(1), is(true));
+	}
+
+	@Test public void testPostponeEnterTransition() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		// Act:
+		delegate.postponeEnterTransition(500);
+		// Assert:
+		assertThat(delegate.isEnterTransitionPostponed(), is(true));
+		assertThat(delegate.getEnterTransitionPostponedDuration(), is(-1L));
+		verify(mockActivity).postponeEnterTransition();
+		verify(mockActivity, never()).startPostponedEnterTransition();
+	}
+
+	@Test public void testPostponeEnterTransitionWhenAlreadyPostponed() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.postponeEnterTransition(500);
+		// Act:
+		delegate.postponeEnterTransition(500);
+		// Assert:
+		verify(mockActivity).postponeEnterTransition();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPostponeEnterTransitionWithoutTimeout() {
+		// Act:
+		new UniversiActivityDelegate(mock(Activity.class)).postponeEnterTransition(0);
+	}
+
+	@Test public void testStartPostponedEnterTransition() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.postponeEnterTransition(500);
+		ShadowLooper.idleMainLooper(200);
+		// Act + Assert:
+		assertThat(delegate.startPostponedEnterTransition(), is(true));
+		assertThat(delegate.isEnterTransitionPostponed(), is(false));
+		assertThat(delegate.getEnterTransitionPostponedDuration(), is(not(-1L)));
+		assertThat(delegate.hasEnterTransitionPostponeTimedOut(), is(false));
+		verify(mockActivity).startPostponedEnterTransition();
+		assertThat(delegate.startPostponedEnterTransition(), is(false));
+		ShadowLooper.idleMainLooper(500);
+		verify(mockActivity).startPostponedEnterTransition();
+	}
+
+	@Test public void testStartPostponedEnterTransitionWhenNotPostponed() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		// Act + Assert:
+		assertThat(delegate.startPostponedEnterTransition(), is(false));
+		assertThat(delegate.getEnterTransitionPostponedDuration(), is(-1L));
+		verifyZeroInteractions(mockActivity);
+	}
+
+	@Test public void testPostponedEnterTransitionTimeout() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.postponeEnterTransition(500);
+		// Act:
+		ShadowLooper.idleMainLooper(500);
+		// Assert:
+		assertThat(delegate.isEnterTransitionPostponed(), is(false));
+		assertThat(delegate.getEnterTransitionPostponedDuration(), is(not(-1L)));
+		assertThat(delegate.hasEnterTransitionPostponeTimedOut(), is(true));
+		verify(mockActivity).startPostponedEnterTransition();
+	}
+
+	@Test public void testDestroyCancelsPostponedEnterTransitionTimeout() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.postponeEnterTransition(500);
+		// Act:
+		delegate.destroy(false);
+		// Assert:
+		assertThat(delegate.isEnterTransitionPostponed(), is(false));
+		ShadowLooper.idleMainLooper(500);
+		verify(mockActivity, never()).startPostponedEnterTransition();
+	}
+
+	@Test public void testFragmentPrefetchingEnabled() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		delegate.setFragmentFactory(mockFactory);
+		// Act + Assert:
+		assertThat(delegate.isFragmentPrefetchingEnabled(), is(false));
+		assertThat(delegate.getFragmentPrefetcher(), is(nullValue()));
+		delegate.setFragmentPrefetchingEnabled(true);
+		assertThat(delegate.isFragmentPrefetchingEnabled(), is(true));
+		assertThat(delegate.getFragmentPrefetcher(), is(notNullValue()));
+		assertThat(delegate.getFragmentPrefetcher().getFactory(), is(mockFactory));
+		assertThat(delegate.getFragmentFactory(), is(mockFactory));
+		delegate.setFragmentPrefetchingEnabled(false);
+		assertThat(delegate.isFragmentPrefetchingEnabled(), is(false));
+		assertThat(delegate.getFragmentPrefetcher(), is(nullValue()));
+	}
+
+	@Test public void testFragmentPrefetchingAttachesPrefetcherToFragmentController() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		final FragmentController mockController = mock(FragmentController.class);
+		delegate.setFragmentController(mockController);
+		delegate.setFragmentFactory(mockFactory);
+		// Act:
+		delegate.setFragmentPrefetchingEnabled(true);
+		// Assert:
+		verify(mockController).setFactory(mockFactory);
+		verify(mockController).setFactory(delegate.getFragmentPrefetcher());
+		delegate.setFragmentPrefetchingEnabled(false);
+		verify(mockController, times(2)).setFactory(mockFactory);
+		verifyNoMoreInteractions(mockController);
+	}
+
+	@Test public void testFragmentPrefetchingWithoutFactory() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentController mockController = mock(FragmentController.class);
+		delegate.setFragmentController(mockController);
+		// Act:
+		delegate.setFragmentPrefetchingEnabled(true);
+		delegate.prefetchFragments(1, 2);
+		// Assert:
+		assertThat(delegate.getFragmentPrefetcher().getFactory(), is(nullValue()));
+		verifyZeroInteractions(mockController);
+	}
+
+	@Test public void testPrefetchFragments() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		when(mockFactory.isFragmentProvided(1)).thenReturn(true);
+		when(mockFactory.createFragment(1)).thenReturn(new TestFragment());
+		delegate.setFragmentFactory(mockFactory);
+		delegate.setFragmentPrefetchingEnabled(true);
+		// Act:
+		delegate.prefetchFragments(1);
+		// Assert:
+		final FragmentPrefetcher prefetcher = delegate.getFragmentPrefetcher();
+		prefetcher.prefetchNext();
+		assertThat(prefetcher.isPrefetched(1), is(true));
+	}
+
+	@Test public void testPrefetchFragmentsWhenPrefetchingIsDisabled() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		final FragmentFactory mockFactory = mock(FragmentFactory.class);
+		delegate.setFragmentFactory(mockFactory);
+		// Act:
+		delegate.prefetchFragments(1);
+		// Assert:
+		verifyZeroInteractions(mockFactory);
+	}
+
+	@Test public void testDestroyReleasesFragmentPrefetcher() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentPrefetchingEnabled(true);
+		// Act:
+		delegate.destroy(false);
+		// Assert:
+		assertThat(delegate.isFragmentPrefetchingEnabled(), is(false));
+	}
+
+	@Test public void testFragmentFactoryDoesNotCreateFragmentController() {
+		// Arrange:
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		// Act:
+		delegate.setFragmentFactory(mock(FragmentFactory.class));
+		// Assert:
+		assertThat(delegate.hasFragmentController(), is(false));
+		assertThat(delegate.findCurrentFragment(), is(nullValue()));
+		assertThat(delegate.hasFragmentController(), is(false));
+		assertThat(delegate.getFragmentController(), is(notNullValue()));
+		assertThat(delegate.hasFragmentController(), is(true));
+	}
+
+	@Test public void testOptionsMenuCachingEnabled() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act + Assert:
+		assertThat(delegate.isOptionsMenuCachingEnabled(), is(false));
+		delegate.setOptionsMenuCachingEnabled(true);
+		assertThat(delegate.isOptionsMenuCachingEnabled(), is(true));
+		delegate.setOptionsMenuCachingEnabled(false);
+		assertThat(delegate.isOptionsMenuCachingEnabled(), is(false));
+	}
+
 	@Test public void testFindCurrentFragment() {
 		// Arrange:
 		final FragmentController mockController = mock(FragmentController.class);
@@ -206,6 +584,132 @@ public final class UniversiActivityDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.findCurrentFragment(), is(mockFragment));
 	}
 
+	@Test public void testFindCurrentFragmentIsCached() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		// Act + Assert:
+		assertThat(delegate.findCurrentFragment(), is(mockFragment));
+		assertThat(delegate.findCurrentFragment(), is(mockFragment));
+		verify(mockController).findCurrentFragment();
+	}
+
+	@Test public void testFindCurrentFragmentWhenNoFragmentWasFound() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(null, mockFragment);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		// Act + Assert:
+		assertThat(delegate.findCurrentFragment(), is(nullValue()));
+		assertThat(delegate.findCurrentFragment(), is(mockFragment));
+		verify(mockController, times(2)).findCurrentFragment();
+	}
+
+	@Test public void testFindCurrentFragmentWhenCachedFragmentIsNoLongerCurrent() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		delegate.findCurrentFragment();
+		// Act:
+		when(mockFragment.isHidden()).thenReturn(true);
+		delegate.findCurrentFragment();
+		// Assert:
+		verify(mockController, times(2)).findCurrentFragment();
+	}
+
+	@Test public void testFindCurrentFragmentAfterBackStackChange() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final FragmentManager mockManager = mock(FragmentManager.class);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mockManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		delegate.findCurrentFragment();
+		final ArgumentCaptor<FragmentManager.OnBackStackChangedListener> listenerCaptor = ArgumentCaptor.forClass(FragmentManager.OnBackStackChangedListener.class);
+		verify(mockManager).addOnBackStackChangedListener(listenerCaptor.capture());
+		// Act:
+		listenerCaptor.getValue().onBackStackChanged();
+		delegate.findCurrentFragment();
+		// Assert:
+		verify(mockController, times(2)).findCurrentFragment();
+	}
+
+	@Test public void testFindCurrentFragmentAfterFragmentControllerIsObtained() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		delegate.findCurrentFragment();
+		// Act:
+		delegate.getFragmentController();
+		delegate.findCurrentFragment();
+		// Assert:
+		verify(mockController, times(2)).findCurrentFragment();
+	}
+
+	@Test public void testFindCurrentFragmentAfterFragmentIsAttached() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final Fragment mockFragment = mock(TestFragment.class);
+		when(mockFragment.isAdded()).thenReturn(true);
+		final Fragment mockAttachedFragment = mock(TestFragment.class);
+		when(mockAttachedFragment.isAdded()).thenReturn(true);
+		when(mockController.findCurrentFragment()).thenReturn(mockFragment, mockAttachedFragment);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		delegate.findCurrentFragment();
+		// Act:
+		delegate.onFragmentAttached(mockAttachedFragment);
+		// Assert:
+		assertThat(delegate.findCurrentFragment(), is(mockAttachedFragment));
+		verify(mockController, times(2)).findCurrentFragment();
+	}
+
+	@Test public void testDestroyStopsObservingFragmentManager() {
+		// Arrange:
+		final FragmentController mockController = mock(FragmentController.class);
+		final FragmentManager mockManager = mock(FragmentManager.class);
+		final Activity mockActivity = mock(Activity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mockManager);
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mockActivity);
+		delegate.setFragmentController(mockController);
+		delegate.findCurrentFragment();
+		final ArgumentCaptor<FragmentManager.OnBackStackChangedListener> listenerCaptor = ArgumentCaptor.forClass(FragmentManager.OnBackStackChangedListener.class);
+		verify(mockManager).addOnBackStackChangedListener(listenerCaptor.capture());
+		// Act:
+		delegate.destroy(false);
+		// Assert:
+		verify(mockManager).removeOnBackStackChangedListener(listenerCaptor.getValue());
+	}
+
 	@Test public void testFindCurrentFragmentWithoutControllerInitialized() {
 		// Arrange:
 		final FragmentManager mockManager = mock(FragmentManager.class);
@@ -217,6 +721,58 @@ public final class UniversiActivityDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.findCurrentFragment(), is(nullValue()));
 	}
 
+	@Test public void testGetBackPressWatcherRegistry() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act:
+		final BackPressWatcherRegistry registry = delegate.getBackPressWatcherRegistry();
+		// Assert:
+		assertThat(registry, is(notNullValue()));
+		assertThat(delegate.getBackPressWatcherRegistry(), is(registry));
+	}
+
+	@Test public void testDispatchBackPressToWatchers() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BackPressWatcher mockWatcher = mock(BackPressWatcher.class);
+		when(mockWatcher.dispatchBackPress()).thenReturn(true);
+		delegate.getBackPressWatcherRegistry().register(mockWatcher);
+		// Act + Assert:
+		assertThat(delegate.dispatchBackPressToWatchers(), is(true));
+		verify(mockWatcher).dispatchBackPress();
+	}
+
+	@Test public void testDispatchBackPressToWatchersWithoutRegistryInitialized() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act + Assert:
+		assertThat(delegate.dispatchBackPressToWatchers(), is(false));
+	}
+
+	@Test public void testIsBackPressWatcherRegistered() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BackPressWatcher mockWatcher = mock(BackPressWatcher.class);
+		// Act + Assert:
+		assertThat(delegate.isBackPressWatcherRegistered(mockWatcher), is(false));
+		delegate.getBackPressWatcherRegistry().register(mockWatcher);
+		assertThat(delegate.isBackPressWatcherRegistered(mockWatcher), is(true));
+		delegate.getBackPressWatcherRegistry().unregister(mockWatcher);
+		assertThat(delegate.isBackPressWatcherRegistered(mockWatcher), is(false));
+	}
+
+	@Test public void testHasBackPressWatchers() {
+		// Arrange:
+		final UniversiActivityDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		final BackPressWatcher mockWatcher = mock(BackPressWatcher.class);
+		// Act + Assert:
+		assertThat(delegate.hasBackPressWatchers(), is(false));
+		delegate.getBackPressWatcherRegistry().register(mockWatcher);
+		assertThat(delegate.hasBackPressWatchers(), is(true));
+		delegate.getBackPressWatcherRegistry().unregister(mockWatcher);
+		assertThat(delegate.hasBackPressWatchers(), is(false));
+	}
+
 	@Test public void testPopFragmentsBackStack() {
 		// Arrange:
 		final FragmentManager mockManager = mock(FragmentManager.class);
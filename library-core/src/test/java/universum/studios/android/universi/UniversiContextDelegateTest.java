@@ -18,21 +18,28 @@
  */
 package universum.studios.android.universi;
 
+import android.Manifest;
 import android.app.Activity;
 import android.app.DialogFragment;
 import android.app.Fragment;
 import android.app.FragmentManager;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.pm.PackageManager;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
+import android.os.Bundle;
 import android.support.annotation.NonNull;
 
 import org.hamcrest.core.Is;
 import org.junit.Test;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
 
 import universum.studios.android.dialog.manage.DialogController;
 import universum.studios.android.dialog.manage.DialogFactory;
 import universum.studios.android.dialog.manage.DialogXmlFactory;
+import universum.studios.android.test.local.AllocationCounter;
 import universum.studios.android.test.local.RobolectricTestCase;
 import universum.studios.android.test.local.TestActivity;
 import universum.studios.android.test.local.TestFragment;
@@ -40,8 +47,10 @@ import universum.studios.android.test.local.TestFragment;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -57,6 +66,13 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 	private static final int XML_DIALOGS_SET_RESOURCE_ID = 1;
 	private static final int XML_DIALOG_RESOURCE_ID = 2;
 
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		NetworkStateMonitor.release();
+		DialogXmlFactoryCache.release();
+		PermissionStateCache.release();
+	}
+
 	@Test public void testInstantiation() {
 		// Act:
 		final UniversiContextDelegate delegate = new TestDelegate(application);
@@ -97,6 +113,302 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.getDialogFactory(), is(mockFactory));
 	}
 
+	@Test public void testDialogFactoryDoesNotCreateDialogController() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		// Act:
+		delegate.setDialogFactory(mockFactory);
+		// Assert:
+		assertThat(delegate.hasDialogController(), is(false));
+		assertThat(delegate.getDialogController(), is(notNullValue()));
+		assertThat(delegate.hasDialogController(), is(true));
+	}
+
+	@Test public void testDialogFactoryAttachedToLazilySpecifiedDialogController() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		final DialogController mockController = mock(DialogController.class);
+		delegate.setDialogController(mockController);
+		// Act:
+		delegate.setDialogFactory(mockFactory);
+		// Assert:
+		verify(mockController).setFactory(mockFactory);
+		verifyNoMoreInteractions(mockController);
+	}
+
+	@Test public void testLifecycleStateDefault() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		// Act + Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_INITIALIZED));
+		assertThat(delegate.isLifecycleStateAtLeast(UniversiContextDelegate.STATE_INITIALIZED), is(true));
+		assertThat(delegate.isLifecycleStateAtLeast(UniversiContextDelegate.STATE_VIEW_CREATED), is(false));
+	}
+
+	@Test public void testLifecycleStateTransitions() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final UniversiContextDelegate.OnLifecycleStateChangeListener mockListener = mock(UniversiContextDelegate.OnLifecycleStateChangeListener.class);
+		delegate.registerOnLifecycleStateChangeListener(mockListener);
+		delegate.registerOnLifecycleStateChangeListener(mockListener);
+		// Act + Assert:
+		delegate.setViewCreated(true);
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+		delegate.setStateSaved(false);
+		delegate.setPaused(false);
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_RESUMED));
+		delegate.setPaused(true);
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+		delegate.setStateSaved(true);
+		delegate.setViewCreated(false);
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_INITIALIZED));
+		delegate.destroy(false);
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_DESTROYED));
+		verify(mockListener).onLifecycleStateChanged(UniversiContextDelegate.STATE_INITIALIZED, UniversiContextDelegate.STATE_VIEW_CREATED);
+		verify(mockListener).onLifecycleStateChanged(UniversiContextDelegate.STATE_VIEW_CREATED, UniversiContextDelegate.STATE_RESUMED);
+		verify(mockListener).onLifecycleStateChanged(UniversiContextDelegate.STATE_RESUMED, UniversiContextDelegate.STATE_VIEW_CREATED);
+		verify(mockListener).onLifecycleStateChanged(UniversiContextDelegate.STATE_VIEW_CREATED, UniversiContextDelegate.STATE_INITIALIZED);
+		verify(mockListener).onLifecycleStateChanged(UniversiContextDelegate.STATE_INITIALIZED, UniversiContextDelegate.STATE_DESTROYED);
+		verifyNoMoreInteractions(mockListener);
+	}
+
+	@Test public void testLifecycleStateIsNotResumedWhileStateIsSaved() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setViewCreated(true);
+		delegate.setStateSaved(true);
+		// Act:
+		delegate.setPaused(false);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+	}
+
+	@Test public void testLifecycleStateIsResumedWhenViewIsCreatedAfterResume() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setStateSaved(false);
+		delegate.setPaused(false);
+		// Act:
+		delegate.setViewCreated(true);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_RESUMED));
+	}
+
+	@Test public void testLifecycleStateIsNotResumedWhenViewIsCreatedBeforeResume() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		// Act:
+		delegate.setViewCreated(true);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+	}
+
+	@Test public void testLifecycleStateIsNotResumedWhenViewIsCreatedWhilePaused() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setPaused(false);
+		delegate.setPaused(true);
+		// Act:
+		delegate.setViewCreated(true);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+	}
+
+	@Test public void testLifecycleStateIsNotResumedWhenViewIsCreatedWhileStateIsSaved() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setPaused(false);
+		delegate.setStateSaved(true);
+		// Act:
+		delegate.setViewCreated(true);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_VIEW_CREATED));
+	}
+
+	@Test public void testLifecycleStateIsResumedWhenStateIsRestoredWhileResumed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setViewCreated(true);
+		delegate.setStateSaved(true);
+		delegate.setPaused(false);
+		// Act:
+		delegate.setStateSaved(false);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_RESUMED));
+	}
+
+	@Test public void testLifecycleStateIsNotResumedWithoutView() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		// Act:
+		delegate.setPaused(false);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_INITIALIZED));
+	}
+
+	@Test public void testLifecycleStateIsNotChangedWhenDestroyed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final UniversiContextDelegate.OnLifecycleStateChangeListener mockListener = mock(UniversiContextDelegate.OnLifecycleStateChangeListener.class);
+		delegate.destroy(true);
+		delegate.registerOnLifecycleStateChangeListener(mockListener);
+		// Act:
+		delegate.setViewCreated(true);
+		delegate.setPaused(false);
+		delegate.setViewCreated(false);
+		// Assert:
+		assertThat(delegate.getLifecycleState(), is(UniversiContextDelegate.STATE_DESTROYED));
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testUnregisterOnLifecycleStateChangeListener() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final UniversiContextDelegate.OnLifecycleStateChangeListener mockListener = mock(UniversiContextDelegate.OnLifecycleStateChangeListener.class);
+		delegate.unregisterOnLifecycleStateChangeListener(mockListener);
+		delegate.registerOnLifecycleStateChangeListener(mockListener);
+		// Act:
+		delegate.unregisterOnLifecycleStateChangeListener(mockListener);
+		delegate.setViewCreated(true);
+		// Assert:
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testLifecycleStateMayBeReadFromBackgroundThread() throws Exception {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setViewCreated(true);
+		delegate.setPaused(false);
+		final int[] state = new int[1];
+		final Thread thread = new Thread(new Runnable() {
+
+			@Override public void run() {
+				state[0] = delegate.getLifecycleState();
+			}
+		});
+		// Act:
+		thread.start();
+		thread.join();
+		// Assert:
+		assertThat(state[0], is(UniversiContextDelegate.STATE_RESUMED));
+	}
+
+	@Test public void testCheckSelfPermission() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		Shadows.shadowOf(application).denyPermissions(Manifest.permission.CAMERA);
+		// Act + Assert:
+		assertThat(delegate.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_DENIED));
+		Shadows.shadowOf(application).grantPermissions(Manifest.permission.CAMERA);
+		assertThat(delegate.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_DENIED));
+		assertThat(PermissionStateCache.obtain(application).getHitCount(), is(1));
+	}
+
+	@Test public void testInvalidatePermissionStates() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		Shadows.shadowOf(application).denyPermissions(Manifest.permission.CAMERA);
+		delegate.checkSelfPermission(Manifest.permission.CAMERA);
+		Shadows.shadowOf(application).grantPermissions(Manifest.permission.CAMERA);
+		// Act:
+		delegate.invalidatePermissionStates();
+		// Assert:
+		assertThat(delegate.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_GRANTED));
+	}
+
+	@Test public void testInvalidatePermissionStatesWithoutCacheCreated() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act:
+		delegate.invalidatePermissionStates();
+		// Assert:
+		assertThat(PermissionStateCache.peek(), is(nullValue()));
+	}
+
+	@Test public void testTrimMemoryReleasesIdleDialogController() {
+		// Arrange:
+		final TestActivity mockActivity = mock(TestActivity.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mock(FragmentManager.class));
+		final UniversiContextDelegate delegate = new TestDelegate(mockActivity);
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		when(mockFactory.isDialogProvided(1)).thenReturn(true);
+		when(mockFactory.createDialogTag(1)).thenReturn("Dialog.TAG.1");
+		when(mockFactory.createDialog(1, null)).thenReturn(mock(DialogFragment.class));
+		delegate.setDialogFactory(mockFactory);
+		delegate.showDialogWithId(1, null);
+		// Act + Assert:
+		assertThat(delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL), is(0));
+		assertThat(delegate.hasDialogController(), is(true));
+		assertThat(delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN), is(1));
+		assertThat(delegate.hasDialogController(), is(false));
+		assertThat(delegate.getReleasedCount(), is(1));
+		assertThat(delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), is(0));
+		assertThat(delegate.getReleasedCount(), is(1));
+	}
+
+	@Test public void testTrimMemoryKeepsHandedOutDialogController() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogController controller = delegate.getDialogController();
+		// Act:
+		final int released = delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		// Assert:
+		assertThat(released, is(0));
+		assertThat(delegate.getDialogController(), is(controller));
+	}
+
+	@Test public void testTrimMemoryKeepsSpecifiedDialogController() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogController mockController = mock(DialogController.class);
+		delegate.setDialogController(mockController);
+		// Act:
+		delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		// Assert:
+		assertThat(delegate.getDialogController(), is(mockController));
+		assertThat(delegate.getReleasedCount(), is(0));
+	}
+
+	@Test public void testTrimMemoryDoesNotCountSharedDialogXmlFactoryCache() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		delegate.setDialogXmlFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Act:
+		final int released = delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+		// Assert:
+		assertThat(released, is(0));
+		assertThat(delegate.getReleasedCount(), is(0));
+		assertThat(DialogXmlFactoryCache.obtain(application).getFactory(XML_DIALOGS_SET_RESOURCE_ID), is(delegate.getDialogFactory()));
+	}
+
+	@Test public void testLifecycleOfScreenWithoutDialogsDoesNotAllocate() {
+		assumeTrue(AllocationCounter.isExpectedToBeSupported());
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		final Bundle state = new Bundle();
+		final Runnable lifecycle = new Runnable() {
+
+			@Override public void run() {
+				delegate.setDialogFactory(mockFactory);
+				delegate.setViewCreated(true);
+				delegate.setStateSaved(false);
+				delegate.setPaused(false);
+				delegate.setPaused(true);
+				delegate.saveInstanceState(state);
+				delegate.setStateSaved(true);
+				delegate.setViewCreated(false);
+			}
+		};
+		// Act:
+		final long allocatedBytes = AllocationCounter.measure(lifecycle, 5);
+		// Assert:
+		assertThat(allocatedBytes, is(0L));
+		assertThat(delegate.hasDialogController(), is(false));
+	}
+
 	@Test public void testDialogXmlFactory() {
 		// Arrange:
 		final UniversiContextDelegate delegate = new TestDelegate();
@@ -107,6 +419,19 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.getDialogFactory(), instanceOf(DialogXmlFactory.class));
 	}
 
+	@Test public void testDialogXmlFactoryIsShared() {
+		// Arrange:
+		final UniversiContextDelegate firstDelegate = new TestDelegate();
+		final UniversiContextDelegate secondDelegate = new TestDelegate();
+		// Act:
+		firstDelegate.setDialogXmlFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		secondDelegate.setDialogXmlFactory(XML_DIALOGS_SET_RESOURCE_ID);
+		// Assert:
+		assertThat(secondDelegate.getDialogFactory(), is(firstDelegate.getDialogFactory()));
+		assertThat(DialogXmlFactoryCache.obtain(application).getMissCount(), is(1));
+		assertThat(DialogXmlFactoryCache.obtain(application).getHitCount(), is(1));
+	}
+
 	@Test public void testSetDialogXmlFactoryWithZeroResource() {
 		// Arrange:
 		final UniversiContextDelegate delegate = new TestDelegate();
@@ -148,6 +473,76 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 		verifyZeroInteractions(mockFactory);
 	}
 
+	@Test public void testShowDialogWithIdWhenPausedIsReplayedWhenResumed() {
+		// Arrange:
+		final TestActivity mockActivity = mock(TestActivity.class);
+		final FragmentManager mockFragmentManager = mock(FragmentManager.class);
+		final DialogFragment mockDialogFragment = mock(DialogFragment.class);
+		when(mockActivity.getFragmentManager()).thenReturn(mockFragmentManager);
+		final UniversiContextDelegate delegate = new TestDelegate(mockActivity);
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		when(mockFactory.isDialogProvided(1)).thenReturn(true);
+		when(mockFactory.createDialogTag(1)).thenReturn("Dialog.TAG.1");
+		when(mockFactory.createDialog(1, null)).thenReturn(mockDialogFragment);
+		delegate.setDialogFactory(mockFactory);
+		delegate.setPaused(true);
+		// Act:
+		assertThat(delegate.showDialogWithId(1, null), is(false));
+		assertThat(delegate.showDialogWithId(1, null), is(false));
+		// Assert:
+		verifyZeroInteractions(mockFactory);
+		assertThat(delegate.getPendingDialogRequestsCount(), is(1));
+		delegate.setPaused(false);
+		assertThat(delegate.getPendingDialogRequestsCount(), is(0));
+		verify(mockFactory).createDialog(1, null);
+	}
+
+	@Test public void testShowDialogWithIdWhenPausedWithDeferralDisabled() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		delegate.setDialogFactory(mockFactory);
+		delegate.setDialogRequestsDeferralEnabled(false);
+		delegate.setPaused(true);
+		// Act:
+		delegate.showDialogWithId(1, null);
+		delegate.setPaused(false);
+		// Assert:
+		assertThat(delegate.isDialogRequestsDeferralEnabled(), is(false));
+		assertThat(delegate.getPendingDialogRequestsCount(), is(0));
+		verifyZeroInteractions(mockFactory);
+	}
+
+	@Test public void testShowAndDismissDialogWithIdWhenPausedAreCollapsed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		final DialogFactory mockFactory = mock(DialogFactory.class);
+		delegate.setDialogFactory(mockFactory);
+		delegate.setPaused(true);
+		// Act:
+		delegate.showDialogWithId(1, null);
+		delegate.dismissDialogWithId(1);
+		// Assert:
+		assertThat(delegate.getPendingDialogRequestsCount(), is(1));
+	}
+
+	@Test public void testSaveAndRestorePendingDialogRequests() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate();
+		delegate.setDialogFactory(mock(DialogFactory.class));
+		delegate.setStateSaved(true);
+		delegate.showDialogWithId(1, null);
+		delegate.showXmlDialog(XML_DIALOG_RESOURCE_ID, null);
+		final Bundle state = new Bundle();
+		// Act:
+		delegate.saveInstanceState(state);
+		final UniversiContextDelegate restoredDelegate = new TestDelegate();
+		restoredDelegate.setPaused(true);
+		restoredDelegate.restoreInstanceState(state);
+		// Assert:
+		assertThat(restoredDelegate.getPendingDialogRequestsCount(), is(2));
+	}
+
 	@Test public void testShowDialogWithIdWithoutDialogFactoryAttached() {
 		// Arrange:
 		final UniversiContextDelegate delegate = new TestDelegate(application);
@@ -353,6 +748,26 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.isNetworkConnected(ConnectivityManager.TYPE_MOBILE), is(false));
 	}
 
+	@Test public void testRegisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		delegate.registerOnNetworkStateChangeListener(mockListener);
+		delegate.setPaused(true);
+		delegate.setPaused(false);
+		delegate.unregisterOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testUnregisterOnNetworkStateChangeListenerNotRegistered() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act:
+		delegate.unregisterOnNetworkStateChangeListener(mock(UniversiContextDelegate.OnNetworkStateChangeListener.class));
+	}
+
 	@Test public void testIsViewCreated() {
 		// Arrange:
 		final UniversiContextDelegate delegate = new TestDelegate(application);
@@ -390,6 +805,133 @@ public final class UniversiContextDelegateTest extends RobolectricTestCase {
 		assertThat(delegate.isRequestRegistered(0x00000001), is(false));
 	}
 
+	@Test public void testRegisterRequestIfNotRegistered() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.registerRequestIfNotRegistered(0x00000001), is(true));
+		assertThat(delegate.registerRequestIfNotRegistered(0x00000001), is(false));
+		assertThat(delegate.isRequestRegistered(0x00000001), is(true));
+	}
+
+	@Test public void testDirtyDataSections() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.consumeDirtyDataSections(), is(0));
+		delegate.markDataSectionsDirty(0x00000001);
+		delegate.markDataSectionsDirty(0x00000001 << 2);
+		assertThat(delegate.consumeDirtyDataSections(), is(0x00000001 | 0x00000001 << 2));
+		assertThat(delegate.consumeDirtyDataSections(), is(0));
+	}
+
+	@Test public void testDataPreparationEnabled() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.isDataPreparationEnabled(), is(false));
+		delegate.setDataPreparationEnabled(true);
+		assertThat(delegate.isDataPreparationEnabled(), is(true));
+		assertThat(delegate.getDataPreparer(), is(notNullValue()));
+		assertThat(delegate.getDataPreparer(), is(delegate.getDataPreparer()));
+	}
+
+	@Test public void testAsyncContentViewInflationEnabled() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.isAsyncContentViewInflationEnabled(), is(false));
+		delegate.setAsyncContentViewInflationEnabled(true);
+		assertThat(delegate.isAsyncContentViewInflationEnabled(), is(true));
+		delegate.setAsyncContentViewInflationEnabled(false);
+		assertThat(delegate.isAsyncContentViewInflationEnabled(), is(false));
+	}
+
+	@Test public void testTaskManager() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.getTaskManager(), is(notNullValue()));
+		assertThat(delegate.getTaskManager(), is(delegate.getTaskManager()));
+	}
+
+	@Test public void testTaskManagerIsPausedUntilResumed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		final TaskManager taskManager = delegate.getTaskManager();
+		assertThat(taskManager.isPaused(), is(true));
+		delegate.setPaused(false);
+		assertThat(taskManager.isPaused(), is(false));
+		delegate.setPaused(true);
+		assertThat(taskManager.isPaused(), is(true));
+	}
+
+	@Test public void testTaskManagerRetainedAcrossConfigurationChange() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		final TaskManager taskManager = delegate.getTaskManager();
+		final Bundle state = new Bundle();
+		// Configuration change is handled within a single message of the main thread.
+		ShadowLooper.pauseMainLooper();
+		delegate.saveInstanceState(state);
+		delegate.destroy(true);
+		final UniversiContextDelegate recreatedDelegate = new TestDelegate(application);
+		// Act:
+		recreatedDelegate.restoreInstanceState(state);
+		ShadowLooper.unPauseMainLooper();
+		// Assert:
+		assertThat(recreatedDelegate.getTaskManager(), is(taskManager));
+		assertThat(taskManager.isPaused(), is(true));
+	}
+
+	@Test public void testTaskManagerNotRetainedWhenNotReclaimed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		final TaskManager taskManager = delegate.getTaskManager();
+		final Bundle state = new Bundle();
+		ShadowLooper.pauseMainLooper();
+		delegate.saveInstanceState(state);
+		delegate.destroy(true);
+		ShadowLooper.unPauseMainLooper();
+		final UniversiContextDelegate recreatedDelegate = new TestDelegate(application);
+		// Act:
+		recreatedDelegate.restoreInstanceState(state);
+		// Assert:
+		assertThat(recreatedDelegate.getTaskManager(), is(not(taskManager)));
+	}
+
+	@Test public void testTaskManagerNotRetainedWhenDestroyed() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		final TaskManager taskManager = delegate.getTaskManager();
+		final Bundle state = new Bundle();
+		delegate.saveInstanceState(state);
+		delegate.destroy(false);
+		final UniversiContextDelegate recreatedDelegate = new TestDelegate(application);
+		// Act:
+		recreatedDelegate.restoreInstanceState(state);
+		// Assert:
+		assertThat(recreatedDelegate.getTaskManager(), is(not(taskManager)));
+	}
+
+	@Test public void testDestroyWithoutTaskManager() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act:
+		delegate.destroy(false);
+		// Assert:
+		assertThat(delegate.getTaskManager(), is(notNullValue()));
+	}
+
+	@Test public void testBindDataScheduler() {
+		// Arrange:
+		final UniversiContextDelegate delegate = new TestDelegate(application);
+		// Act + Assert:
+		assertThat(delegate.getBindDataScheduler(), is(notNullValue()));
+		assertThat(delegate.getBindDataScheduler(), is(delegate.getBindDataScheduler()));
+	}
+
 	private static class TestDelegate extends UniversiContextDelegate {
 
 		private Activity activity;
@@ -0,0 +1,118 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.universi;
+
+import android.app.Activity;
+
+import org.junit.Test;
+
+import universum.studios.android.test.local.RobolectricTestCase;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.number.OrderingComparison.greaterThan;
+import static org.hamcrest.number.OrderingComparison.greaterThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * @author Martin Albedinsky
+ */
+public final class UniversiTraceTest extends RobolectricTestCase {
+
+	@Override public void afterTest() throws Exception {
+		super.afterTest();
+		UniversiTrace.setEnabled(false);
+		UniversiTrace.setListener(null);
+	}
+
+	@Test public void testEnabled() {
+		// Act + Assert:
+		assertThat(UniversiTrace.isEnabled(), is(false));
+		UniversiTrace.setEnabled(true);
+		assertThat(UniversiTrace.isEnabled(), is(true));
+		UniversiTrace.setEnabled(false);
+		assertThat(UniversiTrace.isEnabled(), is(false));
+	}
+
+	@Test public void testSectionWhenDisabled() {
+		// Arrange:
+		final UniversiTrace.Listener mockListener = mock(UniversiTrace.Listener.class);
+		UniversiTrace.setListener(mockListener);
+		// Act:
+		final long start = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_VIEWS);
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_VIEWS, start);
+		// Assert:
+		assertThat(start, is(0L));
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testSectionWhenEnabled() {
+		// Arrange:
+		final UniversiTrace.Listener mockListener = mock(UniversiTrace.Listener.class);
+		UniversiTrace.setListener(mockListener);
+		UniversiTrace.setEnabled(true);
+		// Act:
+		final long start = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_DATA);
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_DATA, start);
+		// Assert:
+		assertThat(start, is(greaterThan(0L)));
+		verify(mockListener).onSectionFinished(eq(UniversiTrace.SECTION_BIND_DATA), anyLong());
+		verifyNoMoreInteractions(mockListener);
+	}
+
+	@Test public void testSectionWhenEnabledWithoutListener() {
+		// Arrange:
+		UniversiTrace.setEnabled(true);
+		// Act + Assert:
+		final long start = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_DATA);
+		assertThat(start, is(greaterThanOrEqualTo(1L)));
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_DATA, start);
+	}
+
+	@Test public void testEndSectionStartedWhileDisabled() {
+		// Arrange:
+		final UniversiTrace.Listener mockListener = mock(UniversiTrace.Listener.class);
+		UniversiTrace.setListener(mockListener);
+		final long start = UniversiTrace.beginSection(UniversiTrace.SECTION_CONTENT_CHANGED);
+		UniversiTrace.setEnabled(true);
+		// Act:
+		UniversiTrace.endSection(UniversiTrace.SECTION_CONTENT_CHANGED, start);
+		// Assert:
+		verifyZeroInteractions(mockListener);
+	}
+
+	@Test public void testDialogControllerCreationIsTraced() {
+		// Arrange:
+		final UniversiTrace.Listener mockListener = mock(UniversiTrace.Listener.class);
+		UniversiTrace.setListener(mockListener);
+		UniversiTrace.setEnabled(true);
+		final UniversiContextDelegate delegate = new UniversiActivityDelegate(mock(Activity.class));
+		// Act:
+		delegate.getDialogController();
+		delegate.getDialogController();
+		// Assert:
+		verify(mockListener).onSectionFinished(eq(UniversiTrace.SECTION_CREATE_DIALOG_CONTROLLER), anyLong());
+		verifyNoMoreInteractions(mockListener);
+	}
+}
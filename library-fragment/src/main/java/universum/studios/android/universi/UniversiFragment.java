@@ -19,6 +19,8 @@
 package universum.studios.android.universi;
 
 import android.Manifest;
+import android.app.Activity;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
@@ -32,6 +34,7 @@ import android.support.annotation.Nullable;
 import android.support.annotation.RequiresPermission;
 import android.support.annotation.UiThread;
 import android.support.annotation.VisibleForTesting;
+import android.support.annotation.WorkerThread;
 import android.support.annotation.XmlRes;
 import android.support.v4.app.ActivityCompat;
 import android.view.View;
@@ -61,6 +64,12 @@ import universum.studios.android.fragment.ActionBarFragment;
  * {@link #checkSelfPermission(String)} or {@link #supportRequestPermissions(String[], int)} can be
  * invoked regardless of current Android version.
  *
+ * <h3>3) Back press</h3>
+ * If the host activity of this fragment implements {@link BackPressWatcherRegistry.Host}, like all
+ * Universi activities do, this fragment registers itself into the provided registry whenever it
+ * is resumed and visible and unregisters whenever it is paused or hidden, so it receives back press
+ * events dispatched by the activity regardless of its nesting level.
+ *
  * @author Martin Albedinsky
  * @since 1.0
  */
@@ -99,11 +108,29 @@ public abstract class UniversiFragment extends ActionBarFragment {
 		}
 	};
 
+	/**
+	 * Callback used to prepare data of this fragment on a background thread and to bind them afterwards.
+	 */
+	private final DataPreparer.Callback DATA_PREPARER_CALLBACK = new DataPreparer.Callback() {
+
+		/**
+		 */
+		@Override public void onPrepareData(final int sections) {
+			UniversiFragment.this.onPrepareData(sections);
+		}
+
+		/**
+		 */
+		@Override public void onDataPrepared(final int sections) {
+			bindData(sections);
+		}
+	};
+
 	/**
 	 * Delegate that is used to handle requests specific for the Universi context made upon this
 	 * fragment like showing and dismissing of dialogs.
 	 */
-	private UniversiContextDelegate delegate;
+	private volatile UniversiContextDelegate delegate;
 
 	/*
 	 * Constructors ================================================================================
@@ -126,7 +153,23 @@ public abstract class UniversiFragment extends ActionBarFragment {
 	 * Ensures that the context delegate is initialized for this fragment.
 	 */
 	private void ensureContextDelegate() {
-		if (delegate == null) this.delegate = UniversiFragmentDelegate.create(this);
+		if (delegate == null) {
+			// Data binding may be requested from a background thread, so ensure that only one
+			// delegate is ever created.
+			synchronized (this) {
+				if (delegate == null) this.delegate = UniversiFragmentDelegate.create(this);
+			}
+		}
+	}
+
+	/**
+	 */
+	@Override public void onCreate(@Nullable final Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+		if (savedInstanceState != null) {
+			this.ensureContextDelegate();
+			this.delegate.restoreInstanceState(savedInstanceState);
+		}
 	}
 
 	/**
@@ -202,11 +245,13 @@ public abstract class UniversiFragment extends ActionBarFragment {
 		super.onViewCreated(view, savedInstanceState);
 		this.ensureContextDelegate();
 		this.delegate.setViewCreated(true);
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_VIEWS);
 		onBindViews(view, savedInstanceState);
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_VIEWS, traceStart);
 		// Check if there was requested data binding before view creation, if it was, perform binding now.
 		if (delegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA)) {
 			this.delegate.unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
-			onBindData();
+			this.bindDirtyData();
 		}
 	}
 
@@ -225,44 +270,188 @@ public abstract class UniversiFragment extends ActionBarFragment {
 	@Override public void onResume() {
 		super.onResume();
 		this.ensureContextDelegate();
+		// Permissions may have been changed by the user while this fragment was not in foreground, so
+		// they are invalidated before any deferred work that may check them is resumed.
+		this.delegate.invalidatePermissionStates();
 		this.delegate.setStateSaved(false);
 		this.delegate.setPaused(false);
+		if (!isHidden()) this.registerAsBackPressWatcher(true);
 	}
 
 	/**
-	 * Requests performing of data binding specific for this fragment via {@link #onBindData()}.
-	 * If this fragment has its view hierarchy already created {@link #onBindData()} will be invoked
-	 * immediately, otherwise will wait until {@link #onViewCreated(View, Bundle)} is invoked.
-	 * <p>
-	 * <b>This method may be invoked also from a background-thread</b>.
+	 */
+	@Override public void onHiddenChanged(final boolean hidden) {
+		super.onHiddenChanged(hidden);
+		if (isResumed()) this.registerAsBackPressWatcher(!hidden);
+	}
+
+	/**
+	 * Registers or unregisters this fragment in the back press watcher registry of its host activity
+	 * (if the activity provides such registry), so this fragment receives back press events only
+	 * while it is resumed and visible.
+	 *
+	 * @param register {@code True} to register this fragment, {@code false} to unregister it.
+	 *
+	 * @see BackPressWatcherRegistry.Host
+	 */
+	private void registerAsBackPressWatcher(final boolean register) {
+		final Activity activity = getActivity();
+		if (activity instanceof BackPressWatcherRegistry.Host) {
+			final BackPressWatcherRegistry registry = ((BackPressWatcherRegistry.Host) activity).getBackPressWatcherRegistry();
+			if (register) registry.register(this);
+			else registry.unregister(this);
+		}
+	}
+
+	/**
+	 * Same as {@link #requestBindData(int)} with {@link UniversiContextDelegate#DATA_SECTIONS_ALL}
+	 * so all data sections of this fragment will be bound.
 	 */
 	protected void requestBindData() {
-		// Check whether this call has been made on the UI thread, if not post on the UI thread the request runnable.
+		requestBindData(UniversiContextDelegate.DATA_SECTIONS_ALL);
+	}
+
+	/**
+	 * Requests performing of data binding specific for this fragment via {@link #onBindData(int)}
+	 * for the specified data <var>sections</var>. If this fragment has its view hierarchy already
+	 * created {@link #onBindData(int)} will be invoked immediately, otherwise will wait until
+	 * {@link #onViewCreated(View, Bundle)} is invoked.
+	 * <p>
+	 * Data sections are represented by bits specified by the fragment itself, like for example
+	 * header, list and footer section, so only the sections which data have changed need to be
+	 * bound again. Sections requested before the binding is performed are merged together.
+	 * <p>
+	 * <b>This method may be invoked also from a background-thread</b>. Requests made from a background
+	 * thread are coalesced via {@link BindDataScheduler} so a burst of such requests results only
+	 * in a single call to {@link #onBindData(int)} performed when the next frame is being rendered.
+	 *
+	 * @param sections The data sections that should be bound.
+	 */
+	protected void requestBindData(final int sections) {
+		this.ensureContextDelegate();
+		this.delegate.markDataSectionsDirty(sections);
+		// Check whether this call has been made on the UI thread, if not schedule the request runnable
+		// so it is coalesced with other requests made before the next frame.
 		if (Looper.getMainLooper().equals(Looper.myLooper())) {
 			this.requestBindDataInner();
 		} else {
-			runOnUiThread(REQUEST_BIND_DATA_INNER);
+			this.delegate.getBindDataScheduler().schedule(REQUEST_BIND_DATA_INNER);
 		}
 	}
 
 	/**
-	 * Performs data binding of this fragment. Will invoke {@link #onBindData()} if view hierarchy of
+	 * Performs data binding of this fragment. Will invoke {@link #onBindData(int)} if view hierarchy of
 	 * this fragment is already created, otherwise will register a binding request via {@link UniversiContextDelegate#registerRequest(int)}.
 	 */
 	final void requestBindDataInner() {
 		this.ensureContextDelegate();
 		if (delegate.isViewCreated()) {
-			onBindData();
+			this.bindDirtyData();
 			return;
 		}
 		this.delegate.registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
 	}
 
+	/**
+	 * Invokes {@link #onBindData(int)} for all data sections that have been requested to be bound
+	 * since the last binding (if any). If data preparation is enabled, the data are first prepared
+	 * on a background thread via {@link #onPrepareData(int)}.
+	 */
+	private void bindDirtyData() {
+		final int sections = delegate.consumeDirtyDataSections();
+		if (sections == 0) {
+			return;
+		}
+		if (delegate.isDataPreparationEnabled()) {
+			this.delegate.getDataPreparer().prepare(sections, DATA_PREPARER_CALLBACK);
+		} else {
+			this.bindData(sections);
+		}
+	}
+
+	/**
+	 * Invokes {@link #onBindData(int)} for the specified <var>sections</var> within traced section.
+	 *
+	 * @param sections The data sections to be bound.
+	 */
+	private void bindData(final int sections) {
+		final long traceStart = UniversiTrace.beginSection(UniversiTrace.SECTION_BIND_DATA);
+		onBindData(sections);
+		UniversiTrace.endSection(UniversiTrace.SECTION_BIND_DATA, traceStart);
+	}
+
+	/**
+	 * Returns the manager that may be used to execute keyed asynchronous tasks within this fragment.
+	 * <p>
+	 * Tasks of the manager are retained across configuration changes, their results are delivered
+	 * only while this fragment is not paused and they are cancelled whenever this fragment is
+	 * destroyed for good.
+	 *
+	 * @return Task manager of this fragment.
+	 *
+	 * @see TaskManager#startTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#initTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#restartTask(int, TaskManager.Task, TaskManager.Callback)
+	 * @see TaskManager#destroyTask(int)
+	 */
+	@NonNull protected TaskManager getTaskManager() {
+		this.ensureContextDelegate();
+		return delegate.getTaskManager();
+	}
+
+	/**
+	 * Sets a boolean flag indicating whether data of this fragment should be prepared on a background
+	 * thread via {@link #onPrepareData(int)} before they are bound via {@link #onBindData(int)}.
+	 * <p>
+	 * When enabled, binding is performed in two phases. First {@link #onPrepareData(int)} is invoked
+	 * on a shared background executor to prepare data for the requested sections and then
+	 * {@link #onBindData(int)} is invoked on the UI thread to only apply the prepared data. Preparation
+	 * that becomes stale due to a newer binding request or due to destroyed view hierarchy of this
+	 * fragment is cancelled and its results are not delivered.
+	 *
+	 * @param enabled {@code True} to enable data preparation, {@code false} otherwise.
+	 */
+	protected void setDataPreparationEnabled(final boolean enabled) {
+		this.ensureContextDelegate();
+		this.delegate.setDataPreparationEnabled(enabled);
+	}
+
+	/**
+	 * Invoked on a background thread to prepare data for the specified <var>sections</var> before
+	 * they are bound via {@link #onBindData(int)}. This is invoked only if data preparation has
+	 * been enabled via {@link #setDataPreparationEnabled(boolean)}.
+	 * <p>
+	 * <b>Note</b> that implementations must not touch any views here.
+	 *
+	 * @param sections The data sections for which to prepare data.
+	 */
+	@WorkerThread protected void onPrepareData(final int sections) {
+		// Inheritance hierarchies may load or transform here data to be bound.
+	}
+
+	/**
+	 * Invoked due to call to {@link #requestBindData(int)} to perform data binding of the specified
+	 * data <var>sections</var> specific for this fragment instance.
+	 * <p>
+	 * Default implementation invokes {@link #onBindData()} so all data are bound regardless of the
+	 * requested sections. Inheritance hierarchies that split their data into sections should override
+	 * this method and bind only the requested ones.
+	 * <p>
+	 * <b>This is always invoked on the UI thread.</b>
+	 *
+	 * @param sections The data sections that should be bound. This is always non-zero value.
+	 */
+	@UiThread protected void onBindData(final int sections) {
+		onBindData();
+	}
+
 	/**
 	 * Invoked due to call to {@link #requestBindData()} to perform data binding specific for this
 	 * fragment instance.
 	 * <p>
 	 * <b>This is always invoked on the UI thread.</b>
+	 *
+	 * @see #onBindData(int)
 	 */
 	@UiThread protected void onBindData() {
 		// Inheritance hierarchies may perform theirs specific data binding logic here.
@@ -300,14 +489,48 @@ public abstract class UniversiFragment extends ActionBarFragment {
 	}
 
 	/**
-	 * Delegated call to {@link ActivityCompat#checkSelfPermission(Context, String)}.
+	 * Registers a listener to be notified about changes in connection of the active network.
+	 * <p>
+	 * Changes are delivered on the main thread, debounced and not delivered while this fragment is
+	 * paused. The latest change made while paused is delivered whenever this fragment is resumed.
+	 *
+	 * @param listener The desired listener to register.
+	 *
+	 * @see UniversiContextDelegate#registerOnNetworkStateChangeListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 * @see #unregisterOnNetworkStateChangeListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	@RequiresPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+	protected void registerOnNetworkStateChangeListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		this.ensureContextDelegate();
+		this.delegate.registerOnNetworkStateChangeListener(listener);
+	}
+
+	/**
+	 * Unregisters the given listener from the registered ones.
+	 *
+	 * @param listener The desired listener to unregister.
+	 *
+	 * @see #registerOnNetworkStateChangeListener(UniversiContextDelegate.OnNetworkStateChangeListener)
+	 */
+	protected void unregisterOnNetworkStateChangeListener(@NonNull final UniversiContextDelegate.OnNetworkStateChangeListener listener) {
+		this.ensureContextDelegate();
+		this.delegate.unregisterOnNetworkStateChangeListener(listener);
+	}
+
+	/**
+	 * Same as {@link ActivityCompat#checkSelfPermission(Context, String)}, but grant states of
+	 * permissions are cached, so repeated checks are served from memory. The cache is invalidated
+	 * whenever this fragment is resumed or receives result of a permissions request.
 	 *
 	 * @param permission The desired permission for which to perform check.
 	 * @return {@link android.content.pm.PackageManager#PERMISSION_GRANTED} if you have the
 	 * permission, or {@link android.content.pm.PackageManager#PERMISSION_DENIED} if not.
+	 *
+	 * @see UniversiContextDelegate#checkSelfPermission(String)
 	 */
 	@CheckResult protected int checkSelfPermission(@NonNull final String permission) {
-		return ActivityCompat.checkSelfPermission(getActivity(), permission);
+		this.ensureContextDelegate();
+		return delegate.checkSelfPermission(permission);
 	}
 
 	/**
@@ -333,6 +556,8 @@ public abstract class UniversiFragment extends ActionBarFragment {
 	/**
 	 */
 	@Override public void onRequestPermissionsResult(final int requestCode, @NonNull final String[] permissions, @NonNull final int[] grantResults) {
+		this.ensureContextDelegate();
+		this.delegate.invalidatePermissionStates();
 		super.onRequestPermissionsResult(requestCode, permissions, grantResults);
 	}
 
@@ -420,12 +645,14 @@ public abstract class UniversiFragment extends ActionBarFragment {
 		super.onSaveInstanceState(state);
 		this.ensureContextDelegate();
 		this.delegate.setStateSaved(true);
+		this.delegate.saveInstanceState(state);
 	}
 
 	/**
 	 */
 	@Override public void onPause() {
 		super.onPause();
+		this.registerAsBackPressWatcher(false);
 		this.ensureContextDelegate();
 		this.delegate.setPaused(true);
 	}
@@ -437,6 +664,47 @@ public abstract class UniversiFragment extends ActionBarFragment {
 		if (delegate != null) delegate.setViewCreated(false);
 	}
 
+	/**
+	 */
+	@Override public void onTrimMemory(final int level) {
+		super.onTrimMemory(level);
+		if (delegate != null) delegate.trimMemory(level);
+		onReleaseCaches(level);
+	}
+
+	/**
+	 */
+	@Override public void onLowMemory() {
+		super.onLowMemory();
+		if (delegate != null) delegate.trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		onReleaseCaches(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+	}
+
+	/**
+	 * Invoked whenever the system requests this fragment to trim its memory via {@link #onTrimMemory(int)}
+	 * or {@link #onLowMemory()}, after the context delegate of this fragment has released its idle
+	 * controllers and cached dialog factories.
+	 * <p>
+	 * Inheritance hierarchies may override this method in order to release their own caches that
+	 * can be created again whenever they are needed.
+	 *
+	 * @param level The level of memory trimming as specified by {@link ComponentCallbacks2}.
+	 *              {@link ComponentCallbacks2#TRIM_MEMORY_COMPLETE} for {@link #onLowMemory()}.
+	 */
+	protected void onReleaseCaches(final int level) {
+		// Inheritance hierarchies may release here their own caches.
+	}
+
+	/**
+	 */
+	@Override public void onDestroy() {
+		super.onDestroy();
+		if (delegate != null) {
+			final Activity activity = getActivity();
+			this.delegate.destroy(activity != null && activity.isChangingConfigurations());
+		}
+	}
+
 	/*
 	 * Inner classes ===============================================================================
 	 */
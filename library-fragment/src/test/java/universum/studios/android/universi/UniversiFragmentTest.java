@@ -19,6 +19,9 @@
 package universum.studios.android.universi;
 
 import android.Manifest;
+import android.app.Activity;
+import android.content.ComponentCallbacks2;
+import android.content.pm.PackageManager;
 import android.net.ConnectivityManager;
 import android.os.Build;
 import android.os.Bundle;
@@ -27,6 +30,8 @@ import android.support.annotation.Nullable;
 import android.view.View;
 
 import org.junit.Test;
+import org.mockito.InOrder;
+import org.robolectric.Robolectric;
 import org.robolectric.annotation.Config;
 
 import universum.studios.android.dialog.DialogOptions;
@@ -39,10 +44,10 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
-import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -59,11 +64,14 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		final TestFragment fragment = new TestFragment();
 		fragment.setContextDelegate(mockDelegate);
 		when(mockDelegate.isViewCreated()).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		// Act:
 		fragment.REQUEST_BIND_DATA_INNER.run();
 		// Assert:
 		assertThat(fragment.onBindDataInvoked, is(true));
 		verify(mockDelegate).isViewCreated();
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -138,6 +146,7 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		final TestFragment fragment = new TestFragment();
 		fragment.setContextDelegate(mockDelegate);
 		when(mockDelegate.isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA)).thenReturn(true);
+		when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 		// Act:
 		fragment.onViewCreated(new View(application), null);
 		// Assert:
@@ -146,6 +155,8 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		verify(mockDelegate).setViewCreated(true);
 		verify(mockDelegate).isRequestRegistered(UniversiContextDelegate.REQUEST_BIND_DATA);
 		verify(mockDelegate).unregisterRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
+		verify(mockDelegate).consumeDirtyDataSections();
+		verify(mockDelegate).isDataPreparationEnabled();
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -157,8 +168,10 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		// Act:
 		fragment.onResume();
 		// Assert:
-		verify(mockDelegate).setStateSaved(false);
-		verify(mockDelegate).setPaused(false);
+		final InOrder inOrder = inOrder(mockDelegate);
+		inOrder.verify(mockDelegate).invalidatePermissionStates();
+		inOrder.verify(mockDelegate).setStateSaved(false);
+		inOrder.verify(mockDelegate).setPaused(false);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -171,6 +184,7 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 	    fragment.requestBindData();
 	    // Act + Assert:
 	    assertThat(fragment.onBindDataInvoked, is(false));
+	    verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 	    verify(mockDelegate).isViewCreated();
 	    verify(mockDelegate).registerRequest(UniversiContextDelegate.REQUEST_BIND_DATA);
 	    verifyNoMoreInteractions(mockDelegate);
@@ -182,10 +196,14 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 	    final TestFragment fragment = new TestFragment();
 	    fragment.setContextDelegate(mockDelegate);
 	    when(mockDelegate.isViewCreated()).thenReturn(true);
+	    when(mockDelegate.consumeDirtyDataSections()).thenReturn(UniversiContextDelegate.DATA_SECTIONS_ALL);
 	    fragment.requestBindData();
 	    // Act + Assert:
 	    assertThat(fragment.onBindDataInvoked, is(true));
+	    verify(mockDelegate).markDataSectionsDirty(UniversiContextDelegate.DATA_SECTIONS_ALL);
 	    verify(mockDelegate).isViewCreated();
+	    verify(mockDelegate).consumeDirtyDataSections();
+	    verify(mockDelegate).isDataPreparationEnabled();
 	    verifyNoMoreInteractions(mockDelegate);
     }
 
@@ -211,7 +229,43 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 	    verifyNoMoreInteractions(mockDelegate);
     }
 
-	@Test public void testCheckSelfPermission() {}
+	@Test public void testRegisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		fragment.registerOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).registerOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testUnregisterOnNetworkStateChangeListener() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		final UniversiContextDelegate.OnNetworkStateChangeListener mockListener = mock(UniversiContextDelegate.OnNetworkStateChangeListener.class);
+		// Act:
+		fragment.unregisterOnNetworkStateChangeListener(mockListener);
+		// Assert:
+		verify(mockDelegate).unregisterOnNetworkStateChangeListener(mockListener);
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
+	@Test public void testCheckSelfPermission() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		when(mockDelegate.checkSelfPermission(Manifest.permission.CAMERA)).thenReturn(PackageManager.PERMISSION_GRANTED);
+		// Act + Assert:
+		assertThat(fragment.checkSelfPermission(Manifest.permission.CAMERA), is(PackageManager.PERMISSION_GRANTED));
+		verify(mockDelegate).checkSelfPermission(Manifest.permission.CAMERA);
+		verifyNoMoreInteractions(mockDelegate);
+	}
 
 	@Test public void testShouldShowRequestPermissionRationale() {
 		// Arrange:
@@ -231,7 +285,8 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		// Act:
 		fragment.onRequestPermissionsResult(1, new String[0], new int[0]);
 		// Assert:
-		verifyZeroInteractions(mockDelegate);
+		verify(mockDelegate).invalidatePermissionStates();
+		verifyNoMoreInteractions(mockDelegate);
 	}
 
 	@Test public void testShowDialogWithId() {
@@ -321,6 +376,7 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		fragment.onSaveInstanceState(savedState);
 		// Assert:
 		verify(mockDelegate).setStateSaved(true);
+		verify(mockDelegate).saveInstanceState(savedState);
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
@@ -336,6 +392,19 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		verifyNoMoreInteractions(mockDelegate);
 	}
 
+	@Test public void testTaskManager() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TaskManager taskManager = new TaskManager();
+		when(mockDelegate.getTaskManager()).thenReturn(taskManager);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		// Act + Assert:
+		assertThat(fragment.getTaskManager(), is(taskManager));
+		verify(mockDelegate).getTaskManager();
+		verifyNoMoreInteractions(mockDelegate);
+	}
+
 	@Test public void testOnDestroyView() {
 		// Arrange:
 		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
@@ -355,9 +424,72 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 		fragment.onDestroyView();
 	}
 
+	@Test public void testOnTrimMemory() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		// Act:
+		fragment.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		// Assert:
+		verify(mockDelegate).trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		verifyNoMoreInteractions(mockDelegate);
+		assertThat(fragment.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+	}
+
+	@Test public void testOnTrimMemoryWithoutContextDelegateInitialized() {
+		// Arrange:
+		final TestFragment fragment = new TestFragment();
+		// Act:
+		fragment.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+		// Assert:
+		assertThat(fragment.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN));
+	}
+
+	@Test public void testOnLowMemory() {
+		// Arrange:
+		final UniversiContextDelegate mockDelegate = mock(UniversiContextDelegate.class);
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mockDelegate);
+		// Act:
+		fragment.onLowMemory();
+		// Assert:
+		verify(mockDelegate).trimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+		verifyNoMoreInteractions(mockDelegate);
+		assertThat(fragment.releasedCachesLevel, is(ComponentCallbacks2.TRIM_MEMORY_COMPLETE));
+	}
+
+	@Test public void testRegistersAsBackPressWatcherWhileResumedAndVisible() {
+		// Arrange:
+		final HostActivity activity = Robolectric.setupActivity(HostActivity.class);
+		final TestFragment fragment = new TestFragment();
+		// Act + Assert:
+		activity.getFragmentManager().beginTransaction().add(fragment, null).commit();
+		activity.getFragmentManager().executePendingTransactions();
+		assertThat(activity.registry.isRegistered(fragment), is(true));
+		activity.getFragmentManager().beginTransaction().hide(fragment).commit();
+		activity.getFragmentManager().executePendingTransactions();
+		assertThat(activity.registry.isRegistered(fragment), is(false));
+		activity.getFragmentManager().beginTransaction().show(fragment).commit();
+		activity.getFragmentManager().executePendingTransactions();
+		assertThat(activity.registry.isRegistered(fragment), is(true));
+		fragment.onPause();
+		assertThat(activity.registry.isRegistered(fragment), is(false));
+	}
+
+	@Test public void testOnResumeWithoutBackPressWatcherRegistryHost() {
+		// Arrange:
+		final TestFragment fragment = new TestFragment();
+		fragment.setContextDelegate(mock(UniversiContextDelegate.class));
+		// Act:
+		fragment.onResume();
+		fragment.onPause();
+	}
+
 	public static final class TestFragment extends UniversiFragment {
 
 		boolean onBindViewsInvoked, onBindDataInvoked;
+		int releasedCachesLevel = -1;
 
 		@Override protected void onBindViews(@NonNull final View rootView, @Nullable final Bundle savedInstanceState) {
 			super.onBindViews(rootView, savedInstanceState);
@@ -368,5 +500,19 @@ public final class UniversiFragmentTest extends RobolectricTestCase {
 			super.onBindData();
 			this.onBindDataInvoked = true;
 		}
+
+		@Override protected void onReleaseCaches(final int level) {
+			super.onReleaseCaches(level);
+			this.releasedCachesLevel = level;
+		}
+	}
+
+	public static final class HostActivity extends Activity implements BackPressWatcherRegistry.Host {
+
+		final BackPressWatcherRegistry registry = new BackPressWatcherRegistry();
+
+		@Override @NonNull public BackPressWatcherRegistry getBackPressWatcherRegistry() {
+			return registry;
+		}
 	}
 }
\ No newline at end of file
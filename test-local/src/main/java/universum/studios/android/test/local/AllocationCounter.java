@@ -0,0 +1,144 @@
+/*
+ * *************************************************************************************************
+ *                                 Copyright 2018 Universum Studios
+ * *************************************************************************************************
+ *                  Licensed under the Apache License, Version 2.0 (the "License")
+ * -------------------------------------------------------------------------------------------------
+ * You may not use this file except in compliance with the License. You may obtain a copy of the
+ * License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * *************************************************************************************************
+ */
+package universum.studios.android.test.local;
+
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Method;
+
+/**
+ * Utility that may be used in <b>local tests</b> to measure count of bytes allocated on the heap
+ * by the current thread while running a specific block of code.
+ * <p>
+ * Measurement relies on {@code com.sun.management.ThreadMXBean} which is available on HotSpot based
+ * JVMs. Tests using this utility should be skipped only if {@link #isExpectedToBeSupported()} returns
+ * {@code false}, so they fail whenever the measurement unexpectedly does not work on a HotSpot JVM.
+ *
+ * @author Martin Albedinsky
+ */
+public final class AllocationCounter {
+
+	/**
+	 * Thread MX bean used to obtain allocated bytes or {@code null} if not supported.
+	 */
+	private static final Object THREAD_MX_BEAN;
+
+	/**
+	 * Method of the thread MX bean used to obtain allocated bytes or {@code null} if not supported.
+	 */
+	private static final Method GET_THREAD_ALLOCATED_BYTES;
+
+	static {
+		Object bean = null;
+		Method method = null;
+		try {
+			bean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+			method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+			if (!Class.forName("com.sun.management.ThreadMXBean").isInstance(bean)) {
+				bean = null;
+				method = null;
+			}
+		} catch (Exception e) {
+			bean = null;
+			method = null;
+		}
+		THREAD_MX_BEAN = bean;
+		GET_THREAD_ALLOCATED_BYTES = method;
+	}
+
+	/**
+	 */
+	private AllocationCounter() {
+		// Not allowed to be instantiated publicly.
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Checks whether measurement of allocations is supported by the current JVM.
+	 *
+	 * @return {@code True} if allocations may be measured, {@code false} otherwise.
+	 */
+	public static boolean isSupported() {
+		return GET_THREAD_ALLOCATED_BYTES != null;
+	}
+
+	/**
+	 * Checks whether measurement of allocations is expected to be supported by the current JVM,
+	 * that is, whether the JVM is based on HotSpot.
+	 *
+	 * @return {@code True} if allocations should be measurable, {@code false} otherwise.
+	 */
+	public static boolean isExpectedToBeSupported() {
+		final String vmName = System.getProperty("java.vm.name", "");
+		return vmName.contains("HotSpot") || vmName.contains("OpenJDK");
+	}
+
+	/**
+	 * Measures count of bytes allocated by the current thread while running the given <var>block</var>.
+	 * <p>
+	 * The block is run the specified count of <var>iterations</var> and the lowest measured value
+	 * is returned, so one-time allocations (like class loading or lazy initialization) may be excluded
+	 * by performing more than one iteration. Cost of the measurement itself is subtracted.
+	 *
+	 * @param block      The block of code of which allocations to measure.
+	 * @param iterations Count of iterations to run the block.
+	 * @return Lowest count of allocated bytes measured for the block.
+	 * @throws IllegalStateException If measurement is not supported by the current JVM.
+	 */
+	public static long measure(@NonNull final Runnable block, final int iterations) {
+		if (!isSupported()) {
+			throw new IllegalStateException("Allocation measurement is not supported by the current JVM.");
+		}
+		final Runnable emptyBlock = new Runnable() {
+
+			/**
+			 */
+			@Override public void run() {
+				// Used only to measure cost of the measurement itself.
+			}
+		};
+		final long overhead = measureLowest(emptyBlock, Math.max(iterations, 2));
+		return Math.max(0, measureLowest(block, iterations) - overhead);
+	}
+
+	/**
+	 * Runs the given <var>block</var> the specified count of <var>iterations</var> and returns the
+	 * lowest count of allocated bytes.
+	 */
+	private static long measureLowest(final Runnable block, final int iterations) {
+		long lowest = Long.MAX_VALUE;
+		for (int i = 0; i < Math.max(iterations, 1); i++) {
+			final long start = allocatedBytes();
+			block.run();
+			lowest = Math.min(lowest, allocatedBytes() - start);
+		}
+		return lowest;
+	}
+
+	/**
+	 * Returns the count of bytes allocated by the current thread so far.
+	 */
+	private static long allocatedBytes() {
+		try {
+			return (Long) GET_THREAD_ALLOCATED_BYTES.invoke(THREAD_MX_BEAN, Thread.currentThread().getId());
+		} catch (Exception e) {
+			throw new IllegalStateException("Failed to obtain count of allocated bytes.", e);
+		}
+	}
+}